@@ -0,0 +1,173 @@
+package de.hpi.extractor;
+
+import de.hpi.extractor.metrics.MetricsSink;
+import de.hpi.extractor.metrics.PipelineMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <p> A group of order-independent filters (see {@link FilterMapper#isOrderIndependent()}), which
+ * is applied as a single filter. The group measures how often each filter rejects an object and
+ * how long a call of it takes (on a sample of the calls), and periodically reorders the filters so
+ * that the filter with the most rejections per nanosecond runs first. Expensive filters (e.g. a
+ * dictionary filter that lemmatizes the relation) are then mostly skipped, because cheap filters
+ * have already rejected the object. </p> <p> The statistics are halved after each reordering, so
+ * that the order follows changes of the input. Filters that have not been evaluated since the last
+ * reordering are moved to the front, so that their statistics are refreshed. The statistics are
+ * updated without synchronization; lost updates only affect the order, not the result. </p> <p>
+ * If {@link PipelineMetrics} are enabled, each call of a filter is reported under the name of the
+ * filter, as if the filter was applied on its own, in addition to the group itself. </p>
+ *
+ * @param <T> the extraction type
+ */
+public class AdaptiveFilterGroup<T> extends FilterMapper<T> {
+
+    /**
+     * Every <code>SAMPLE_INTERVAL</code>-th object is used to measure the cost of the filters.
+     */
+    public static final int SAMPLE_INTERVAL = 8;
+
+    /**
+     * The number of objects after which the filters are reordered.
+     */
+    public static final int REORDER_INTERVAL = 1024;
+
+    private final List<FilterMapper<T>> filters;
+    private final long[] evaluations;
+    private final long[] rejections;
+    private final long[] sampledEvaluations;
+    private final long[] sampledNanos;
+
+    private volatile int[] order;
+    private long count = 0;
+
+    /**
+     * @param filters the order-independent filters, in their initial order
+     */
+    public AdaptiveFilterGroup(List<FilterMapper<T>> filters) {
+        super(true);
+        this.filters = new ArrayList<FilterMapper<T>>(filters);
+        int n = filters.size();
+        this.evaluations = new long[n];
+        this.rejections = new long[n];
+        this.sampledEvaluations = new long[n];
+        this.sampledNanos = new long[n];
+        this.order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+    }
+
+    /**
+     * @return the filters in their initial order
+     */
+    public List<FilterMapper<T>> getFilters() {
+        return Collections.unmodifiableList(filters);
+    }
+
+    /**
+     * @return the filters in the order in which they are currently applied
+     */
+    public List<FilterMapper<T>> getOrder() {
+        int[] current = order;
+        List<FilterMapper<T>> result = new ArrayList<FilterMapper<T>>(current.length);
+        for (int i : current) {
+            result.add(filters.get(i));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean doFilter(T object) {
+        int[] current = order;
+        long n = ++count;
+        MetricsSink sink = PipelineMetrics.getSink();
+        boolean sample = n % SAMPLE_INTERVAL == 0;
+        boolean accept = true;
+        for (int i : current) {
+            FilterMapper<T> filter = filters.get(i);
+            evaluations[i]++;
+            boolean keep;
+            if (sample || sink != null) {
+                long start = System.nanoTime();
+                keep = filter.doFilter(object);
+                long nanos = System.nanoTime() - start;
+                if (sample) {
+                    sampledNanos[i] += nanos;
+                    sampledEvaluations[i]++;
+                }
+                if (sink != null) {
+                    sink.record(filter.getName(), 1, keep ? 1 : 0, nanos, -1);
+                }
+            } else {
+                keep = filter.doFilter(object);
+            }
+            if (!keep) {
+                rejections[i]++;
+                accept = false;
+                break;
+            }
+        }
+        if (n % REORDER_INTERVAL == 0) {
+            reorder();
+        }
+        return accept;
+    }
+
+    /**
+     * Sorts the filters by their rejections per nanosecond (highest first) and halves the
+     * statistics.
+     */
+    public synchronized void reorder() {
+        int n = filters.size();
+        final double[] scores = new double[n];
+        for (int i = 0; i < n; i++) {
+            scores[i] = score(i);
+        }
+        Integer[] sorted = new Integer[n];
+        for (int k = 0; k < n; k++) {
+            sorted[k] = order[k];
+        }
+        // stable, so that filters with equal scores keep their relative order
+        Arrays.sort(sorted, new Comparator<Integer>() {
+            public int compare(Integer i, Integer j) {
+                return Double.compare(scores[j], scores[i]);
+            }
+        });
+        int[] newOrder = new int[n];
+        for (int k = 0; k < n; k++) {
+            newOrder[k] = sorted[k];
+        }
+        for (int i = 0; i < n; i++) {
+            evaluations[i] /= 2;
+            rejections[i] /= 2;
+            sampledEvaluations[i] /= 2;
+            sampledNanos[i] /= 2;
+        }
+        order = newOrder;
+    }
+
+    private double score(int i) {
+        if (evaluations[i] == 0 || sampledEvaluations[i] == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double rejectionRate = (double) rejections[i] / evaluations[i];
+        double nanos = Math.max(1.0, (double) sampledNanos[i] / sampledEvaluations[i]);
+        return rejectionRate / nanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(getName()).append(':');
+        for (int i : order) {
+            builder.append(' ').append(filters.get(i).getName())
+                .append(String.format("(%.3g)", score(i)));
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,125 @@
+package de.hpi.extractor;
+
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * Extracts the two arguments of a relation one after the other and stops as soon as one of them
+ * has no usable argument, since the relation then cannot form a binary extraction. The argument
+ * extractor that runs second (with its whole mapper chain) is skipped for such relations.
+ *
+ * If reordering is enabled, the argument that most often has no usable argument per nanosecond of
+ * extraction runs first (measured over the previous relations). This is only valid if the two
+ * argument extractions do not depend on each other.
+ *
+ * @param <R> the relation type
+ * @param <A> the argument type
+ */
+public class ArgumentStages<R, A> {
+
+    /**
+     * The arguments of a relation.
+     *
+     * @param <A> the argument type
+     */
+    public static class Arguments<A> {
+
+        private final List<A> arg1s;
+        private final List<A> arg2s;
+
+        public Arguments(List<A> arg1s, List<A> arg2s) {
+            this.arg1s = arg1s;
+            this.arg2s = arg2s;
+        }
+
+        public List<A> getArg1s() {
+            return arg1s;
+        }
+
+        public List<A> getArg2s() {
+            return arg2s;
+        }
+    }
+
+    // the number of relations after which the order may change
+    private static final int WARM_UP = 64;
+
+    private final boolean reorder;
+    private final Predicate<? super A> usable;
+
+    // statistics per argument (index 0: arg1, index 1: arg2), updated without synchronization
+    private final long[] runs = new long[2];
+    private final long[] failures = new long[2];
+    private final long[] nanos = new long[2];
+
+    /**
+     * @param reorder if <code>true</code>, the argument that fails more often per nanosecond runs
+     *                first
+     */
+    public ArgumentStages(boolean reorder) {
+        this(reorder, Predicates.alwaysTrue());
+    }
+
+    /**
+     * @param reorder if <code>true</code>, the argument that fails more often per nanosecond runs
+     *                first
+     * @param usable  decides whether an extracted argument can be part of a binary extraction
+     */
+    public ArgumentStages(boolean reorder, Predicate<? super A> usable) {
+        this.reorder = reorder;
+        this.usable = usable;
+    }
+
+    /**
+     * @param rel      the relation
+     * @param arg1Extr the extractor of the first argument
+     * @param arg2Extr the extractor of the second argument
+     * @return the arguments of the relation, or null if one of them has no usable argument
+     */
+    public Arguments<A> extract(R rel, Extractor<R, A> arg1Extr, Extractor<R, A> arg2Extr) {
+        boolean arg2First = reorder && isArg2First();
+        List<A> first = run(arg2First ? 1 : 0, arg2First ? arg2Extr : arg1Extr, rel);
+        if (first == null) {
+            return null;
+        }
+        List<A> second = run(arg2First ? 0 : 1, arg2First ? arg1Extr : arg2Extr, rel);
+        if (second == null) {
+            return null;
+        }
+        return arg2First ? new Arguments<A>(second, first) : new Arguments<A>(first, second);
+    }
+
+    /**
+     * @return <code>true</code> if the second argument currently runs first
+     */
+    public boolean isArg2First() {
+        if (runs[0] < WARM_UP || runs[1] < WARM_UP) {
+            return false;
+        }
+        return score(1) > score(0);
+    }
+
+    private double score(int i) {
+        double failureRate = (double) failures[i] / runs[i];
+        return failureRate / Math.max(1.0, (double) nanos[i] / runs[i]);
+    }
+
+    // returns the arguments, or null if there is no usable one
+    private List<A> run(int i, Extractor<R, A> extractor, R rel) {
+        long start = System.nanoTime();
+        Iterable<A> args = extractor.extract(rel);
+        List<A> list = args instanceof List ? (List<A>) args : Lists.newArrayList(args);
+        nanos[i] += System.nanoTime() - start;
+        runs[i]++;
+        if (!Iterables.any(list, usable)) {
+            failures[i]++;
+            return null;
+        }
+        return list;
+    }
+
+}
@@ -0,0 +1,22 @@
+package de.hpi.extractor;
+
+/**
+ * Defines how the result of {@link Extractor#extract(Object)} is evaluated. The mappers of an
+ * extractor (e.g. {@link FilterMapper} and {@link IndependentMapper}) return lazy views, so every
+ * iteration over such a view runs the whole {@link MapperList} again.
+ */
+public enum EvaluationPolicy {
+
+    /**
+     * The mappers are run once and the extractions are copied into a list, which can be iterated
+     * any number of times. This is the default.
+     */
+    MATERIALIZE,
+
+    /**
+     * The mappers are run lazily while the result is iterated. The result can only be iterated
+     * once, a second call to <code>iterator()</code> throws an {@link IllegalStateException}.
+     */
+    STREAM_ONCE
+
+}
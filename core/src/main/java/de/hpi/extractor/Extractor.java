@@ -1,5 +1,14 @@
 package de.hpi.extractor;
 
+import com.google.common.collect.Lists;
+
+import de.hpi.extractor.metrics.PipelineMetrics;
+import de.hpi.nlp.extraction.ExtractionBudget;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+
 /**
  * <p> An abstract class that defines the basic behavior of an extractor. An {@code Extractor<S,T>}
  * object extracts objects of type {@code T} from a source object of type {@code S}. Candidate
@@ -15,7 +24,10 @@ package de.hpi.extractor;
  * Extractor<S,T>} must implement the abstract {@link Extractor#extractCandidates(Object)} method.
  * </p> <p> As an example, this class can be used to implement a class for extracting String
  * sentences from a String block of text. {@link Mapper} objects can be added to filter the
- * sentences by length, or remove brackets from the sentences. </p>
+ * sentences by length, or remove brackets from the sentences. </p> <p> Since most mappers return
+ * lazy views, the result of {@link Extractor#extract(Object)} is evaluated according to the
+ * {@link EvaluationPolicy} of the extractor: by default the mappers are run once and the result is
+ * materialized into a list. </p>
  *
  * @param <S> the source type
  * @param <T> the target extraction type
@@ -24,6 +36,8 @@ package de.hpi.extractor;
 public abstract class Extractor<S, T> {
 
     private MapperList<T> mappers;
+    private EvaluationPolicy evaluationPolicy = EvaluationPolicy.MATERIALIZE;
+    private final ThreadLocal<ExtractionBudget> budgets = new ThreadLocal<ExtractionBudget>();
 
     /**
      * Constructs a new extractor with no mappers.
@@ -39,6 +53,21 @@ public abstract class Extractor<S, T> {
         return mappers;
     }
 
+    /**
+     * @return the policy used to evaluate the result of {@link Extractor#extract(Object)}
+     */
+    public EvaluationPolicy getEvaluationPolicy() {
+        return evaluationPolicy;
+    }
+
+    /**
+     * @param evaluationPolicy the policy used to evaluate the result of {@link
+     *                         Extractor#extract(Object)}
+     */
+    public void setEvaluationPolicy(EvaluationPolicy evaluationPolicy) {
+        this.evaluationPolicy = evaluationPolicy;
+    }
+
     /**
      * Adds a mapper to the end of the list of mappers. It will be the new final mapper object
      * applied to the extractions, after the existing mappers have been applied.
@@ -63,12 +92,79 @@ public abstract class Extractor<S, T> {
 
     /**
      * @param source the source object to extract from.
-     * @return an iterable object over the candidate extractions.
+     * @return an iterable object over the extractions. With {@link EvaluationPolicy#MATERIALIZE}
+     * it can be iterated any number of times, with {@link EvaluationPolicy#STREAM_ONCE} only once.
+     * @throws ExtractorException if unable to extract
+     */
+    public Iterable<T> extract(final S source) throws ExtractorException {
+        Iterable<T> candidates;
+        if (PipelineMetrics.isEnabled()) {
+            candidates = PipelineMetrics.measureSource(Mapper.defaultName(getClass()),
+                                                       new PipelineMetrics.Stage<T>() {
+                                                           public Iterable<T> apply(Iterable<T> in) {
+                                                               return extractCandidates(source);
+                                                           }
+                                                       });
+        } else {
+            candidates = extractCandidates(source);
+        }
+        return evaluate(mappers.map(candidates));
+    }
+
+    /**
+     * Extracts from the source object within the given budget. Extractors that support budgets
+     * (see {@link Extractor#getBudget()}) stop creating extractions once it is exhausted, so the
+     * result may be incomplete; this can be checked with {@link ExtractionBudget#isExceeded()}.
+     *
+     * @param source the source object to extract from.
+     * @param budget the budget of the source object
+     * @return an iterable object over the extractions.
      * @throws ExtractorException if unable to extract
      */
-    public Iterable<T> extract(S source) throws ExtractorException {
-        Iterable<T> candidates = extractCandidates(source);
-        return mappers.map(candidates);
+    public Iterable<T> extract(S source, ExtractionBudget budget) throws ExtractorException {
+        ExtractionBudget previous = budgets.get();
+        budgets.set(budget);
+        try {
+            return extract(source);
+        } finally {
+            if (previous == null) {
+                budgets.remove();
+            } else {
+                budgets.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the budget passed to {@link Extractor#extract(Object, ExtractionBudget)} for the
+     * current call of {@link Extractor#extractCandidates(Object)}, or null if there is none
+     */
+    protected ExtractionBudget getBudget() {
+        return budgets.get();
+    }
+
+    /**
+     * Evaluates the (possibly lazy) output of the mappers according to the evaluation policy.
+     *
+     * @param extractions the output of the mappers
+     * @return the extractions to return from {@link Extractor#extract(Object)}
+     */
+    protected Iterable<T> evaluate(Iterable<T> extractions) {
+        if (evaluationPolicy == EvaluationPolicy.STREAM_ONCE) {
+            if (extractions instanceof Collection) {
+                return extractions;
+            }
+            return new SingleUseIterable<T>(extractions);
+        }
+        if (extractions instanceof Collection) {
+            return extractions;
+        }
+        ArrayList<T> list = Lists.newArrayList(extractions);
+        if (list.isEmpty()) {
+            return Collections.emptyList();
+        }
+        list.trimToSize();
+        return list;
     }
 
     /**
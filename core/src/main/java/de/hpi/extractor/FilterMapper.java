@@ -13,8 +13,36 @@ import com.google.common.collect.Iterables;
  */
 public abstract class FilterMapper<T> extends Mapper<T> {
 
+    private final boolean orderIndependent;
+
+    /**
+     * Creates a filter, which is not order-independent.
+     */
+    public FilterMapper() {
+        this(false);
+    }
+
+    /**
+     * @param orderIndependent is the filter order-independent (see {@link #isOrderIndependent()})?
+     */
+    protected FilterMapper(boolean orderIndependent) {
+        this.orderIndependent = orderIndependent;
+    }
+
     public abstract boolean doFilter(T object);
 
+    /**
+     * Returns <code>true</code> if this filter is order-independent: it has no side effects and
+     * never fails, whatever filters ran before it. A {@link MapperList} may reorder consecutive
+     * order-independent filters (see {@link AdaptiveFilterGroup}). The default is
+     * <code>false</code>.
+     *
+     * @return <code>true</code> if this filter may be reordered with other such filters
+     */
+    public boolean isOrderIndependent() {
+        return orderIndependent;
+    }
+
     private final Predicate<T> pred = new Predicate<T>() {
         public boolean apply(T object) {
             return doFilter(object);
@@ -0,0 +1,136 @@
+package de.hpi.extractor;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * A declarative filter, which removes extractions whose first (or only) token or POS tag is
+ * contained in a set of values. Unlike an anonymous {@link FilterMapper}, consecutive rules in a
+ * {@link MapperList} are fused into a single filter with one set lookup per rule kind (see {@link
+ * FusedFilterRules}).
+ *
+ * @param <T> the extraction type
+ */
+public class FilterRule<T> extends FilterMapper<T> {
+
+    /**
+     * The part of the extraction a rule is checked against.
+     */
+    public enum Kind {
+        /**
+         * The POS tag of the first token must not be in the set.
+         */
+        FIRST_POS_TAG_NOT_IN,
+        /**
+         * The first token must not be in the set.
+         */
+        FIRST_TOKEN_NOT_IN,
+        /**
+         * If the extraction consists of a single token, its POS tag must not be in the set.
+         */
+        SINGLE_POS_TAG_NOT_IN,
+        /**
+         * If the extraction consists of a single token, it must not be in the set.
+         */
+        SINGLE_TOKEN_NOT_IN
+    }
+
+    private final Kind kind;
+    private final ImmutableSet<String> values;
+    private final boolean ignoreCase;
+    private final TokenAccessor<T> accessor;
+
+    /**
+     * @param kind       the kind of the rule
+     * @param values     the forbidden tokens or POS tags
+     * @param ignoreCase if <code>true</code>, tokens are compared in lower case (only for token
+     *                   rules)
+     * @param accessor   the accessor for the tokens of the extractions
+     */
+    public FilterRule(Kind kind, Collection<String> values, boolean ignoreCase,
+                      TokenAccessor<T> accessor) {
+        super(true);
+        this.kind = kind;
+        this.ignoreCase = ignoreCase && isTokenRule(kind);
+        this.accessor = accessor;
+        if (this.ignoreCase) {
+            ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+            for (String value : values) {
+                builder.add(value.toLowerCase(Locale.ROOT));
+            }
+            this.values = builder.build();
+        } else {
+            this.values = ImmutableSet.copyOf(values);
+        }
+        setName(kind + " " + this.values);
+    }
+
+    public static <T> FilterRule<T> firstPosTagNotIn(TokenAccessor<T> accessor,
+                                                     String... posTags) {
+        return new FilterRule<T>(Kind.FIRST_POS_TAG_NOT_IN, ImmutableSet.copyOf(posTags), false,
+                                 accessor);
+    }
+
+    public static <T> FilterRule<T> firstTokenNotIn(TokenAccessor<T> accessor, boolean ignoreCase,
+                                                    String... tokens) {
+        return new FilterRule<T>(Kind.FIRST_TOKEN_NOT_IN, ImmutableSet.copyOf(tokens), ignoreCase,
+                                 accessor);
+    }
+
+    public static <T> FilterRule<T> singlePosTagNotIn(TokenAccessor<T> accessor,
+                                                      String... posTags) {
+        return new FilterRule<T>(Kind.SINGLE_POS_TAG_NOT_IN, ImmutableSet.copyOf(posTags), false,
+                                 accessor);
+    }
+
+    public static <T> FilterRule<T> singleTokenNotIn(TokenAccessor<T> accessor,
+                                                     boolean ignoreCase, String... tokens) {
+        return new FilterRule<T>(Kind.SINGLE_TOKEN_NOT_IN, ImmutableSet.copyOf(tokens), ignoreCase,
+                                 accessor);
+    }
+
+    static boolean isTokenRule(Kind kind) {
+        return kind == Kind.FIRST_TOKEN_NOT_IN || kind == Kind.SINGLE_TOKEN_NOT_IN;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public ImmutableSet<String> getValues() {
+        return values;
+    }
+
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    public TokenAccessor<T> getAccessor() {
+        return accessor;
+    }
+
+    @Override
+    public boolean doFilter(T object) {
+        int length = accessor.getLength(object);
+        if (length == 0) {
+            return true;
+        }
+        switch (kind) {
+            case FIRST_POS_TAG_NOT_IN:
+                return !values.contains(accessor.getFirstPosTag(object));
+            case FIRST_TOKEN_NOT_IN:
+                return !values.contains(normalize(accessor.getFirstToken(object)));
+            case SINGLE_POS_TAG_NOT_IN:
+                return length != 1 || !values.contains(accessor.getFirstPosTag(object));
+            default:
+                return length != 1 || !values.contains(normalize(accessor.getFirstToken(object)));
+        }
+    }
+
+    private String normalize(String token) {
+        return ignoreCase ? token.toLowerCase(Locale.ROOT) : token;
+    }
+
+}
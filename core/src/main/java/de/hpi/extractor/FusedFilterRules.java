@@ -0,0 +1,130 @@
+package de.hpi.extractor;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A filter that combines consecutive {@link FilterRule}s with the same {@link TokenAccessor}. The
+ * values of all rules are merged into one set per rule kind, so that each extraction is checked
+ * with at most one lookup per kind and the first token and POS tag are fetched only once.
+ *
+ * @param <T> the extraction type
+ */
+public class FusedFilterRules<T> extends FilterMapper<T> {
+
+    private final List<FilterRule<T>> rules;
+    private final TokenAccessor<T> accessor;
+
+    // null if there is no rule of the kind
+    private final Set<String> firstPosTags;
+    private final Set<String> firstTokens;
+    private final Set<String> firstTokensLower;
+    private final Set<String> singlePosTags;
+    private final Set<String> singleTokens;
+    private final Set<String> singleTokensLower;
+
+    /**
+     * @param rules a non-empty list of rules, which all use the same accessor
+     */
+    public FusedFilterRules(List<FilterRule<T>> rules) {
+        super(true);
+        this.rules = rules;
+        this.accessor = rules.get(0).getAccessor();
+        Set<String> firstPosTags = null;
+        Set<String> firstTokens = null;
+        Set<String> firstTokensLower = null;
+        Set<String> singlePosTags = null;
+        Set<String> singleTokens = null;
+        Set<String> singleTokensLower = null;
+        for (FilterRule<T> rule : rules) {
+            if (!rule.getAccessor().equals(accessor)) {
+                throw new IllegalArgumentException("Rules with different accessors: " + rules);
+            }
+            switch (rule.getKind()) {
+                case FIRST_POS_TAG_NOT_IN:
+                    firstPosTags = addAll(firstPosTags, rule);
+                    break;
+                case FIRST_TOKEN_NOT_IN:
+                    if (rule.isIgnoreCase()) {
+                        firstTokensLower = addAll(firstTokensLower, rule);
+                    } else {
+                        firstTokens = addAll(firstTokens, rule);
+                    }
+                    break;
+                case SINGLE_POS_TAG_NOT_IN:
+                    singlePosTags = addAll(singlePosTags, rule);
+                    break;
+                default:
+                    if (rule.isIgnoreCase()) {
+                        singleTokensLower = addAll(singleTokensLower, rule);
+                    } else {
+                        singleTokens = addAll(singleTokens, rule);
+                    }
+            }
+        }
+        this.firstPosTags = firstPosTags;
+        this.firstTokens = firstTokens;
+        this.firstTokensLower = firstTokensLower;
+        this.singlePosTags = singlePosTags;
+        this.singleTokens = singleTokens;
+        this.singleTokensLower = singleTokensLower;
+    }
+
+    private static Set<String> addAll(Set<String> set, FilterRule<?> rule) {
+        if (set == null) {
+            set = new HashSet<String>();
+        }
+        set.addAll(rule.getValues());
+        return set;
+    }
+
+    /**
+     * @return the fused rules
+     */
+    public List<FilterRule<T>> getRules() {
+        return rules;
+    }
+
+    @Override
+    public boolean doFilter(T object) {
+        int length = accessor.getLength(object);
+        if (length == 0) {
+            return true;
+        }
+        boolean single = length == 1;
+
+        if (firstPosTags != null || (single && singlePosTags != null)) {
+            String posTag = accessor.getFirstPosTag(object);
+            if (firstPosTags != null && firstPosTags.contains(posTag)) {
+                return false;
+            }
+            if (single && singlePosTags != null && singlePosTags.contains(posTag)) {
+                return false;
+            }
+        }
+
+        boolean checkSingleToken = single && (singleTokens != null || singleTokensLower != null);
+        if (firstTokens != null || firstTokensLower != null || checkSingleToken) {
+            String token = accessor.getFirstToken(object);
+            if (firstTokens != null && firstTokens.contains(token)) {
+                return false;
+            }
+            if (single && singleTokens != null && singleTokens.contains(token)) {
+                return false;
+            }
+            if (firstTokensLower != null || (single && singleTokensLower != null)) {
+                String lower = token.toLowerCase(Locale.ROOT);
+                if (firstTokensLower != null && firstTokensLower.contains(lower)) {
+                    return false;
+                }
+                if (single && singleTokensLower != null && singleTokensLower.contains(lower)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+}
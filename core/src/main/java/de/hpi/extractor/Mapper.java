@@ -1,5 +1,9 @@
 package de.hpi.extractor;
 
+import de.hpi.extractor.metrics.PipelineMetrics;
+
+import java.util.Collection;
+
 /**
  * A class for taking a stream of <code>T</code> objects and modifying it somehow (e.g. by filtering
  * or modifying some objects). A <code>Mapper</code> object has two states: enabled and disabled. If
@@ -8,11 +12,38 @@ package de.hpi.extractor;
  * Subclasses extending <code>Mapper</code> should implement the <code>doMap(Iterable
  * objects)</code> method.
  *
+ * For debugging, the system property <code>de.hpi.extractor.checkReiteration</code> (or {@link
+ * #setCheckReiteration(boolean)}) makes every mapper wrap its lazy output in a {@link
+ * SingleUseIterable}, so that code which iterates a lazy stream more than once (and thus runs the
+ * mappers again) fails with an {@link IllegalStateException}.
+ *
+ * If {@link PipelineMetrics} is enabled, each mapper reports its measurements under its name (see
+ * {@link #getName()}).
+ *
  * @author afader
  */
 public abstract class Mapper<T> {
 
+    private static volatile boolean checkReiteration =
+        Boolean.getBoolean("de.hpi.extractor.checkReiteration");
+
     private boolean enabled = true;
+    private String name = null;
+
+    /**
+     * @return <code>true</code> if the lazy output of mappers may only be iterated once
+     */
+    public static boolean isCheckReiteration() {
+        return checkReiteration;
+    }
+
+    /**
+     * @param check <code>true</code> to make re-iteration of the lazy output of any mapper throw
+     *              an {@link IllegalStateException}
+     */
+    public static void setCheckReiteration(boolean check) {
+        checkReiteration = check;
+    }
 
     /**
      * @param objects a stream of objects
@@ -27,12 +58,55 @@ public abstract class Mapper<T> {
      */
     public Iterable<T> map(Iterable<T> objects) {
         if (isEnabled()) {
-            return doMap(objects);
+            Iterable<T> result;
+            if (PipelineMetrics.isEnabled()) {
+                result = PipelineMetrics.measure(getName(), objects,
+                                                 new PipelineMetrics.Stage<T>() {
+                                                     public Iterable<T> apply(Iterable<T> input) {
+                                                         return doMap(input);
+                                                     }
+                                                 });
+            } else {
+                result = doMap(objects);
+            }
+            if (checkReiteration && !(result instanceof Collection)
+                && !(result instanceof SingleUseIterable)) {
+                return new SingleUseIterable<T>(result);
+            }
+            return result;
         } else {
             return objects;
         }
     }
 
+    /**
+     * @return the name of this mapper, which is used for its metrics. If no name was set, it is
+     * derived from the class name (e.g. <code>ReVerbArgument1Mappers$1</code> for an anonymous
+     * mapper).
+     */
+    public String getName() {
+        if (name == null) {
+            name = defaultName(getClass());
+        }
+        return name;
+    }
+
+    /**
+     * @param name the name of this mapper
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param cls a class
+     * @return the class name without the package
+     */
+    public static String defaultName(Class<?> cls) {
+        String className = cls.getName();
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
     /**
      * @return <code>true</code> if this mapper is enabled.
      */
@@ -1,18 +1,32 @@
 package de.hpi.extractor;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A list of <code>Mapper</code> objects. Applies each mapper in the list to an input stream of
  * <code>T</code> objects in order.
  *
+ * Consecutive enabled order-independent filters (see {@link FilterMapper#isOrderIndependent()})
+ * are applied as a group: the {@link FilterRule}s of the group with the same {@link TokenAccessor}
+ * are fused into a single {@link FusedFilterRules} filter, and the filters of the group are
+ * combined into an {@link AdaptiveFilterGroup}, which reorders them at runtime by their measured
+ * cost and rejection rate. A group is applied in one pass instead of one nested filter view per
+ * filter.
+ *
  * @author afader
  */
 public class MapperList<T> extends Mapper<T> {
 
     private List<Mapper<T>> mappers;
 
+    // the mappers with fused filter rules, rebuilt if mappers are added, enabled or disabled
+    private List<Mapper<T>> plan;
+    private boolean[] planEnabled;
+    private boolean adaptiveOrdering = true;
+
     /**
      * Constructs an empty list of mappers.
      */
@@ -27,6 +41,7 @@ public class MapperList<T> extends Mapper<T> {
      * @param mappers another mapper list.
      */
     public MapperList(List<Mapper<T>> mappers) {
+        this.mappers = new ArrayList<Mapper<T>>(mappers.size());
         for (Mapper<T> mapper : mappers) {
             this.mappers.add(mapper);
         }
@@ -47,6 +62,114 @@ public class MapperList<T> extends Mapper<T> {
      */
     public void addMapper(Mapper<T> mapper) {
         mappers.add(mapper);
+        plan = null;
+    }
+
+    /**
+     * @return <code>true</code> if groups of order-independent filters are reordered by their
+     * measured cost and rejection rate
+     */
+    public boolean isAdaptiveOrdering() {
+        return adaptiveOrdering;
+    }
+
+    /**
+     * @param adaptiveOrdering <code>true</code> to reorder groups of order-independent filters by
+     *                         their measured cost and rejection rate (the default)
+     */
+    public synchronized void setAdaptiveOrdering(boolean adaptiveOrdering) {
+        this.adaptiveOrdering = adaptiveOrdering;
+        plan = null;
+    }
+
+    /**
+     * @return the mappers that are actually applied, with filter rules fused and groups of
+     * order-independent filters combined
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<Mapper<T>> getPlan() {
+        boolean valid = plan != null && planEnabled.length == mappers.size();
+        for (int i = 0; valid && i < planEnabled.length; i++) {
+            valid = planEnabled[i] == mappers.get(i).isEnabled();
+        }
+        if (!valid) {
+            planEnabled = new boolean[mappers.size()];
+            List<Mapper<T>> newPlan = new ArrayList<Mapper<T>>(mappers.size());
+            List<FilterMapper<T>> group = new ArrayList<FilterMapper<T>>();
+            for (int i = 0; i < mappers.size(); i++) {
+                Mapper<T> mapper = mappers.get(i);
+                planEnabled[i] = mapper.isEnabled();
+                if (!mapper.isEnabled()) {
+                    continue;
+                }
+                if (mapper instanceof FilterMapper
+                    && ((FilterMapper<T>) mapper).isOrderIndependent()) {
+                    group.add((FilterMapper<T>) mapper);
+                } else {
+                    addGroup(newPlan, group);
+                    newPlan.add(mapper);
+                }
+            }
+            addGroup(newPlan, group);
+            plan = newPlan;
+        }
+        return plan;
+    }
+
+    // Adds a group of consecutive order-independent filters to the plan. The filter rules of the
+    // group are fused per accessor, and if adaptive ordering is enabled, the resulting filters are
+    // combined into an AdaptiveFilterGroup.
+    @SuppressWarnings("unchecked")
+    private void addGroup(List<Mapper<T>> plan, List<FilterMapper<T>> group) {
+        if (group.isEmpty()) {
+            return;
+        }
+        List<FilterMapper<T>> filters = new ArrayList<FilterMapper<T>>(group.size());
+        Map<TokenAccessor<T>, List<FilterRule<T>>> rules =
+            new LinkedHashMap<TokenAccessor<T>, List<FilterRule<T>>>();
+        for (FilterMapper<T> filter : group) {
+            if (filter instanceof FilterRule) {
+                FilterRule<T> rule = (FilterRule<T>) filter;
+                List<FilterRule<T>> accessorRules = rules.get(rule.getAccessor());
+                if (accessorRules == null) {
+                    accessorRules = new ArrayList<FilterRule<T>>();
+                    rules.put(rule.getAccessor(), accessorRules);
+                    // placeholder for the fused rules
+                    filters.add(rule);
+                }
+                accessorRules.add(rule);
+            } else if (adaptiveOrdering) {
+                filters.add(filter);
+            } else {
+                // without reordering, rules can only be fused with directly adjacent rules
+                fuseRules(plan.size(), filters, rules);
+                rules.clear();
+                filters.add(filter);
+            }
+        }
+        fuseRules(plan.size(), filters, rules);
+        group.clear();
+
+        if (filters.size() > 1 && adaptiveOrdering) {
+            AdaptiveFilterGroup<T> adaptive = new AdaptiveFilterGroup<T>(filters);
+            adaptive.setName(getName() + "/filters@" + plan.size());
+            plan.add(adaptive);
+        } else {
+            plan.addAll(filters);
+        }
+    }
+
+    // replaces the first rule of each accessor in filters with the fused rules of the accessor
+    private void fuseRules(int position, List<FilterMapper<T>> filters,
+                           Map<TokenAccessor<T>, List<FilterRule<T>>> rules) {
+        for (List<FilterRule<T>> accessorRules : rules.values()) {
+            if (accessorRules.size() > 1) {
+                int i = filters.indexOf(accessorRules.get(0));
+                FusedFilterRules<T> fused = new FusedFilterRules<T>(accessorRules);
+                fused.setName(getName() + "/rules@" + position + "." + i);
+                filters.set(i, fused);
+            }
+        }
     }
 
     @Override
@@ -54,7 +177,7 @@ public class MapperList<T> extends Mapper<T> {
      * Applies each mapper in order to the input stream of objects.
      */
     protected Iterable<T> doMap(Iterable<T> objects) {
-        for (Mapper<T> mapper : this.mappers) {
+        for (Mapper<T> mapper : getPlan()) {
             objects = mapper.map(objects);
         }
         return objects;
@@ -0,0 +1,44 @@
+package de.hpi.extractor;
+
+import java.util.Iterator;
+
+/**
+ * An {@link Iterable} that can only be iterated once. It is used to wrap lazy mapper results, so
+ * that accidental re-iteration (which would run the mappers again) fails instead of silently
+ * repeating the work.
+ *
+ * @param <T> the element type
+ */
+public class SingleUseIterable<T> implements Iterable<T> {
+
+    private final Iterable<T> objects;
+    private boolean iterated = false;
+
+    /**
+     * @param objects the iterable to wrap
+     */
+    public SingleUseIterable(Iterable<T> objects) {
+        this.objects = objects;
+    }
+
+    /**
+     * @return <code>true</code> if {@link #iterator()} has already been called
+     */
+    public synchronized boolean isIterated() {
+        return iterated;
+    }
+
+    /**
+     * @return an iterator over the wrapped objects
+     * @throws IllegalStateException if this method has already been called
+     */
+    @Override
+    public synchronized Iterator<T> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("Lazy extraction result was already iterated");
+        }
+        iterated = true;
+        return objects.iterator();
+    }
+
+}
@@ -0,0 +1,29 @@
+package de.hpi.extractor;
+
+/**
+ * Gives a {@link FilterRule} access to the tokens and POS tags of an extraction. Rules with equal
+ * accessors can be fused into a single filter by a {@link MapperList}.
+ *
+ * @param <T> the extraction type
+ */
+public interface TokenAccessor<T> {
+
+    /**
+     * @param object the extraction
+     * @return the number of tokens of the extraction
+     */
+    int getLength(T object);
+
+    /**
+     * @param object a non-empty extraction
+     * @return the first token of the extraction
+     */
+    String getFirstToken(T object);
+
+    /**
+     * @param object a non-empty extraction
+     * @return the POS tag of the first token of the extraction
+     */
+    String getFirstPosTag(T object);
+
+}
@@ -5,6 +5,7 @@ import de.hpi.nlp.chunking.ChunkedSentence;
 import de.hpi.nlp.extraction.chunking.ChunkedArgumentExtraction;
 import de.hpi.nlp.extraction.chunking.ChunkedExtraction;
 import de.hpi.nlp.extraction.chunking.ChunkedRelationExtraction;
+import de.hpi.sequence.SpanIndex;
 import edu.washington.cs.knowitall.commonlib.Range;
 
 import java.util.ArrayList;
@@ -69,42 +70,35 @@ public class ChunkedArgumentExtractor
         }
     }
 
-    /**
-     * If any of the ranges in <code>ranges</code> overlap with the relation <code>rel</code>, then
-     * modifies them so they do not overlap with <code>rel</code>. For example, if <code>rel</code>
-     * is in positions (4,5,6,7) and there is a range (6,7,8) in <code>ranges</code>, then it is
-     * modified to be just (8).
-     *
-     * @param rel    a relation.
-     * @param ranges a collection of <code>Range</code> objects.
-     * @return a new collection of <code>Range</code> objects.
-     */
-    private Collection<Range> removeRangeOverlapWithRelation(ChunkedExtraction rel,
-                                                             Iterable<Range> ranges) {
-        Collection<Range> results = new ArrayList<Range>();
-        Range relRange = rel.getRange();
-        for (Range range : ranges) {
-            Range result = range.removeOverlap(relRange);
-            if (result != null) {
-                results.add(result);
-            }
-        }
-        return results;
-    }
-
     @Override
     /**
      * Extracts candidate arguments for the given relation <code>rel</code>. If the mode of this
      * <code>NpChunkArgumentExtractor</code> is <code>LEFT</code>, then returns all noun phrases to
      * the left of <code>rel</code>. If the mode is <code>RIGHT</code>, then returns all noun phrases
-     * to the right of <code>rel</code>.
+     * to the right of <code>rel</code>. Noun phrases that overlap with <code>rel</code> are
+     * truncated so they do not overlap with it.
      */
     protected Collection<ChunkedArgumentExtraction> extractCandidates(ChunkedRelationExtraction rel) {
         ChunkedSentence sent = rel.getSentence();
-        Collection<Range> npChunkRanges= removeRangeOverlapWithRelation(rel, sent.getNpChunkRanges());
-        Collection<ChunkedArgumentExtraction> args = new ArrayList<>();
-        for (Range npChunkRange : npChunkRanges) {
-            if (acceptRange(rel, npChunkRange)) {
+        SpanIndex npChunks = sent.getNpChunkIndex();
+        Range relRange = rel.getRange();
+
+        // only noun phrases starting left of the relation (LEFT) or ending right of it (RIGHT)
+        // can be accepted after removing the overlap with the relation
+        int from;
+        int to;
+        if (mode == Mode.LEFT) {
+            from = 0;
+            to = npChunks.countStartingBefore(rel.getStart());
+        } else {
+            from = npChunks.firstEndingAfter(rel.getStart() + rel.getLength());
+            to = npChunks.size();
+        }
+
+        Collection<ChunkedArgumentExtraction> args = new ArrayList<>(Math.max(0, to - from));
+        for (int k = from; k < to; k++) {
+            Range npChunkRange = npChunks.getRange(k).removeOverlap(relRange);
+            if (npChunkRange != null && acceptRange(rel, npChunkRange)) {
                 ChunkedArgumentExtraction
                     arg =
                     new ChunkedArgumentExtraction(sent, npChunkRange, rel);
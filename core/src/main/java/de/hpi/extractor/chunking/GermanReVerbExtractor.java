@@ -1,11 +1,14 @@
 package de.hpi.extractor.chunking;
 
+import com.google.common.collect.Iterators;
+import de.hpi.extractor.ArgumentStages;
 import de.hpi.extractor.Extractor;
 import de.hpi.extractor.ExtractorException;
 import de.hpi.extractor.chunking.mapper.ChunkedBinaryExtractionMergeOverlappingMapper;
 import de.hpi.extractor.chunking.mapper.ReVerbArgument1Mappers;
 import de.hpi.extractor.chunking.mapper.ReVerbArgument2Mappers;
 import de.hpi.nlp.chunking.ChunkedSentence;
+import de.hpi.nlp.extraction.ExtractionBudget;
 import de.hpi.nlp.extraction.chunking.ChunkedArgumentExtraction;
 import de.hpi.nlp.extraction.chunking.ChunkedBinaryExtraction;
 import de.hpi.nlp.extraction.chunking.ChunkedRelationExtraction;
@@ -28,6 +31,12 @@ public class GermanReVerbExtractor extends Extractor<ChunkedSentence, ChunkedBin
     private static final boolean useMorphologyLexicon = true;
     private static final boolean reflexiveVerbs = true;
     private boolean extractSubsentences = true;
+    private int maxExtractionsPerRelation = ExtractionBudget.DEFAULT_MAX_PER_RELATION;
+    private int maxExtractionsPerSentence = ExtractionBudget.DEFAULT_MAX_PER_SENTENCE;
+
+    // the arguments of a relation are independent of each other, so they may be reordered
+    private final ArgumentStages<ChunkedRelationExtraction, ChunkedArgumentExtraction> argStages =
+        new ArgumentStages<ChunkedRelationExtraction, ChunkedArgumentExtraction>(true);
 
     public GermanReVerbExtractor() {
         this.sentExtr = new SubsentenceExtractor();
@@ -92,10 +101,51 @@ public class GermanReVerbExtractor extends Extractor<ChunkedSentence, ChunkedBin
     }
 
 
+    /**
+     * @return the maximum number of extractions created for one relation
+     */
+    public int getMaxExtractionsPerRelation() {
+        return maxExtractionsPerRelation;
+    }
+
+    /**
+     * Limits the number of (arg1, arg2) pairs that are turned into extractions for one relation.
+     *
+     * @param maxExtractionsPerRelation the maximum number of extractions for one relation
+     */
+    public void setMaxExtractionsPerRelation(int maxExtractionsPerRelation) {
+        this.maxExtractionsPerRelation = maxExtractionsPerRelation;
+    }
+
+    /**
+     * @return the maximum number of extractions created for one sentence
+     */
+    public int getMaxExtractionsPerSentence() {
+        return maxExtractionsPerSentence;
+    }
+
+    /**
+     * Limits the number of extractions created for one sentence. The remaining relations of a
+     * sentence are skipped once the limit is reached. If a budget is passed to {@link
+     * #extract(Object, ExtractionBudget)}, the smaller of both limits applies, and the budget is
+     * marked as exceeded if this limit is reached.
+     *
+     * @param maxExtractionsPerSentence the maximum number of extractions for one sentence
+     */
+    public void setMaxExtractionsPerSentence(int maxExtractionsPerSentence) {
+        this.maxExtractionsPerSentence = maxExtractionsPerSentence;
+    }
+
     @Override
     protected Iterable<ChunkedBinaryExtraction> extractCandidates(ChunkedSentence source)
             throws ExtractorException {
         Collection<ChunkedBinaryExtraction> extrs = new ArrayList<ChunkedBinaryExtraction>();
+        ExtractionBudget budget = getBudget();
+        if (budget == null) {
+            budget = new ExtractionBudget(maxExtractionsPerSentence);
+        } else {
+            budget = budget.limit(maxExtractionsPerSentence);
+        }
 
         Iterable<? extends ChunkedSentence> sentences;
         if (extractSubsentences) {
@@ -107,15 +157,32 @@ public class GermanReVerbExtractor extends Extractor<ChunkedSentence, ChunkedBin
         }
 
         for (ChunkedSentence sentence : sentences) {
+            if (!budget.tryContinue()) {
+                break;
+            }
             Iterable<? extends ChunkedRelationExtraction> rels = relExtr.extract(sentence);
             for (ChunkedRelationExtraction rel : rels) {
-                Iterable<? extends ChunkedArgumentExtraction> arg1s =
-                        arg1Extr.extract(rel);
-                Iterable<? extends ChunkedArgumentExtraction> arg2s =
-                        arg2Extr.extract(rel);
-
-                extrs.addAll(
-                        ChunkedBinaryExtraction.productOfArgs(rel, arg1s, arg2s, allowUnary));
+                if (!budget.tryContinue()) {
+                    break;
+                }
+                Iterable<? extends ChunkedArgumentExtraction> arg1s;
+                Iterable<? extends ChunkedArgumentExtraction> arg2s;
+                if (allowUnary) {
+                    arg1s = arg1Extr.extract(rel);
+                    arg2s = arg2Extr.extract(rel);
+                } else {
+                    // skip the other argument if one of them is missing
+                    ArgumentStages.Arguments<ChunkedArgumentExtraction> args =
+                        argStages.extract(rel, arg1Extr, arg2Extr);
+                    if (args == null) {
+                        continue;
+                    }
+                    arg1s = args.getArg1s();
+                    arg2s = args.getArg2s();
+                }
+
+                Iterators.addAll(extrs, ChunkedBinaryExtraction.lazyProductOfArgs(
+                    rel, arg1s, arg2s, allowUnary, maxExtractionsPerRelation, budget));
             }
         }
 
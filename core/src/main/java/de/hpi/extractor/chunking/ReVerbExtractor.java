@@ -1,10 +1,12 @@
 package de.hpi.extractor.chunking;
 
+import com.google.common.collect.Iterators;
 import de.hpi.extractor.Extractor;
 import de.hpi.extractor.ExtractorException;
 import de.hpi.extractor.chunking.mapper.ReVerbArgument1Mappers;
 import de.hpi.extractor.chunking.mapper.ReVerbArgument2Mappers;
 import de.hpi.nlp.chunking.ChunkedSentence;
+import de.hpi.nlp.extraction.ExtractionBudget;
 import de.hpi.nlp.extraction.chunking.ChunkedArgumentExtraction;
 import de.hpi.nlp.extraction.chunking.ChunkedBinaryExtraction;
 import de.hpi.nlp.extraction.chunking.ChunkedRelationExtraction;
@@ -59,14 +61,21 @@ public class ReVerbExtractor extends Extractor<ChunkedSentence, ChunkedBinaryExt
         Iterable<? extends ChunkedRelationExtraction> rels = relExtr.extract(source);
         Collection<ChunkedBinaryExtraction> extrs =
             new ArrayList<ChunkedBinaryExtraction>();
+        ExtractionBudget budget = getBudget();
+        if (budget == null) {
+            budget = new ExtractionBudget(Integer.MAX_VALUE);
+        }
         for (ChunkedRelationExtraction rel : rels) {
+            if (!budget.tryContinue()) {
+                break;
+            }
             Iterable<? extends ChunkedArgumentExtraction> arg1s =
                 arg1Extr.extract(rel);
             Iterable<? extends ChunkedArgumentExtraction> arg2s =
                 arg2Extr.extract(rel);
 
-            extrs.addAll(
-                ChunkedBinaryExtraction.productOfArgs(rel, arg1s, arg2s, allowUnary));
+            Iterators.addAll(extrs, ChunkedBinaryExtraction.lazyProductOfArgs(
+                rel, arg1s, arg2s, allowUnary, Integer.MAX_VALUE, budget));
         }
 
         return extrs;
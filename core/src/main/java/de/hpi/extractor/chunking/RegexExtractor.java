@@ -7,6 +7,7 @@ import de.hpi.nlp.chunking.ChunkedSentence;
 import de.hpi.nlp.extraction.chunking.ChunkedRelationExtraction;
 import de.hpi.sequence.LayeredTokenMatcher;
 import de.hpi.sequence.LayeredTokenPattern;
+import de.hpi.sequence.LayeredTokenPatternCache;
 import de.hpi.sequence.SequenceException;
 
 import java.util.ArrayList;
@@ -32,7 +33,7 @@ public class RegexExtractor extends
      */
     public RegexExtractor(String patternString) throws SequenceException {
         this.patternString = patternString;
-        this.pattern = new LayeredTokenPattern(patternString);
+        this.pattern = LayeredTokenPatternCache.get(patternString);
     }
 
     /**
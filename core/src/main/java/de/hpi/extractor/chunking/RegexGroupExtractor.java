@@ -6,28 +6,55 @@ import de.hpi.nlp.chunking.ChunkedSentence;
 import de.hpi.nlp.extraction.chunking.SpanExtraction;
 import de.hpi.sequence.LayeredTokenMatcher;
 import de.hpi.sequence.LayeredTokenPattern;
+import de.hpi.sequence.LayeredTokenPatternCache;
 import edu.washington.cs.knowitall.commonlib.Range;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+/**
+ * An extractor that returns a {@link SpanExtraction} for each match of a pattern, with one field
+ * per capturing group. By default the groups are captured by a backtracking-free {@link
+ * de.hpi.sequence.TokenAutomaton} if the pattern supports it.
+ */
 public class RegexGroupExtractor extends
                                  Extractor<ChunkedSentence, SpanExtraction> {
 
     private LayeredTokenPattern pattern;
+    private boolean useAutomaton;
 
     public RegexGroupExtractor(LayeredTokenPattern pattern) {
-        this.pattern = pattern;
+        this(pattern, true);
     }
 
     public RegexGroupExtractor(String patternStr) {
-        this(new LayeredTokenPattern(patternStr));
+        this(LayeredTokenPatternCache.get(patternStr));
+    }
+
+    /**
+     * @param pattern      the pattern
+     * @param useAutomaton true to match with a {@link de.hpi.sequence.TokenAutomaton}, false to
+     *                     use the backtracking regular expression
+     */
+    public RegexGroupExtractor(LayeredTokenPattern pattern, boolean useAutomaton) {
+        this.pattern = pattern;
+        this.useAutomaton = useAutomaton;
+    }
+
+    /**
+     * @param patternStr   the pattern
+     * @param useAutomaton true to match with a {@link de.hpi.sequence.TokenAutomaton}, false to
+     *                     use the backtracking regular expression
+     */
+    public RegexGroupExtractor(String patternStr, boolean useAutomaton) {
+        this(LayeredTokenPatternCache.get(patternStr), useAutomaton);
     }
 
     protected Collection<SpanExtraction> extractCandidates(ChunkedSentence sent)
         throws ExtractorException {
-        LayeredTokenMatcher m = pattern.matcher(sent);
+        LayeredTokenMatcher m =
+            useAutomaton ? pattern.automatonMatcher(sent) : pattern.matcher(sent);
         List<SpanExtraction> results = new ArrayList<SpanExtraction>();
         while (m.find()) {
             int numFields = m.groupCount();
@@ -10,6 +10,7 @@ import de.hpi.extractor.ExtractorException;
 import de.hpi.nlp.chunking.ChunkedSentence;
 import de.hpi.sequence.LayeredTokenMatcher;
 import de.hpi.sequence.LayeredTokenPattern;
+import de.hpi.sequence.LayeredTokenPatternCache;
 import de.hpi.sequence.SequenceException;
 
 /**
@@ -30,7 +31,7 @@ public class RegexSentenceExtractor extends
      */
     public RegexSentenceExtractor(String patternString) throws SequenceException {
         this.patternString = patternString;
-        this.pattern = new LayeredTokenPattern(patternString);
+        this.pattern = LayeredTokenPatternCache.get(patternString);
     }
 
     /**
@@ -12,6 +12,10 @@ import de.hpi.nlp.extraction.chunking.ChunkedExtraction;
  */
 public class AdjacentToRelationFilter extends FilterMapper<ChunkedArgumentExtraction> {
 
+    public AdjacentToRelationFilter() {
+        super(true);
+    }
+
     /**
      * Returns <code>true</code> if the given argument is adjacent to its relation.
      */
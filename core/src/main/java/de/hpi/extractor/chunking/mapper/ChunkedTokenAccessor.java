@@ -0,0 +1,41 @@
+package de.hpi.extractor.chunking.mapper;
+
+import de.hpi.extractor.TokenAccessor;
+import de.hpi.nlp.extraction.chunking.ChunkedExtraction;
+
+/**
+ * A {@link TokenAccessor} for chunked extractions, which reads the tokens directly from the source
+ * sentence.
+ *
+ * @param <T> the extraction type
+ */
+public class ChunkedTokenAccessor<T extends ChunkedExtraction> implements TokenAccessor<T> {
+
+    @SuppressWarnings("rawtypes")
+    private static final ChunkedTokenAccessor INSTANCE = new ChunkedTokenAccessor();
+
+    private ChunkedTokenAccessor() {
+    }
+
+    /**
+     * @param <T> the extraction type
+     * @return the shared accessor instance
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends ChunkedExtraction> ChunkedTokenAccessor<T> get() {
+        return (ChunkedTokenAccessor<T>) INSTANCE;
+    }
+
+    public int getLength(T extr) {
+        return extr.getLength();
+    }
+
+    public String getFirstToken(T extr) {
+        return extr.getSentence().getToken(extr.getStart());
+    }
+
+    public String getFirstPosTag(T extr) {
+        return extr.getSentence().getPosTag(extr.getStart());
+    }
+
+}
@@ -26,6 +26,7 @@ public class NormalizedRelationDictionaryFilter extends
      * @param relations the relations contained in the dictionary
      */
     public NormalizedRelationDictionaryFilter(HashSet<String> relations) {
+        super(true);
         this.relations = relations;
         normalizer = new VerbalRelationNormalizer(true, true, false);
     }
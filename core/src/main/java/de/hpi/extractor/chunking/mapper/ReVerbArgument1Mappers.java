@@ -1,6 +1,7 @@
 package de.hpi.extractor.chunking.mapper;
 
 import de.hpi.extractor.FilterMapper;
+import de.hpi.extractor.FilterRule;
 import de.hpi.extractor.MapperList;
 import de.hpi.nlp.extraction.chunking.ChunkedArgumentExtraction;
 
@@ -87,7 +88,7 @@ public class ReVerbArgument1Mappers extends
         /*
          * The argument shouldn't just be a single non word character.
          */
-        addMapper(new FilterMapper<ChunkedArgumentExtraction>() {
+        addMapper(new FilterMapper<ChunkedArgumentExtraction>(true) {
             public boolean doFilter(ChunkedArgumentExtraction arg) {
                 if (arg.getLength() == 1 && arg.getToken(0).length() == 1) {
                     return arg.getToken(0).matches("[a-zA-ZöäüßÖÄÜ]");
@@ -99,30 +100,18 @@ public class ReVerbArgument1Mappers extends
     }
 
     private void addFirstPosTagNotEqualsFilter(String posTag) {
-        final String posTagCopy = posTag;
-        addMapper(new FilterMapper<ChunkedArgumentExtraction>() {
-            public boolean doFilter(ChunkedArgumentExtraction extr) {
-                return !extr.getPosTags().get(0).equals(posTagCopy);
-            }
-        });
+        addMapper(FilterRule.firstPosTagNotIn(ChunkedTokenAccessor.<ChunkedArgumentExtraction>get(),
+                                              posTag));
     }
 
     private void addFirstTokenNotEqualsFilter(String token) {
-        final String tokenCopy = token;
-        addMapper(new FilterMapper<ChunkedArgumentExtraction>() {
-            public boolean doFilter(ChunkedArgumentExtraction extr) {
-                return !extr.getTokens().get(0).toLowerCase().equals(tokenCopy);
-            }
-        });
+        addMapper(FilterRule.firstTokenNotIn(ChunkedTokenAccessor.<ChunkedArgumentExtraction>get(),
+                                             true, token));
     }
 
     private void addArgumentNotEqualsFilter(String posTag) {
-        final String posTagCopy = posTag;
-        addMapper(new FilterMapper<ChunkedArgumentExtraction>() {
-            public boolean doFilter(ChunkedArgumentExtraction extr) {
-                return !(extr.getLength() == 1 && extr.getPosTag(0).equals(posTagCopy));
-            }
-        });
+        addMapper(FilterRule.singlePosTagNotIn(ChunkedTokenAccessor.<ChunkedArgumentExtraction>get(),
+                                               posTag));
     }
 
 }
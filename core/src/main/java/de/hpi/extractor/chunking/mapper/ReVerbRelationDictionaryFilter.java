@@ -39,6 +39,7 @@ public class ReVerbRelationDictionaryFilter extends
      * @throws IOException if the relation dictionary could not be read
      */
     public ReVerbRelationDictionaryFilter(InputStream in, int minFreq) throws IOException {
+        super(true);
         init(in, minFreq);
     }
 
@@ -50,6 +51,7 @@ public class ReVerbRelationDictionaryFilter extends
      * @throws IOException if the relation dictionary could not be read
      */
     public ReVerbRelationDictionaryFilter(int minFreq) throws IOException {
+        super(true);
         init(getDefaultRelationStream(), minFreq);
     }
 
@@ -59,6 +61,7 @@ public class ReVerbRelationDictionaryFilter extends
      * @throws IOException if the relation dictionary could not be read
      */
     public ReVerbRelationDictionaryFilter() throws IOException {
+        super(true);
         init(getDefaultRelationStream(), defaultMinFreq);
     }
 
@@ -97,7 +97,7 @@ public class ReVerbRelationMappers extends MapperList<ChunkedRelationExtraction>
          * happens due to errors in the various NLP tools (sentence detector,
          * tokenizer, POS tagger, chunker).
          */
-        addMapper(new FilterMapper<ChunkedRelationExtraction>() {
+        addMapper(new FilterMapper<ChunkedRelationExtraction>(true) {
             public boolean doFilter(ChunkedRelationExtraction rel) {
                 return rel.getLength() != 1 || rel.getToken(0).length() > 1;
             }
@@ -110,7 +110,7 @@ public class ReVerbRelationMappers extends MapperList<ChunkedRelationExtraction>
         addMapper(relStopList);
 
         // The POS tag of the first verb in the relation cannot be VVPP, VAPP, VMPP
-        addMapper(new FilterMapper<ChunkedRelationExtraction>() {
+        addMapper(new FilterMapper<ChunkedRelationExtraction>(true) {
             public boolean doFilter(ChunkedRelationExtraction rel) {
                 ChunkedSentence sent = rel.getSentence();
                 int start = rel.getStart();
@@ -128,7 +128,7 @@ public class ReVerbRelationMappers extends MapperList<ChunkedRelationExtraction>
         });
 
         // The previous tag can't be a "zu"
-        addMapper(new FilterMapper<ChunkedRelationExtraction>() {
+        addMapper(new FilterMapper<ChunkedRelationExtraction>(true) {
             public boolean doFilter(ChunkedRelationExtraction rel) {
                 int s = rel.getStart();
                 if (s == 0) {
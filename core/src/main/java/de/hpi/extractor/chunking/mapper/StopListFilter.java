@@ -21,6 +21,7 @@ public class StopListFilter extends FilterMapper<ChunkedRelationExtraction> {
      * Constructs a new <code>StopListFilter</code> with empty sets for POS tags and tokens.
      */
     public StopListFilter() {
+        super(true);
         this.stopTokens = new HashSet<String>();
         this.stopPosTags = new HashSet<String>();
     }
@@ -48,6 +49,7 @@ public class StopListFilter extends FilterMapper<ChunkedRelationExtraction> {
      * @param stopTokens set of stop tokens
      */
     public StopListFilter(Set<String> stopTokens, Set<String> stopPosTags) {
+        super(true);
         this.stopTokens = stopTokens;
         this.stopPosTags = stopPosTags;
     }
@@ -8,6 +8,10 @@ import de.hpi.nlp.extraction.chunking.ChunkedRelationExtraction;
  */
 public class VerbFilter extends FilterMapper<ChunkedRelationExtraction> {
 
+    public VerbFilter() {
+        super(true);
+    }
+
     @Override
     public boolean doFilter(ChunkedRelationExtraction extr) {
         // a relation should contain a verb phrase chunk
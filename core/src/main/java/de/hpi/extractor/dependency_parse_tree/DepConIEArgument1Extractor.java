@@ -34,7 +34,7 @@ public class DepConIEArgument1Extractor extends Extractor<TreeExtraction, TreeEx
         // A subject, which is not a proper noun and has a relative clause as child node, is not a valid subject node
         // Example: Zahlungstag ist der Tag, an dem alle Mitarbeiter ihr Geld bekommen.
         subjectNodes = subjectNodes.stream()
-                .filter(s -> s.getChildren().size() > 2 || s.getChildrenOfType("rel").isEmpty() || s.getPos().equals("NE"))
+                .filter(s -> s.getChildren().size() > 2 || !s.hasChildrenOfType("rel") || s.getPos().equals("NE"))
                 .collect(Collectors.toList());
 
         // There exists no subject
@@ -46,8 +46,7 @@ public class DepConIEArgument1Extractor extends Extractor<TreeExtraction, TreeEx
         Node subjectRoot = subjectNodes.get(0);
 
         // Check if there exists a conjunction of subjects
-        List<Node> konNodes = new ArrayList<>();
-        Node.getKonNodes(subjectRoot, konNodes);
+        List<Node> konNodes = TreeFeatures.konNodes(subjectRoot);
 
         // Add the main subject
         extrs.add(createTreeExtraction(rel.getRootNode(), subjectRoot));
@@ -71,7 +70,7 @@ public class DepConIEArgument1Extractor extends Extractor<TreeExtraction, TreeEx
     private TreeExtraction createTreeExtraction(Node sentRoot, Node subjectRoot) {
         List<Node> allChildren = subjectRoot.toList();
         // Get the conjunction nodes and removes them from the subject nodes
-        List<Node> konChildren = subjectRoot.getKonChildren();
+        List<Node> konChildren = TreeFeatures.konChildren(subjectRoot);
         // Remove all app children, which follow after a comma
         List<Node> appChildren = allChildren.stream().filter(x -> x.getLabelToParent().equals("app") && sentRoot.commaBefore(x.getId())).collect(Collectors.toList());
         // Remove all clause children
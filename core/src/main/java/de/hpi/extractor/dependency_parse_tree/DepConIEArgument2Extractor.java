@@ -346,7 +346,7 @@ public class DepConIEArgument2Extractor extends Extractor<TreeExtraction, TreeEx
      * @return true, if the argument does not have a relative clause, false otherwise
      */
     private boolean filterArgumentsWithRelativeClause(Node argument) {
-        return argument.getChildren().size() > 2 || argument.getChildrenOfType("rel").isEmpty();
+        return argument.getChildren().size() > 2 || !argument.hasChildrenOfType("rel");
     }
 
     private boolean argContains(List<Argument2> arguments, String type, int count) {
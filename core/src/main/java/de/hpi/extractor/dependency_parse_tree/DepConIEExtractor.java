@@ -1,5 +1,7 @@
 package de.hpi.extractor.dependency_parse_tree;
 
+import com.google.common.collect.Iterators;
+import de.hpi.extractor.ArgumentStages;
 import de.hpi.extractor.Extractor;
 import de.hpi.extractor.ExtractorException;
 import de.hpi.extractor.dependency_parse_tree.mapper.DepConIEArgument1Mappers;
@@ -8,6 +10,7 @@ import de.hpi.extractor.dependency_parse_tree.mapper.DepRelationDictionaryFilter
 import de.hpi.extractor.dependency_parse_tree.mapper.PronounRelationFilter;
 import de.hpi.nlp.dependency_parse_tree.DependencyParseTree;
 import de.hpi.nlp.dependency_parse_tree.Node;
+import de.hpi.nlp.extraction.ExtractionBudget;
 import de.hpi.nlp.extraction.dependency_parse_tree.Context;
 import de.hpi.nlp.extraction.dependency_parse_tree.TreeBinaryExtraction;
 import de.hpi.nlp.extraction.dependency_parse_tree.TreeExtraction;
@@ -31,6 +34,14 @@ public class DepConIEExtractor extends Extractor<DependencyParseTree, TreeBinary
     private Extractor<Node, TreeExtraction> relExtr;
     private ContextExtractor contextExtr;
 
+    // the second argument extractor adds complements to the relation, which the first argument
+    // extractor must not see, so the order is fixed
+    private final ArgumentStages<TreeExtraction, TreeExtraction> argStages =
+        new ArgumentStages<TreeExtraction, TreeExtraction>(false, arg -> !arg.isEmtpy());
+
+    private int maxExtractionsPerRelation = ExtractionBudget.DEFAULT_MAX_PER_RELATION;
+    private int maxExtractionsPerSentence = ExtractionBudget.DEFAULT_MAX_PER_SENTENCE;
+
     /**
      * Default constructor.
      */
@@ -74,39 +85,106 @@ public class DepConIEExtractor extends Extractor<DependencyParseTree, TreeBinary
         this.addMapper(new PronounRelationFilter(pronounsAsSubject));
     }
 
+    /**
+     * @return the maximum number of extractions created for one relation
+     */
+    public int getMaxExtractionsPerRelation() {
+        return maxExtractionsPerRelation;
+    }
+
+    /**
+     * Limits the number of (arg1, arg2) pairs that are turned into extractions for one relation.
+     *
+     * @param maxExtractionsPerRelation the maximum number of extractions for one relation
+     */
+    public void setMaxExtractionsPerRelation(int maxExtractionsPerRelation) {
+        this.maxExtractionsPerRelation = maxExtractionsPerRelation;
+    }
+
+    /**
+     * @return the maximum number of extractions created for one sentence
+     */
+    public int getMaxExtractionsPerSentence() {
+        return maxExtractionsPerSentence;
+    }
+
+    /**
+     * Limits the number of extractions created for one sentence. The remaining relations of a
+     * sentence are skipped once the limit is reached. If a budget is passed to {@link
+     * #extract(Object, ExtractionBudget)}, the smaller of both limits applies, and the budget is
+     * marked as exceeded if this limit is reached.
+     *
+     * @param maxExtractionsPerSentence the maximum number of extractions for one sentence
+     */
+    public void setMaxExtractionsPerSentence(int maxExtractionsPerSentence) {
+        this.maxExtractionsPerSentence = maxExtractionsPerSentence;
+    }
+
     @Override
     protected Iterable<TreeBinaryExtraction> extractCandidates(DependencyParseTree dependencyParseTree)
         throws ExtractorException {
         Collection<TreeBinaryExtraction> extrs = new ArrayList<>();
+        ExtractionBudget budget = getBudget();
+        if (budget == null) {
+            budget = new ExtractionBudget(maxExtractionsPerSentence);
+        } else {
+            budget = budget.limit(maxExtractionsPerSentence);
+        }
 
         // 1. remove not needed nodes from tree
         dependencyParseTree.prune();
 
+        // the features of the tree are shared by the extractors until the tree is done
+        TreeFeatures features = TreeFeatures.open();
+        try {
+            extractCandidates(dependencyParseTree, budget, extrs);
+        } finally {
+            features.close();
+        }
+        return extrs;
+    }
+
+    private void extractCandidates(DependencyParseTree dependencyParseTree, ExtractionBudget budget,
+                                   Collection<TreeBinaryExtraction> extrs) {
         // 2. if tree has multiple root nodes, divide the tree in subtrees
         List<Node> rootElements = dependencyParseTree.getRootElements();
 
         // For each of the root elements:
         for (Node root : rootElements) {
+            if (!budget.tryContinue()) {
+                break;
+            }
             // 3. get the verbs
             Iterable<TreeExtraction> rels = relExtr.extract(root);
 
+            // the context only depends on the root, it is determined for the first extraction
+            Context context = null;
+
             for (TreeExtraction rel : rels) {
+                if (!budget.tryContinue()) {
+                    break;
+                }
                 // 4. extract the subject of the verb
-                Iterable<TreeExtraction> arg1s = arg1Extr.extract(rel);
-
                 // 5. extract the objects and complements of verbs
                 // add the complements to the verb phrase and create extractions for the objects
-                Iterable<TreeExtraction> arg2s = arg2Extr.extract(rel);
+                // (skipped if there is no subject)
+                ArgumentStages.Arguments<TreeExtraction> args =
+                    argStages.extract(rel, arg1Extr, arg2Extr);
+                if (args == null) {
+                    continue;
+                }
 
                 // Examine the context of the extraction
-                Context context = contextExtr.extract(root);
+                if (context == null) {
+                    context = contextExtr.extract(root);
+                }
 
                 // 6. Create TreeBinaryExtractions
-                extrs.addAll(TreeBinaryExtraction.productOfArgs(dependencyParseTree, context, rel, arg1s, arg2s));
+                Iterators.addAll(extrs, TreeBinaryExtraction.lazyProductOfArgs(
+                    dependencyParseTree, context, rel, args.getArg1s(), args.getArg2s(),
+                    maxExtractionsPerRelation, budget));
             }
         }
-
-        return extrs;
     }
 
 
@@ -6,6 +6,7 @@ import de.hpi.nlp.dependency_parse_tree.Node;
 import de.hpi.nlp.extraction.dependency_parse_tree.TreeExtraction;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -14,6 +15,9 @@ import java.util.stream.Collectors;
  */
 public class DepConIERelationExtractor extends Extractor<Node, TreeExtraction> {
 
+    private static final TreeFeatures.Feature<Node, List<Node>> PTK_NODES =
+        new TreeFeatures.Feature<>(DepConIERelationExtractor::findPtkNodes);
+
     @Override
     protected Iterable<TreeExtraction> extractCandidates(Node rootNode)
         throws ExtractorException {
@@ -37,7 +41,7 @@ public class DepConIERelationExtractor extends Extractor<Node, TreeExtraction> {
         // if the root node has a 'Objektinfinitiv', the root node does not result
         // in an informative relation
         // Example: Ich schlage vor, zu prüfen, ob der Plan durchführbar ist.
-        if (!rootNode.getChildrenOfType("obji").isEmpty()) {
+        if (rootNode.hasChildrenOfType("obji")) {
             return rels;
         }
 
@@ -56,7 +60,7 @@ public class DepConIERelationExtractor extends Extractor<Node, TreeExtraction> {
         // check if there is a conjunction of verbs
         List<Node> konNodes = new ArrayList<>();
         for (Node verb : verbNodes) {
-            Node.getKonNodes(verb, konNodes);
+            konNodes.addAll(TreeFeatures.konNodes(verb));
         }
 
         // Add a extraction for the main verb
@@ -106,10 +110,14 @@ public class DepConIERelationExtractor extends Extractor<Node, TreeExtraction> {
      * @return a list of child nodes, which have the pos tags 'PTKNEG' or 'PTKZU'
      */
     private List<Node> getPtkNodes(Node rootNode) {
-        return rootNode.getChildrenOfType("adv", "part").stream()
+        return TreeFeatures.get(PTK_NODES, rootNode);
+    }
+
+    private static List<Node> findPtkNodes(Node rootNode) {
+        return Collections.unmodifiableList(rootNode.getChildrenOfType("adv", "part").stream()
             .filter(x -> x.getPos().equals("PTKNEG") || x.getPos().equals("PTKZU") || x.getPos().equals("ADJD")  || x.getPos().equals("ADV"))
                 .flatMap(x -> x.toList().stream())
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     /**
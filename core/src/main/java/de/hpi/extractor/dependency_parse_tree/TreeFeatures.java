@@ -0,0 +1,132 @@
+package de.hpi.extractor.dependency_parse_tree;
+
+import de.hpi.nlp.dependency_parse_tree.Node;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A cache of structural features of a dependency parse tree, which are needed by several rules of
+ * Dep ConIE (e.g. the conjunction following a node). {@link DepConIEExtractor} opens a cache for
+ * the extraction of each tree and binds it to the current thread, so the relation, argument and
+ * context extractors share the features without passing the cache around. Each feature is computed
+ * on its first access, and the cache is freed when the extraction of the tree is complete. Without
+ * an open cache, the features are computed on every access.
+ *
+ * The features are shared, so they must not be modified.
+ */
+public final class TreeFeatures implements AutoCloseable {
+
+    /**
+     * A feature of a part of the tree (e.g. of a node).
+     *
+     * @param <K> the type of the part
+     * @param <V> the type of the feature
+     */
+    public static final class Feature<K, V> {
+
+        private final Function<? super K, ? extends V> function;
+
+        /**
+         * @param function computes the feature, the part is compared by identity
+         */
+        public Feature(Function<? super K, ? extends V> function) {
+            this.function = function;
+        }
+    }
+
+    /**
+     * The nodes of the conjunction starting at a node (see {@link Node#getKonNodes(Node, List)}).
+     */
+    public static final Feature<Node, List<Node>> KON_NODES = new Feature<>(node -> {
+        List<Node> konNodes = new ArrayList<>();
+        Node.getKonNodes(node, konNodes);
+        return Collections.unmodifiableList(konNodes);
+    });
+
+    /**
+     * The conjunction nodes below a node (see {@link Node#getKonChildren()}).
+     */
+    public static final Feature<Node, List<Node>> KON_CHILDREN =
+        new Feature<>(node -> Collections.unmodifiableList(node.getKonChildren()));
+
+    private static final ThreadLocal<TreeFeatures> current = new ThreadLocal<>();
+
+    private final TreeFeatures previous;
+    private final Map<Feature<?, ?>, Map<Object, Object>> values = new IdentityHashMap<>();
+
+    private TreeFeatures(TreeFeatures previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Opens a cache for the current thread, which is used until it is closed.
+     * @return the cache
+     */
+    public static TreeFeatures open() {
+        TreeFeatures features = new TreeFeatures(current.get());
+        current.set(features);
+        return features;
+    }
+
+    /**
+     * Frees the cache and restores the cache, which was open before.
+     */
+    @Override
+    public void close() {
+        values.clear();
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+
+    /**
+     * @param feature the feature
+     * @param key     the part of the tree
+     * @param <K>     the type of the part
+     * @param <V>     the type of the feature
+     * @return the cached feature of the part, or the computed feature if no cache is open
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> V get(Feature<K, V> feature, K key) {
+        TreeFeatures features = current.get();
+        if (features == null) {
+            return feature.function.apply(key);
+        }
+        Map<Object, Object> values = features.values.get(feature);
+        if (values == null) {
+            values = new IdentityHashMap<>();
+            features.values.put(feature, values);
+        }
+        if (values.containsKey(key)) {
+            return (V) values.get(key);
+        }
+        // features may depend on other features, so the map is not locked while computing
+        V value = feature.function.apply(key);
+        values.put(key, value);
+        return value;
+    }
+
+    /**
+     * @param node a node
+     * @return the nodes of the conjunction starting at the node
+     */
+    public static List<Node> konNodes(Node node) {
+        return get(KON_NODES, node);
+    }
+
+    /**
+     * @param node a node
+     * @return the conjunction nodes below the node
+     */
+    public static List<Node> konChildren(Node node) {
+        return get(KON_CHILDREN, node);
+    }
+
+}
@@ -1,6 +1,7 @@
 package de.hpi.extractor.dependency_parse_tree.argument;
 
 
+import de.hpi.extractor.dependency_parse_tree.TreeFeatures;
 import de.hpi.nlp.dependency_parse_tree.Node;
 import de.hpi.nlp.extraction.dependency_parse_tree.TreeExtraction;
 
@@ -61,9 +62,7 @@ public abstract class Argument2 {
      * @return a list of nodes, which belong to the conjunction
      */
     protected List<Node> resolveConjunction() {
-        List<Node> konNodes = new ArrayList<>();
-        Node.getKonNodes(this.rootNode, konNodes);
-        return konNodes;
+        return TreeFeatures.konNodes(this.rootNode);
     }
 
     /**
@@ -114,7 +113,7 @@ public abstract class Argument2 {
      */
     protected List<Integer> getIds(Node n, boolean removeKon) {
         // Get the conjunction nodes and removes them from the object nodes
-        List<Node> konChildren = n.getKonChildren();
+        List<Node> konChildren = TreeFeatures.konChildren(n);
         List<Node> allChildren = n.toList();
         if (removeKon) allChildren.removeAll(konChildren);
 
@@ -186,7 +185,7 @@ public abstract class Argument2 {
      * @return true, if the argument has just a relative clause and one other optional argument as child
      */
     protected boolean hasRelativeClause() {
-        return !(this.rootNode.getChildren().size() > 2 || this.rootNode.getChildrenOfType("rel").isEmpty());
+        return !(this.rootNode.getChildren().size() > 2 || !this.rootNode.hasChildrenOfType("rel"));
     }
 
 
@@ -19,6 +19,7 @@ public class ContainsNounFilter extends FilterMapper<TreeExtraction> {
     }
 
     public ContainsNounFilter(boolean pronounsAsSubject) {
+        super(true);
         this.pronounsAsSubject = pronounsAsSubject;
     }
 
@@ -33,4 +34,5 @@ public class ContainsNounFilter extends FilterMapper<TreeExtraction> {
 
         return !nounNodes.isEmpty() ;
     }
+
 }
@@ -1,9 +1,7 @@
 package de.hpi.extractor.dependency_parse_tree.mapper;
 
-import com.google.common.collect.Iterables;
-import de.hpi.extractor.FilterMapper;
+import de.hpi.extractor.FilterRule;
 import de.hpi.extractor.MapperList;
-import de.hpi.nlp.dependency_parse_tree.Node;
 import de.hpi.nlp.extraction.dependency_parse_tree.TreeExtraction;
 
 import java.util.ArrayList;
@@ -66,15 +64,6 @@ public class DepConIEArgument1Mappers extends MapperList<TreeExtraction> {
     }
 
     private void addArgumentNotEqualsFilter(final String posTag) {
-        addMapper(new FilterMapper<TreeExtraction>() {
-            public boolean doFilter(TreeExtraction extraction) {
-                if (Iterables.size(extraction.getNodeIds()) == 1) {
-                    List<Node> nodes = extraction.getRootNode().find(extraction.getNodeIds());
-                    Node n = nodes.get(0);
-                    return ! n.getPos().equals(posTag);
-                }
-                return true;
-            }
-        });
+        addMapper(FilterRule.singlePosTagNotIn(TreeTokenAccessor.INSTANCE, posTag));
     }
 }
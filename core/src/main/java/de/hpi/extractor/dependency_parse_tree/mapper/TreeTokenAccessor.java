@@ -0,0 +1,62 @@
+package de.hpi.extractor.dependency_parse_tree.mapper;
+
+import com.google.common.collect.Iterables;
+import de.hpi.extractor.TokenAccessor;
+import de.hpi.nlp.dependency_parse_tree.Node;
+import de.hpi.nlp.extraction.dependency_parse_tree.TreeExtraction;
+
+/**
+ * A {@link TokenAccessor} for tree extractions. The first token is the first node of the
+ * extraction in the order of the tree.
+ */
+public class TreeTokenAccessor implements TokenAccessor<TreeExtraction> {
+
+    public static final TreeTokenAccessor INSTANCE = new TreeTokenAccessor();
+
+    private TreeTokenAccessor() {
+    }
+
+    public int getLength(TreeExtraction extraction) {
+        return Iterables.size(extraction.getNodeIds());
+    }
+
+    public String getFirstToken(TreeExtraction extraction) {
+        return getFirstNode(extraction).getWord();
+    }
+
+    public String getFirstPosTag(TreeExtraction extraction) {
+        return getFirstNode(extraction).getPos();
+    }
+
+    private Node getFirstNode(TreeExtraction extraction) {
+        Iterable<Integer> ids = extraction.getNodeIds();
+        int minId = Integer.MAX_VALUE;
+        for (int id : ids) {
+            minId = Math.min(minId, id);
+        }
+        Node first = findNode(extraction.getRootNode(), minId);
+        if (first != null) {
+            return first;
+        }
+        for (Node node : extraction.getRootNode().toList()) {
+            if (Iterables.contains(ids, node.getId())) {
+                return node;
+            }
+        }
+        throw new IllegalArgumentException("Extraction nodes are not in the tree: " + extraction);
+    }
+
+    private static Node findNode(Node node, int id) {
+        if (node.getId() == id) {
+            return node;
+        }
+        for (Node child : node.getChildren()) {
+            Node found = findNode(child, id);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+}
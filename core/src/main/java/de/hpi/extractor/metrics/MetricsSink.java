@@ -0,0 +1,21 @@
+package de.hpi.extractor.metrics;
+
+/**
+ * Receives the measurements of instrumented pipeline stages (see {@link PipelineMetrics}).
+ * Implementations must be thread-safe, since extractors may be used by several threads.
+ */
+public interface MetricsSink {
+
+    /**
+     * Records one measurement of a stage.
+     *
+     * @param name           the name of the stage (e.g. the name of a mapper)
+     * @param itemsIn        the number of items the stage consumed
+     * @param itemsOut       the number of items the stage produced
+     * @param nanos          the time spent in the stage itself, excluding the stages before it
+     * @param allocatedBytes the bytes allocated by the stage itself, or -1 if the JVM does not
+     *                       expose allocation counts
+     */
+    void record(String name, long itemsIn, long itemsOut, long nanos, long allocatedBytes);
+
+}
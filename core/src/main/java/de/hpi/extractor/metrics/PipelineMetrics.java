@@ -0,0 +1,336 @@
+package de.hpi.extractor.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collection;
+import java.util.Iterator;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * <p> Optional instrumentation of extractor pipelines. If a {@link MetricsSink} is set, every
+ * {@link de.hpi.extractor.Mapper} and {@link de.hpi.extractor.Extractor} reports the number of
+ * items it consumed and produced and the time (and, if enabled and supported by the JVM, the bytes
+ * allocated) spent in the stage itself, under its name. Without a sink, the instrumentation costs a
+ * single field read per stage. </p> <p> Most mappers are lazy, so their work is done while the
+ * next stage iterates over their output. A measurement therefore covers the call to the mapper and
+ * the iteration over its output, minus the time spent in the stages before it. It is reported
+ * when the output is exhausted (or immediately, if the output is a collection); stages whose
+ * output is not iterated to the end are not reported. A {@link de.hpi.extractor.MapperList}
+ * reports the time of all its mappers. </p>
+ */
+public class PipelineMetrics {
+
+    /**
+     * The name under which {@link #enableJmx()} registers the MBean.
+     */
+    public static final String OBJECT_NAME = "de.hpi.extractor:type=PipelineMetrics";
+
+    private static volatile MetricsSink sink = null;
+    private static volatile boolean trackAllocations = false;
+    private static StatsSink jmxSink = null;
+
+    private PipelineMetrics() {
+    }
+
+    /**
+     * @return the current sink, or null if the instrumentation is disabled
+     */
+    public static MetricsSink getSink() {
+        return sink;
+    }
+
+    /**
+     * @param metricsSink the sink to report to, or null to disable the instrumentation
+     */
+    public static void setSink(MetricsSink metricsSink) {
+        sink = metricsSink;
+    }
+
+    /**
+     * @return <code>true</code> if a sink is set
+     */
+    public static boolean isEnabled() {
+        return sink != null;
+    }
+
+    /**
+     * @return <code>true</code> if allocated bytes are measured
+     */
+    public static boolean isTrackAllocations() {
+        return trackAllocations;
+    }
+
+    /**
+     * Enables or disables the measurement of allocated bytes. It is only enabled if the JVM
+     * supports per-thread allocation counts.
+     *
+     * @param track <code>true</code> to measure allocated bytes
+     */
+    public static void setTrackAllocations(boolean track) {
+        trackAllocations = track && Allocations.isSupported();
+    }
+
+    /**
+     * Sets a {@link StatsSink} as sink and registers it as MBean under {@link #OBJECT_NAME}.
+     * Calling this method again returns the same sink.
+     *
+     * @return the registered sink
+     */
+    public static synchronized StatsSink enableJmx() {
+        if (jmxSink == null) {
+            StatsSink stats = new StatsSink();
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                server.registerMBean(stats, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                System.err.println("Could not register pipeline metrics MBean: " + e.getMessage());
+            }
+            jmxSink = stats;
+        }
+        sink = jmxSink;
+        return jmxSink;
+    }
+
+    /**
+     * Applies a stage to its input and measures it, if a sink is set.
+     *
+     * @param name  the name of the stage
+     * @param input the input of the stage
+     * @param stage the stage
+     * @param <T>   the item type
+     * @return the output of the stage
+     */
+    public static <T> Iterable<T> measure(String name, Iterable<T> input, Stage<T> stage) {
+        MetricsSink metricsSink = sink;
+        if (metricsSink == null) {
+            return stage.apply(input);
+        }
+        Probe<T> probe = new Probe<T>(name, metricsSink);
+        probe.start();
+        Iterable<T> output;
+        try {
+            output = stage.apply(probe.input(input));
+        } finally {
+            probe.stop();
+        }
+        return probe.output(output);
+    }
+
+    /**
+     * Measures a stage that creates items from a single source object.
+     *
+     * @param name  the name of the stage
+     * @param stage the stage, which is called with an empty input
+     * @param <T>   the item type
+     * @return the output of the stage
+     */
+    public static <T> Iterable<T> measureSource(String name, Stage<T> stage) {
+        MetricsSink metricsSink = sink;
+        if (metricsSink == null) {
+            return stage.apply(null);
+        }
+        Probe<T> probe = new Probe<T>(name, metricsSink);
+        probe.itemsIn = 1;
+        probe.start();
+        Iterable<T> output;
+        try {
+            output = stage.apply(null);
+        } finally {
+            probe.stop();
+        }
+        return probe.output(output);
+    }
+
+    /**
+     * Records an event (e.g. a sentence that exceeded its work budget) as a measurement without
+     * time, if a sink is set.
+     *
+     * @param name  the name of the event
+     * @param items the number of items produced despite the event
+     */
+    public static void recordEvent(String name, long items) {
+        MetricsSink metricsSink = sink;
+        if (metricsSink != null) {
+            metricsSink.record(name, 1, items, 0, -1);
+        }
+    }
+
+    /**
+     * A measured pipeline stage.
+     *
+     * @param <T> the item type
+     */
+    public interface Stage<T> {
+        Iterable<T> apply(Iterable<T> input);
+    }
+
+    private static class Allocations {
+
+        private static final com.sun.management.ThreadMXBean BEAN = getBean();
+
+        private static com.sun.management.ThreadMXBean getBean() {
+            try {
+                ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (bean instanceof com.sun.management.ThreadMXBean) {
+                    com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                    if (sunBean.isThreadAllocatedMemorySupported()
+                        && sunBean.isThreadAllocatedMemoryEnabled()) {
+                        return sunBean;
+                    }
+                }
+            } catch (LinkageError e) {
+                // not a HotSpot compatible JVM
+            }
+            return null;
+        }
+
+        static boolean isSupported() {
+            return BEAN != null;
+        }
+
+        static long current() {
+            return BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+
+    /**
+     * Collects the measurements of one application of a stage. The time of the stage itself is
+     * accumulated by starting the clock when control enters the stage (the call of the stage or a
+     * call to its output iterator) and stopping it when control leaves the stage (the return or a
+     * call to its input iterator).
+     */
+    private static class Probe<T> {
+
+        private final String name;
+        private final MetricsSink sink;
+        private final boolean allocations;
+
+        private long itemsIn;
+        private long itemsOut;
+        private long nanos;
+        private long bytes;
+
+        private long reportedIn;
+        private long reportedOut;
+        private long reportedNanos;
+        private long reportedBytes;
+
+        Probe(String name, MetricsSink sink) {
+            this.name = name;
+            this.sink = sink;
+            this.allocations = trackAllocations;
+        }
+
+        void start() {
+            nanos -= System.nanoTime();
+            if (allocations) {
+                bytes -= Allocations.current();
+            }
+        }
+
+        void stop() {
+            nanos += System.nanoTime();
+            if (allocations) {
+                bytes += Allocations.current();
+            }
+        }
+
+        void report() {
+            sink.record(name, itemsIn - reportedIn, itemsOut - reportedOut, nanos - reportedNanos,
+                        allocations ? bytes - reportedBytes : -1);
+            reportedIn = itemsIn;
+            reportedOut = itemsOut;
+            reportedNanos = nanos;
+            reportedBytes = bytes;
+        }
+
+        Iterable<T> input(final Iterable<T> input) {
+            return new Iterable<T>() {
+                public Iterator<T> iterator() {
+                    final Iterator<T> it = input.iterator();
+                    return new Iterator<T>() {
+                        public boolean hasNext() {
+                            stop();
+                            try {
+                                return it.hasNext();
+                            } finally {
+                                start();
+                            }
+                        }
+
+                        public T next() {
+                            stop();
+                            try {
+                                T next = it.next();
+                                itemsIn++;
+                                return next;
+                            } finally {
+                                start();
+                            }
+                        }
+
+                        public void remove() {
+                            it.remove();
+                        }
+                    };
+                }
+            };
+        }
+
+        Iterable<T> output(final Iterable<T> output) {
+            if (output instanceof Collection) {
+                itemsOut += ((Collection<T>) output).size();
+                report();
+                return output;
+            }
+            return new Iterable<T>() {
+                public Iterator<T> iterator() {
+                    start();
+                    final Iterator<T> it;
+                    try {
+                        it = output.iterator();
+                    } finally {
+                        stop();
+                    }
+                    return new Iterator<T>() {
+                        private boolean done = false;
+
+                        public boolean hasNext() {
+                            start();
+                            boolean hasNext;
+                            try {
+                                hasNext = it.hasNext();
+                            } finally {
+                                stop();
+                            }
+                            if (!hasNext && !done) {
+                                done = true;
+                                report();
+                            }
+                            return hasNext;
+                        }
+
+                        public T next() {
+                            start();
+                            try {
+                                T next = it.next();
+                                itemsOut++;
+                                return next;
+                            } finally {
+                                stop();
+                            }
+                        }
+
+                        public void remove() {
+                            it.remove();
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package de.hpi.extractor.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX interface of {@link StatsSink}.
+ */
+public interface PipelineMetricsMXBean {
+
+    /**
+     * @return the statistics of all stages, keyed by stage name
+     */
+    Map<String, StageStats> getStats();
+
+    /**
+     * @return <code>true</code> if allocated bytes are measured
+     */
+    boolean isTrackAllocations();
+
+    /**
+     * @param track <code>true</code> to measure allocated bytes (if supported by the JVM)
+     */
+    void setTrackAllocations(boolean track);
+
+    /**
+     * Removes all statistics.
+     */
+    void reset();
+
+}
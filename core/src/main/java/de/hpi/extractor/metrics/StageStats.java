@@ -0,0 +1,77 @@
+package de.hpi.extractor.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The cumulative measurements of a single pipeline stage.
+ */
+public class StageStats {
+
+    private final String name;
+    private final AtomicLong records = new AtomicLong();
+    private final AtomicLong itemsIn = new AtomicLong();
+    private final AtomicLong itemsOut = new AtomicLong();
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+
+    /**
+     * @param name the name of the stage
+     */
+    public StageStats(String name) {
+        this.name = name;
+    }
+
+    void add(long itemsIn, long itemsOut, long nanos, long allocatedBytes) {
+        this.records.incrementAndGet();
+        this.itemsIn.addAndGet(itemsIn);
+        this.itemsOut.addAndGet(itemsOut);
+        this.nanos.addAndGet(nanos);
+        if (allocatedBytes > 0) {
+            this.allocatedBytes.addAndGet(allocatedBytes);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of recorded measurements
+     */
+    public long getRecords() {
+        return records.get();
+    }
+
+    public long getItemsIn() {
+        return itemsIn.get();
+    }
+
+    public long getItemsOut() {
+        return itemsOut.get();
+    }
+
+    /**
+     * @return the number of items removed by the stage (negative if it added items)
+     */
+    public long getItemsDropped() {
+        return getItemsIn() - getItemsOut();
+    }
+
+    public long getNanos() {
+        return nanos.get();
+    }
+
+    /**
+     * @return the allocated bytes, or 0 if the JVM does not expose allocation counts
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: in=%d out=%d time=%.3fms alloc=%dB", name, getItemsIn(),
+                             getItemsOut(), getNanos() / 1e6, getAllocatedBytes());
+    }
+
+}
@@ -0,0 +1,66 @@
+package de.hpi.extractor.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link MetricsSink} that sums up the measurements per stage. It can be exported as an MBean
+ * with {@link PipelineMetrics#enableJmx()}.
+ */
+public class StatsSink implements MetricsSink, PipelineMetricsMXBean {
+
+    private final ConcurrentHashMap<String, StageStats> stats =
+        new ConcurrentHashMap<String, StageStats>();
+
+    @Override
+    public void record(String name, long itemsIn, long itemsOut, long nanos, long allocatedBytes) {
+        StageStats stageStats = stats.get(name);
+        if (stageStats == null) {
+            stageStats = new StageStats(name);
+            StageStats previous = stats.putIfAbsent(name, stageStats);
+            if (previous != null) {
+                stageStats = previous;
+            }
+        }
+        stageStats.add(itemsIn, itemsOut, nanos, allocatedBytes);
+    }
+
+    /**
+     * @param name the stage name
+     * @return the statistics of the stage, or null if nothing was recorded for it
+     */
+    public StageStats getStats(String name) {
+        return stats.get(name);
+    }
+
+    @Override
+    public Map<String, StageStats> getStats() {
+        return new TreeMap<String, StageStats>(stats);
+    }
+
+    @Override
+    public boolean isTrackAllocations() {
+        return PipelineMetrics.isTrackAllocations();
+    }
+
+    @Override
+    public void setTrackAllocations(boolean track) {
+        PipelineMetrics.setTrackAllocations(track);
+    }
+
+    @Override
+    public void reset() {
+        stats.clear();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (StageStats stageStats : getStats().values()) {
+            builder.append(stageStats).append('\n');
+        }
+        return builder.toString();
+    }
+
+}
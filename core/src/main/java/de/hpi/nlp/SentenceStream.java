@@ -0,0 +1,194 @@
+package de.hpi.nlp;
+
+import com.google.common.collect.AbstractIterator;
+import opennlp.tools.sentdetect.SentenceDetector;
+import opennlp.tools.util.Span;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+
+/**
+ * Splits running text from a {@link Reader} into sentences with an OpenNLP {@link
+ * SentenceDetector}, without reading the whole text into memory. The text is read in chunks; the
+ * last sentence detected in the buffer may be incomplete, so it is kept and detected again together
+ * with the next chunk. A sentence that grows longer than the maximum sentence length is cut at a
+ * whitespace, so that the buffer stays bounded.
+ *
+ * The iterator throws an {@link UncheckedIOException} if the reader fails.
+ */
+public class SentenceStream extends AbstractIterator<SentenceStream.Sentence>
+    implements Closeable {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+    public static final int DEFAULT_MAX_SENTENCE_LENGTH = 65536;
+
+    private final Reader reader;
+    private final SentenceDetector detector;
+    private final int chunkSize;
+    private final int maxSentenceLength;
+
+    private final StringBuilder buffer = new StringBuilder();
+    private final char[] chunk;
+    private final ArrayDeque<Sentence> pending = new ArrayDeque<Sentence>();
+    private long bufferOffset = 0;
+    private int sentenceIndex = 0;
+    private boolean eof = false;
+
+    /**
+     * A sentence of a document with its position.
+     */
+    public static class Sentence {
+
+        private final String text;
+        private final int index;
+        private final long start;
+        private final long end;
+
+        public Sentence(String text, int index, long start, long end) {
+            this.text = text;
+            this.index = index;
+            this.start = start;
+            this.end = end;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * @return the index of the sentence in the document, starting at 0
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return the character offset of the first character of the sentence in the document
+         */
+        public long getStart() {
+            return start;
+        }
+
+        /**
+         * @return the character offset after the last character of the sentence in the document
+         */
+        public long getEnd() {
+            return end;
+        }
+
+        @Override
+        public String toString() {
+            return index + " [" + start + ", " + end + "): " + text;
+        }
+    }
+
+    /**
+     * @param reader   the text
+     * @param detector the sentence detector
+     */
+    public SentenceStream(Reader reader, SentenceDetector detector) {
+        this(reader, detector, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_SENTENCE_LENGTH);
+    }
+
+    /**
+     * @param reader            the text
+     * @param detector          the sentence detector
+     * @param chunkSize         the number of characters read at once
+     * @param maxSentenceLength the maximum length of a sentence
+     */
+    public SentenceStream(Reader reader, SentenceDetector detector, int chunkSize,
+                          int maxSentenceLength) {
+        if (chunkSize <= 0 || maxSentenceLength <= 0) {
+            throw new IllegalArgumentException("Chunk size and maximum sentence length must be "
+                                               + "positive");
+        }
+        this.reader = reader;
+        this.detector = detector;
+        this.chunkSize = chunkSize;
+        this.maxSentenceLength = maxSentenceLength;
+        this.chunk = new char[chunkSize];
+    }
+
+    @Override
+    protected Sentence computeNext() {
+        while (pending.isEmpty()) {
+            if (eof && buffer.length() == 0) {
+                return endOfData();
+            }
+            try {
+                fill();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return pending.poll();
+    }
+
+    private void fill() throws IOException {
+        int read = reader.read(chunk, 0, chunkSize);
+        if (read < 0) {
+            eof = true;
+        } else {
+            buffer.append(chunk, 0, read);
+        }
+
+        String text = buffer.toString();
+        Span[] spans = detector.sentPosDetect(text);
+        int consumed;
+        if (eof) {
+            addSentences(text, spans, spans.length);
+            consumed = text.length();
+        } else if (spans.length > 1) {
+            // the last sentence may continue in the next chunk
+            addSentences(text, spans, spans.length - 1);
+            consumed = spans[spans.length - 1].getStart();
+        } else if (spans.length == 0) {
+            // only whitespace
+            consumed = text.length();
+        } else if (text.length() - spans[0].getStart() > maxSentenceLength) {
+            consumed = cut(text, spans[0].getStart());
+        } else {
+            consumed = 0;
+        }
+        buffer.delete(0, consumed);
+        bufferOffset += consumed;
+    }
+
+    private void addSentences(String text, Span[] spans, int count) {
+        for (int i = 0; i < count; i++) {
+            addSentence(text, spans[i].getStart(), spans[i].getEnd());
+        }
+    }
+
+    private void addSentence(String text, int start, int end) {
+        pending.add(new Sentence(text.substring(start, end), sentenceIndex++, bufferOffset + start,
+                                 bufferOffset + end));
+    }
+
+    // emits the first maxSentenceLength characters (up to the last whitespace) as a sentence
+    private int cut(String text, int start) {
+        int end = start + maxSentenceLength;
+        for (int i = end; i > start + maxSentenceLength / 2; i--) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                end = i;
+                break;
+            }
+        }
+        addSentence(text, start, end);
+        return end;
+    }
+
+    /**
+     * Closes the reader.
+     *
+     * @throws IOException if the reader could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
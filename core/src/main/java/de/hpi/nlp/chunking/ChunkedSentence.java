@@ -9,6 +9,7 @@ import java.util.List;
 import edu.washington.cs.knowitall.commonlib.Range;
 import de.hpi.sequence.BIOLayeredSequence;
 import de.hpi.sequence.SequenceException;
+import de.hpi.sequence.SpanIndex;
 
 /**
  * An immutable class that represents a tokenized, POS-tagged, and noun-phrase chunked sentence.
@@ -126,6 +127,20 @@ public class ChunkedSentence extends BIOLayeredSequence {
         }
     }
 
+    /**
+     * Constructs a view on the subsequence of <code>sent</code> starting at <code>start</code>
+     * with the given length. The tokens, POS tags and chunk tags are not copied, but resolved
+     * lazily from <code>sent</code>.
+     *
+     * @param sent   the viewed sentence
+     * @param start  the start index
+     * @param length the length of the subsequence
+     */
+    protected ChunkedSentence(ChunkedSentence sent, int start, int length) {
+        super(sent, start, length);
+        this.offsets = sent.offsets == null ? null : sent.offsets.subList(start, start + length);
+    }
+
     public ImmutableList<Range> getOffsets() {
         return this.offsets;
     }
@@ -136,7 +151,7 @@ public class ChunkedSentence extends BIOLayeredSequence {
 
     /**
      * @param range the range of the subsequence
-     * @return  a new ChunkedSentence object that starts at the given range.
+     * @return a view on this sentence that covers the given range.
      */
     public ChunkedSentence getSubSequence(Range range) {
         return getSubSequence(range.getStart(), range.getLength());
@@ -145,33 +160,11 @@ public class ChunkedSentence extends BIOLayeredSequence {
     /**
      * @param length the length of the subsequence
      * @param start  the start index
-     * @return  a new ChunkedSentence object that starts at the given start index and has the given
+     * @return a view on this sentence that starts at the given start index and has the given
      * length.
      */
     public ChunkedSentence getSubSequence(int start, int length) {
-        try {
-            ChunkedSentence result = new ChunkedSentence(getSubSequence(
-                TOKEN_LAYER, start, length), getSubSequence(POS_LAYER,
-                                                            start, length),
-                                                         getSubSequence(NP_LAYER, start, length));
-            for (String layerName : getLayerNames()) {
-                if (!result.hasLayer(layerName) && isSpanLayer(layerName)) {
-                    result.addSpanLayer(layerName,
-                                        getSubSequence(layerName, start, length));
-                } else if (!result.hasLayer(layerName)) {
-                    result.addLayer(layerName,
-                                    getSubSequence(layerName, start, length));
-                }
-            }
-            return result;
-        } catch (SequenceException e) {
-            // This is an illegal state - we should be able to construct sub-
-            // sequences of this object.
-            String msg = String.format(
-                "Could not create subsequence of length %s starting at %s",
-                length, start);
-            throw new IllegalStateException(msg, e);
-        }
+        return new ChunkedSentence(this, start, length);
     }
 
     /**
@@ -294,6 +287,13 @@ public class ChunkedSentence extends BIOLayeredSequence {
          return getSpans(NP_LAYER, "NP");
     }
 
+    /**
+     * @return the index of the NP chunks in this sentence.
+     */
+    public SpanIndex getNpChunkIndex() {
+        return getSpanIndex(NP_LAYER, "NP");
+    }
+
     /**
      * @return an unmodifiable list over the ranges of the PP chunks in this sentence.
      */
@@ -0,0 +1,300 @@
+package de.hpi.nlp.dependency_parse_tree;
+
+import com.google.common.collect.AbstractIterator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads large corpora of dependency parse trees in the CoNLL format, as produced by ParZu for a
+ * text with one sentence per line. The sentences are separated by empty lines and are read lazily,
+ * one sentence block at a time, so the corpus never has to fit into memory.
+ *
+ * Plain files are memory-mapped. Their streams can be split at sentence boundaries, so parallel
+ * streams divide the corpus among threads without reading it first. Gzipped files (ending with
+ * <code>.gz</code>) are decompressed sequentially.
+ */
+public final class ConllCorpusReader {
+
+    /**
+     * The maximum size of a memory-mapped segment of a file.
+     */
+    static final int SEGMENT_SIZE = 1 << 30;
+
+    // ranges smaller than this are not split any further
+    private static final int MIN_SPLIT_SIZE = 1 << 16;
+
+    private ConllCorpusReader() {
+    }
+
+    /**
+     * Reads the dependency parse trees of the given corpus.
+     * @param path     the CoNLL file, gzipped if it ends with <code>.gz</code>
+     * @param parallel return a parallel stream?
+     * @return the trees in the order of the file, the stream should be closed after use
+     * @throws IOException if the file could not be opened
+     */
+    public static Stream<DependencyParseTree> trees(Path path, boolean parallel) throws IOException {
+        return trees(path, parallel, TreeReader.PARZU);
+    }
+
+    /**
+     * Reads the dependency parse trees of the given corpus in the format of another parser.
+     * @param path     the file, gzipped if it ends with <code>.gz</code>
+     * @param parallel return a parallel stream?
+     * @param reader   the reader converting a sentence block (e.g. {@link ConllUReader})
+     * @return the trees in the order of the file, the stream should be closed after use
+     * @throws IOException if the file could not be opened
+     */
+    public static Stream<DependencyParseTree> trees(Path path, boolean parallel, TreeReader reader)
+        throws IOException {
+        return blocks(path, parallel).flatMap(block -> reader.read(block).stream());
+    }
+
+    /**
+     * Reads the dependency parse trees from the given CoNLL content.
+     * @param reader the reader of the content
+     * @return the trees in the order of the content, the stream should be closed after use
+     */
+    public static Stream<DependencyParseTree> trees(Reader reader) {
+        return blocks(reader).flatMap(block -> ConllReader.read(block).stream());
+    }
+
+    /**
+     * Reads the sentence blocks of the given corpus. Each block contains the CoNLL lines of a
+     * sentence, which can be passed to {@link ConllReader#read(CharSequence)}.
+     * @param path     the CoNLL file, gzipped if it ends with <code>.gz</code>
+     * @param parallel return a parallel stream?
+     * @return the blocks in the order of the file, the stream should be closed after use
+     * @throws IOException if the file could not be opened
+     */
+    public static Stream<String> blocks(Path path, boolean parallel) throws IOException {
+        if (path.getFileName().toString().endsWith(".gz")) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(path), 1 << 16), StandardCharsets.UTF_8));
+            Stream<String> blocks = blocks(reader);
+            return parallel ? blocks.parallel() : blocks;
+        }
+        return StreamSupport.stream(new BlockSpliterator(map(path, SEGMENT_SIZE)), parallel);
+    }
+
+    /**
+     * Reads the sentence blocks from the given CoNLL content.
+     * @param reader the reader of the content
+     * @return the blocks in the order of the content, the stream should be closed after use
+     */
+    public static Stream<String> blocks(Reader reader) {
+        BufferedReader lines = reader instanceof BufferedReader
+                               ? (BufferedReader) reader : new BufferedReader(reader);
+        Iterator<String> blocks = new AbstractIterator<String>() {
+            @Override
+            protected String computeNext() {
+                StringBuilder block = new StringBuilder();
+                try {
+                    String line;
+                    while ((line = lines.readLine()) != null) {
+                        if (!line.isEmpty()) {
+                            block.append(line).append('\n');
+                        } else if (block.length() > 0) {
+                            return block.toString();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return block.length() > 0 ? block.toString() : endOfData();
+            }
+        };
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(blocks, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+            .onClose(() -> {
+                try {
+                    lines.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+    /**
+     * Maps the file into segments of at most the given size, which end at a sentence boundary.
+     * @param path        the file
+     * @param segmentSize the maximum size of a segment
+     * @return the segments
+     * @throws IOException if the file could not be mapped, or a sentence is larger than a segment
+     */
+    static ByteBuffer[] map(Path path, int segmentSize) throws IOException {
+        List<ByteBuffer> segments = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long offset = 0;
+            while (offset < size) {
+                int length = (int) Math.min(segmentSize, size - offset);
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                if (offset + length < size) {
+                    length = lastBoundary(segment, length);
+                    if (length == 0) {
+                        throw new IOException("Sentence at offset " + offset + " of " + path
+                                              + " is larger than " + segmentSize + " bytes");
+                    }
+                    segment.limit(length);
+                }
+                segments.add(segment.slice());
+                offset += length;
+            }
+        }
+        return segments.toArray(new ByteBuffer[segments.size()]);
+    }
+
+    /**
+     * @return the position after the last empty line before the given end, or 0
+     */
+    private static int lastBoundary(ByteBuffer buffer, int end) {
+        for (int i = end - 1; i > 0; i--) {
+            if (buffer.get(i) == '\n' && (buffer.get(i - 1) == '\n'
+                || (i > 1 && buffer.get(i - 1) == '\r' && buffer.get(i - 2) == '\n'))) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the start of the first empty line in the given range, or the end of the range
+     */
+    private static int nextEmptyLine(ByteBuffer buffer, int from, int to) {
+        boolean lineStart = from == 0 || buffer.get(from - 1) == '\n';
+        for (int i = from; i < to; i++) {
+            byte b = buffer.get(i);
+            if (lineStart && (b == '\n' || (b == '\r' && i + 1 < to && buffer.get(i + 1) == '\n'))) {
+                return i;
+            }
+            lineStart = b == '\n';
+        }
+        return to;
+    }
+
+    /**
+     * @return the position after the line starting at the given position
+     */
+    private static int nextLine(ByteBuffer buffer, int from, int to) {
+        int i = from;
+        while (i < to && buffer.get(i) != '\n') {
+            i++;
+        }
+        return Math.min(i + 1, to);
+    }
+
+    /**
+     * Iterates the sentence blocks of a range of memory-mapped segments. The range is split
+     * between segments, or at an empty line in the middle of a single segment.
+     */
+    static class BlockSpliterator implements Spliterator<String> {
+
+        private final ByteBuffer[] segments;
+        private int segment;
+        private final int lastSegment;
+        private int position;
+        private int end;
+
+        BlockSpliterator(ByteBuffer[] segments) {
+            this(segments, 0, segments.length, 0,
+                 segments.length > 0 ? segments[0].limit() : 0);
+        }
+
+        private BlockSpliterator(ByteBuffer[] segments, int segment, int lastSegment, int position,
+                                 int end) {
+            this.segments = segments;
+            this.segment = segment;
+            this.lastSegment = lastSegment;
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            while (segment < lastSegment) {
+                ByteBuffer buffer = segments[segment];
+                if (position >= end) {
+                    segment++;
+                    position = 0;
+                    end = segment < lastSegment ? segments[segment].limit() : 0;
+                    continue;
+                }
+                int blockEnd = nextEmptyLine(buffer, position, end);
+                int start = position;
+                position = blockEnd < end ? nextLine(buffer, blockEnd, end) : end;
+                if (blockEnd > start) {
+                    ByteBuffer block = buffer.duplicate();
+                    block.limit(blockEnd).position(start);
+                    action.accept(StandardCharsets.UTF_8.decode(block).toString());
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<String> trySplit() {
+            if (lastSegment - segment > 1) {
+                // the prefix keeps the current segment
+                int middle = segment + (lastSegment - segment) / 2;
+                BlockSpliterator prefix =
+                    new BlockSpliterator(segments, segment, middle, position, end);
+                segment = middle;
+                position = 0;
+                end = segments[middle].limit();
+                return prefix;
+            }
+            if (segment >= lastSegment || end - position < MIN_SPLIT_SIZE) {
+                return null;
+            }
+            ByteBuffer buffer = segments[segment];
+            int boundary = nextEmptyLine(buffer, position + (end - position) / 2, end);
+            if (boundary >= end) {
+                return null;
+            }
+            boundary = nextLine(buffer, boundary, end);
+            BlockSpliterator prefix =
+                new BlockSpliterator(segments, segment, segment + 1, position, boundary);
+            position = boundary;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            long size = end - position;
+            for (int i = segment + 1; i < lastSegment; i++) {
+                size += segments[i].limit();
+            }
+            // about 1 KB per sentence
+            return Math.max(segment < lastSegment ? 1 : 0, size >> 10);
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+package de.hpi.nlp.dependency_parse_tree;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads dependency parse trees in the CoNLL format, as produced by ParZu. Each line describes a
+ * node by ten tab separated fields (id, word, lemma, coarse POS tag, POS tag, morphology, head id,
+ * label, and two unused fields), and an empty line starts a new tree, if the parser has split the
+ * sentence.
+ *
+ * The fields are read directly from the input, without splitting it into lines and fields, and
+ * the parents are linked by their id in a single pass, so a tree is read in linear time. The small
+ * vocabularies of POS tags, labels and morphological features are interned, so the trees of a
+ * corpus share their strings.
+ */
+public final class ConllReader {
+
+    private static final Interner<String> TAGS = Interners.newWeakInterner();
+
+    private ConllReader() {
+    }
+
+    /**
+     * Reads the trees from the given CoNLL content.
+     * @param content the content with one node per line
+     * @return a list of dependency parse trees
+     */
+    public static List<DependencyParseTree> read(CharSequence content) {
+        Builder builder = new Builder();
+        int length = content.length();
+        // trailing empty lines do not start a new tree
+        while (length > 0 && isLineBreak(content.charAt(length - 1))) {
+            length--;
+        }
+        int start = 0;
+        while (start < length) {
+            int end = start;
+            while (end < length && content.charAt(end) != '\n') {
+                end++;
+            }
+            builder.addLine(content, start, end);
+            start = end + 1;
+        }
+        return builder.finish();
+    }
+
+    /**
+     * Reads the trees from the given UTF-8 encoded CoNLL content.
+     * @param content the content with one node per line
+     * @return a list of dependency parse trees
+     */
+    public static List<DependencyParseTree> read(ByteBuffer content) {
+        return read(StandardCharsets.UTF_8.decode(content));
+    }
+
+    /**
+     * Reads the trees from the given CoNLL lines.
+     * @param lines the lines with one node per line
+     * @return a list of dependency parse trees
+     */
+    public static List<DependencyParseTree> read(List<? extends CharSequence> lines) {
+        Builder builder = new Builder();
+        for (CharSequence line : lines) {
+            builder.addLine(line, 0, line.length());
+        }
+        return builder.finish();
+    }
+
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r';
+    }
+
+    /**
+     * Collects the nodes of the current tree.
+     */
+    private static class Builder {
+
+        private final List<DependencyParseTree> trees = new ArrayList<>();
+        private List<Node> nodes = newNodes();
+        private int maxId = 0;
+
+        private static List<Node> newNodes() {
+            List<Node> nodes = new ArrayList<>();
+            nodes.add(new Node(0));
+            return nodes;
+        }
+
+        void addLine(CharSequence line, int start, int end) {
+            if (end > start && line.charAt(end - 1) == '\r') {
+                end--;
+            }
+            if (start == end) {
+                // sentence is splitted
+                trees.add(toTree());
+                nodes = newNodes();
+                maxId = 0;
+                return;
+            }
+            Node node = parseNode(line, start, end);
+            maxId = Math.max(maxId, node.getId());
+            nodes.add(node);
+        }
+
+        List<DependencyParseTree> finish() {
+            if (nodes.size() > 1) {
+                trees.add(toTree());
+            }
+            return trees;
+        }
+
+        /**
+         * Links the nodes to their parents. The parent of a node is the first node with the head
+         * id, nodes without a parent are not part of the tree.
+         * @return the tree
+         */
+        private DependencyParseTree toTree() {
+            Node[] byId = new Node[maxId + 1];
+            for (Node node : nodes) {
+                int id = node.getId();
+                if (id >= 0 && byId[id] == null) {
+                    byId[id] = node;
+                }
+            }
+
+            DependencyParseTree tree = null;
+            for (Node node : nodes) {
+                int parentId = node.getParentId();
+                // create tree, if we find root node
+                if (parentId == -1) {
+                    tree = new DependencyParseTree(node);
+                    continue;
+                }
+                if (parentId >= 0 && parentId < byId.length && byId[parentId] != null) {
+                    Node parent = byId[parentId];
+                    node.setParent(parent);
+                    parent.addChild(node);
+                }
+            }
+            return tree;
+        }
+    }
+
+    /**
+     * Parses the node of a CoNLL line.
+     * @param line  the sequence containing the line
+     * @param start the start of the line
+     * @param end   the end of the line (exclusive)
+     * @return the node
+     * @throws IllegalArgumentException if the line has less than eight fields, or the id or head
+     *                                  id is not a number
+     */
+    static Node parseNode(CharSequence line, int start, int end) {
+        int[] tabs = new int[8];
+        int fields = 0;
+        for (int i = start; i < end && fields < tabs.length; i++) {
+            if (line.charAt(i) == '\t') {
+                tabs[fields++] = i;
+            }
+        }
+        if (fields < 7) {
+            throw new IllegalArgumentException("Invalid CoNLL line: " + line.subSequence(start, end));
+        }
+        int labelEnd = fields > 7 ? tabs[7] : end;
+
+        Node node = new Node(parseInt(line, start, tabs[0]));
+        node.setWord(line.subSequence(tabs[0] + 1, tabs[1]).toString());
+        node.setLemma(line.subSequence(tabs[1] + 1, tabs[2]).toString());
+        node.setPosGroup(tag(line, tabs[2] + 1, tabs[3]));
+        node.setPos(tag(line, tabs[3] + 1, tabs[4]));
+        node.setMorphology(tag(line, tabs[4] + 1, tabs[5]));
+        node.setParentId(parseInt(line, tabs[5] + 1, tabs[6]));
+        node.setLabelToParent(tag(line, tabs[6] + 1, labelEnd));
+        return node;
+    }
+
+    private static String tag(CharSequence line, int start, int end) {
+        return TAGS.intern(line.subSequence(start, end).toString());
+    }
+
+    private static int parseInt(CharSequence line, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (line.charAt(i) == '-' || line.charAt(i) == '+')) {
+            negative = line.charAt(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            throw new NumberFormatException("For input string: \"" + line.subSequence(start, end) + "\"");
+        }
+        int value = 0;
+        for (; i < end; i++) {
+            int digit = line.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("For input string: \"" + line.subSequence(start, end) + "\"");
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+}
@@ -0,0 +1,258 @@
+package de.hpi.nlp.dependency_parse_tree;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads dependency parse trees in the CoNLL-U format of Universal Dependencies, as produced by
+ * other German parsers, and converts them to the scheme of ParZu. The labels and coarse tags are
+ * mapped by a {@link LabelMapping}, and the fine tags are expected to be STTS tags.
+ *
+ * Some constructions are structured differently in Universal Dependencies, so the trees are
+ * restructured like ParZu's before the labels are mapped:
+ * <ul>
+ *     <li>a copula becomes the head of its predicate ('pred') and of the clause,</li>
+ *     <li>conjuncts are chained, each attached to the previous one ('kon'), or to the conjunction
+ *     between them ('cj'),</li>
+ *     <li>a preposition becomes the head of its noun ('pn'), and a comparative conjunction the head
+ *     of its comparison ('kom', 'cj'),</li>
+ *     <li>punctuation is attached to the root.</li>
+ * </ul>
+ * Auxiliary verbs stay attached to the full verb, which is equivalent for the extraction of the
+ * relation phrase.
+ *
+ * Comments, multiword tokens and empty nodes are skipped.
+ */
+public class ConllUReader implements TreeReader {
+
+    // the dependents of a predicate, which belong to the copula clause
+    private static final Set<String> CLAUSE_LABELS = ImmutableSet.of(
+        "nsubj", "csubj", "aux", "mark", "advmod", "obl", "advcl", "parataxis", "expl", "discourse",
+        "vocative", "cc", "punct");
+
+    private final LabelMapping mapping;
+
+    /**
+     * Creates a reader mapping the labels of Universal Dependencies.
+     */
+    public ConllUReader() {
+        this(LabelMapping.universalDependencies());
+    }
+
+    /**
+     * @param mapping the mapping of the labels and coarse tags
+     */
+    public ConllUReader(LabelMapping mapping) {
+        this.mapping = mapping;
+    }
+
+    public LabelMapping getMapping() {
+        return mapping;
+    }
+
+    @Override
+    public List<DependencyParseTree> read(CharSequence content) {
+        List<DependencyParseTree> trees = new ArrayList<>();
+        List<Node> nodes = new ArrayList<>();
+        int length = content.length();
+        int start = 0;
+        while (start <= length) {
+            int end = start;
+            while (end < length && content.charAt(end) != '\n') {
+                end++;
+            }
+            int lineEnd = end > start && content.charAt(end - 1) == '\r' ? end - 1 : end;
+            if (lineEnd == start) {
+                if (!nodes.isEmpty()) {
+                    trees.add(toTree(nodes));
+                    nodes = new ArrayList<>();
+                }
+            } else if (content.charAt(start) != '#' && isWordLine(content, start, lineEnd)) {
+                nodes.add(ConllReader.parseNode(content, start, lineEnd));
+            }
+            start = end + 1;
+        }
+        if (!nodes.isEmpty()) {
+            trees.add(toTree(nodes));
+        }
+        return trees;
+    }
+
+    /**
+     * @return true, if the id of the line is a single number (and not a range or decimal)
+     */
+    private static boolean isWordLine(CharSequence line, int start, int end) {
+        for (int i = start; i < end && line.charAt(i) != '\t'; i++) {
+            if (line.charAt(i) == '-' || line.charAt(i) == '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts the nodes of a sentence to a tree in the scheme of ParZu.
+     * @param nodes the nodes with the tags and labels of the parser
+     * @return the tree
+     */
+    private DependencyParseTree toTree(List<Node> nodes) {
+        int maxId = 0;
+        for (Node node : nodes) {
+            maxId = Math.max(maxId, node.getId());
+        }
+        Node[] byId = new Node[maxId + 1];
+        int[] head = new int[maxId + 1];
+        String[] rel = new String[maxId + 1];
+        byId[0] = new Node(0);
+        head[0] = -1;
+        for (Node node : nodes) {
+            int id = node.getId();
+            if (id <= 0 || byId[id] != null) {
+                continue;
+            }
+            byId[id] = node;
+            head[id] = node.getParentId();
+            rel[id] = node.getLabelToParent();
+
+            // the fine tag is an STTS tag, if the parser provides it
+            String pos = node.getPos().equals("_") || node.getPos().isEmpty()
+                         ? mapping.mapTag(node.getPosGroup(), node.getWord()) : node.getPos();
+            node.setPos(pos);
+            node.setPosGroup(LabelMapping.posGroup(pos));
+        }
+
+        restructureCopulas(byId, head, rel);
+        restructureConjunctions(byId, head, rel);
+        restructurePrepositions(byId, head, rel);
+
+        for (int id = 1; id <= maxId; id++) {
+            Node node = byId[id];
+            if (node == null) {
+                continue;
+            }
+            if (base(rel[id]).equals("punct")) {
+                head[id] = 0;
+            }
+            node.setParentId(head[id]);
+            node.setLabelToParent(node.getPos().equals("PTKZU") ? "part" : mapping.mapLabel(rel[id]));
+        }
+
+        for (int id = 1; id <= maxId; id++) {
+            if (byId[id] != null && (head[id] == 0 || isNode(byId, head[id]))) {
+                Node parent = byId[head[id]];
+                byId[id].setParent(parent);
+                parent.addChild(byId[id]);
+            }
+        }
+        return new DependencyParseTree(byId[0]);
+    }
+
+    /**
+     * Makes each copula the head of its predicate and of the dependents of the clause.
+     */
+    private static void restructureCopulas(Node[] byId, int[] head, String[] rel) {
+        for (int c = 1; c < byId.length; c++) {
+            int predicate = head[c];
+            if (byId[c] == null || !base(rel[c]).equals("cop") || !isNode(byId, predicate)) {
+                continue;
+            }
+            head[c] = head[predicate];
+            rel[c] = rel[predicate];
+            head[predicate] = c;
+            rel[predicate] = "pred";
+            for (int k = 1; k < byId.length; k++) {
+                if (byId[k] != null && k != c && head[k] == predicate
+                    && CLAUSE_LABELS.contains(base(rel[k]))) {
+                    head[k] = c;
+                }
+            }
+        }
+    }
+
+    /**
+     * Chains the conjuncts of each node: a conjunct is attached to the previous conjunct, or to
+     * its coordinating conjunction, which is attached to the previous conjunct.
+     */
+    private static void restructureConjunctions(Node[] byId, int[] head, String[] rel) {
+        int[] previous = new int[byId.length];
+        for (int i = 0; i < previous.length; i++) {
+            previous[i] = i;
+        }
+        // the conjuncts are visited in the order of the sentence
+        for (int y = 1; y < byId.length; y++) {
+            if (byId[y] == null || !base(rel[y]).equals("conj") || !isNode(byId, head[y])) {
+                continue;
+            }
+            int first = head[y];
+            int prev = previous[first];
+            int cc = -1;
+            for (int k = 1; k < byId.length && cc < 0; k++) {
+                if (byId[k] != null && head[k] == y && base(rel[k]).equals("cc")) {
+                    cc = k;
+                }
+            }
+            if (cc > 0) {
+                head[cc] = prev;
+                rel[cc] = "kon";
+                head[y] = cc;
+                rel[y] = "cj";
+            } else {
+                head[y] = prev;
+                rel[y] = "kon";
+            }
+            previous[first] = y;
+        }
+    }
+
+    /**
+     * Makes each preposition the head of its noun, and each comparative conjunction the head of
+     * its comparison. Obliques and nominal modifiers without a preposition become adverbials and
+     * genitive modifiers.
+     */
+    private static void restructurePrepositions(Node[] byId, int[] head, String[] rel) {
+        boolean[] moved = new boolean[byId.length];
+        for (int p = 1; p < byId.length; p++) {
+            int noun = head[p];
+            if (byId[p] == null || !base(rel[p]).equals("case") || !isNode(byId, noun)
+                || moved[noun]) {
+                continue;
+            }
+            String pos = byId[p].getPos();
+            if (pos.startsWith("APP")) {
+                rel[p] = rel[noun];
+                rel[noun] = "pn";
+            } else if (pos.equals("KOKOM")) {
+                rel[p] = "kom";
+                rel[noun] = "cj";
+            } else {
+                continue;
+            }
+            head[p] = head[noun];
+            head[noun] = p;
+            moved[noun] = true;
+            moved[p] = true;
+        }
+        for (int n = 1; n < byId.length; n++) {
+            if (byId[n] != null && !moved[n] && !rel[n].equals("nmod:poss")) {
+                if (base(rel[n]).equals("obl")) {
+                    rel[n] = "advmod";
+                } else if (base(rel[n]).equals("nmod")) {
+                    rel[n] = "nmod:poss";
+                }
+            }
+        }
+    }
+
+    private static boolean isNode(Node[] byId, int id) {
+        return id > 0 && id < byId.length && byId[id] != null;
+    }
+
+    private static String base(String label) {
+        int subtype = label.indexOf(':');
+        return subtype > 0 ? label.substring(0, subtype) : label;
+    }
+
+}
@@ -1,17 +1,22 @@
 package de.hpi.nlp.dependency_parse_tree;
 
+import com.google.common.base.Joiner;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * Represents a dependency parse tree.
+ * Represents a dependency parse tree. Nodes are found by their id in constant time, using an index
+ * over the nodes of the tree (see {@link Node}).
  */
 public class DependencyParseTree {
 
     private Node tree;
     private String sentence;
-    private String conllFormat;
+    // the lines of the parser output, shared by the trees of a sentence and joined on demand
+    private List<String> conllLines;
+    private volatile boolean pruned = false;
 
     public DependencyParseTree() {}
 
@@ -56,6 +61,13 @@ public class DependencyParseTree {
         return tree.find(id);
     }
 
+    /**
+     * @return the number of nodes of the tree (including the artificial root node)
+     */
+    public int size() {
+        return tree.getSubtreeSize();
+    }
+
     /**
      * Get the top level nodes of the tree.
      * There can be multiple words in the top level, if the dependency parser has split the
@@ -77,9 +89,29 @@ public class DependencyParseTree {
      * Prunes nodes from this tree, which are not relevant.
      * Such nodes are:
      * rel, vok, par, empty labels, expl, kom
+     *
+     * The pruned nodes are only hidden (see {@link Node#prune()}), and the tree is pruned only
+     * once. Afterwards, the tree is not changed by reading it, so a pruned tree can be extracted
+     * several times and by several threads.
      */
     public void prune() {
-        this.getTree().prune();
+        if (!pruned) {
+            synchronized (this) {
+                if (!pruned) {
+                    this.getTree().prune();
+                    // build the index, so that lookups do not modify the tree
+                    this.getTree().getSubtreeSize();
+                    pruned = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true, if the tree was pruned, false otherwise
+     */
+    public boolean isPruned() {
+        return pruned;
     }
 
 
@@ -89,6 +121,7 @@ public class DependencyParseTree {
 
     public void setTree(Node tree) {
         this.tree = tree;
+        this.pruned = false;
     }
 
     public String getSentence() {
@@ -99,12 +132,34 @@ public class DependencyParseTree {
         this.sentence = sentence;
     }
 
+    /**
+     * @return the output of the parser, from which the tree was read, or null if unknown
+     */
     public String getConllFormat() {
-        return conllFormat;
+        if (conllLines == null) {
+            return null;
+        }
+        return conllLines.size() == 1 ? conllLines.get(0) : Joiner.on("\n").join(conllLines);
     }
 
     public void setConllFormat(String conllFormat) {
-        this.conllFormat = conllFormat;
+        this.conllLines = conllFormat == null ? null : Collections.singletonList(conllFormat);
+    }
+
+    /**
+     * @return the lines of the output of the parser, or null if unknown
+     */
+    public List<String> getConllLines() {
+        return conllLines;
+    }
+
+    /**
+     * Sets the output of the parser as lines, which are joined only if the output is requested.
+     * The list is not copied, so the trees of a sentence can share it.
+     * @param conllLines the lines of the output of the parser
+     */
+    public void setConllLines(List<String> conllLines) {
+        this.conllLines = conllLines;
     }
 
 }
@@ -0,0 +1,156 @@
+package de.hpi.nlp.dependency_parse_tree;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps the dependency labels and tags of another parser onto the scheme of ParZu. Labels with a
+ * subtype (e.g. <code>nsubj:pass</code>) are mapped by their full name or, if it is not mapped, by
+ * their base name. Labels without a mapping are kept.
+ *
+ * The tags of the nodes should be STTS tags. If a parser only provides coarse tags, they are
+ * mapped to the most frequent STTS tag of their class.
+ */
+public class LabelMapping {
+
+    private static final Set<String> PRONOUNS = ImmutableSet.of(
+        "PPER", "PPOSS", "PPOSAT", "PDS", "PDAT", "PIS", "PIAT", "PIDAT", "PRELS", "PRELAT", "PRF",
+        "PWS", "PWAT");
+
+    private final Map<String, String> labels = new HashMap<>();
+    private final Map<String, String> tags = new HashMap<>();
+
+    /**
+     * Creates an empty mapping, which keeps all labels.
+     */
+    public LabelMapping() {
+    }
+
+    /**
+     * @return the mapping of the labels and universal POS tags of Universal Dependencies
+     */
+    public static LabelMapping universalDependencies() {
+        LabelMapping mapping = new LabelMapping();
+        mapping.putLabel("root", "root");
+        mapping.putLabel("nsubj", "subj");
+        mapping.putLabel("csubj", "subjc");
+        mapping.putLabel("obj", "obja");
+        mapping.putLabel("iobj", "objd");
+        mapping.putLabel("obl", "pp");
+        mapping.putLabel("obl:arg", "objp");
+        mapping.putLabel("nmod", "pp");
+        mapping.putLabel("nmod:poss", "gmod");
+        mapping.putLabel("ccomp", "objc");
+        mapping.putLabel("xcomp", "obji");
+        mapping.putLabel("advcl", "neb");
+        mapping.putLabel("acl", "attr");
+        mapping.putLabel("acl:relcl", "rel");
+        mapping.putLabel("amod", "attr");
+        mapping.putLabel("nummod", "attr");
+        mapping.putLabel("det", "det");
+        mapping.putLabel("advmod", "adv");
+        mapping.putLabel("aux", "aux");
+        mapping.putLabel("compound:prt", "avz");
+        mapping.putLabel("mark", "konj");
+        mapping.putLabel("cc", "kon");
+        mapping.putLabel("appos", "app");
+        mapping.putLabel("flat", "app");
+        mapping.putLabel("vocative", "vok");
+        mapping.putLabel("parataxis", "par");
+        mapping.putLabel("expl", "expl");
+        mapping.putLabel("punct", "root");
+        mapping.putLabel("dep", "");
+
+        mapping.putTag("VERB", "VVFIN");
+        mapping.putTag("AUX", "VAFIN");
+        mapping.putTag("NOUN", "NN");
+        mapping.putTag("PROPN", "NE");
+        mapping.putTag("PRON", "PPER");
+        mapping.putTag("DET", "ART");
+        mapping.putTag("ADJ", "ADJA");
+        mapping.putTag("ADV", "ADV");
+        mapping.putTag("ADP", "APPR");
+        mapping.putTag("CCONJ", "KON");
+        mapping.putTag("SCONJ", "KOUS");
+        mapping.putTag("PART", "PTKVZ");
+        mapping.putTag("NUM", "CARD");
+        mapping.putTag("INTJ", "ITJ");
+        mapping.putTag("X", "FM");
+        mapping.putTag("SYM", "XY");
+        mapping.putTag("PUNCT", "$(");
+        return mapping;
+    }
+
+    /**
+     * @param label       the label of the parser
+     * @param parZuLabel  the label of ParZu
+     */
+    public void putLabel(String label, String parZuLabel) {
+        labels.put(label, parZuLabel);
+    }
+
+    /**
+     * @param tag       the coarse tag of the parser
+     * @param sttsTag   the STTS tag
+     */
+    public void putTag(String tag, String sttsTag) {
+        tags.put(tag, sttsTag);
+    }
+
+    /**
+     * @param label the label of the parser
+     * @return the label of ParZu
+     */
+    public String mapLabel(String label) {
+        String mapped = labels.get(label);
+        if (mapped == null) {
+            int subtype = label.indexOf(':');
+            if (subtype > 0) {
+                mapped = labels.get(label.substring(0, subtype));
+            }
+        }
+        return mapped == null ? label : mapped;
+    }
+
+    /**
+     * @param tag  the coarse tag of the parser
+     * @param word the word, which distinguishes the tags of punctuation
+     * @return the STTS tag
+     */
+    public String mapTag(String tag, String word) {
+        String mapped = tags.get(tag);
+        if (mapped == null) {
+            return tag;
+        }
+        if (mapped.equals("$(")) {
+            if (word.equals(",")) {
+                return "$,";
+            }
+            if (word.equals(".") || word.equals("!") || word.equals("?")) {
+                return "$.";
+            }
+        }
+        return mapped;
+    }
+
+    /**
+     * @param sttsTag an STTS tag
+     * @return the coarse tag of ParZu (e.g. 'V' for verbs and 'N' for nouns)
+     */
+    public static String posGroup(String sttsTag) {
+        if (sttsTag.startsWith("V")) {
+            return "V";
+        }
+        if (sttsTag.equals("NN") || sttsTag.equals("NE")) {
+            return "N";
+        }
+        if (PRONOUNS.contains(sttsTag)) {
+            return "PRO";
+        }
+        return sttsTag;
+    }
+
+}
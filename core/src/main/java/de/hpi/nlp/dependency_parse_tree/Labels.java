@@ -0,0 +1,66 @@
+package de.hpi.nlp.dependency_parse_tree;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The closed set of dependency labels of ParZu, encoded as small integer codes. The codes are used
+ * for a bitmask of the labels of the children of a node (see {@link Node#getChildrenOfType}), so
+ * type queries do not compare strings for labels, which do not occur. Labels outside of the set
+ * share the code {@link #OTHER}.
+ */
+public final class Labels {
+
+    /**
+     * The code of all labels, which are not ParZu labels.
+     */
+    public static final int OTHER = 63;
+
+    private static final String[] LABELS = {
+        "", "root", "subj", "subjc", "obja", "obja2", "objd", "objg", "objp", "objc", "obji",
+        "pred", "pp", "pn", "attr", "det", "adv", "aux", "avz", "part", "kon", "cj", "konj",
+        "kom", "neb", "rel", "s", "app", "gmod", "grad", "zeit", "vok", "par", "expl", "eth",
+        "-unknown-"
+    };
+
+    private static final Map<String, Integer> CODES = new HashMap<>();
+
+    static {
+        for (int i = 0; i < LABELS.length; i++) {
+            CODES.put(LABELS[i], i);
+        }
+    }
+
+    private Labels() {
+    }
+
+    /**
+     * @param label a dependency label
+     * @return the code of the label or {@link #OTHER}
+     */
+    public static int code(String label) {
+        Integer code = CODES.get(label);
+        return code == null ? OTHER : code;
+    }
+
+    /**
+     * @param code a label code
+     * @return the bit of the label code in a label mask
+     */
+    public static long bit(int code) {
+        return 1L << code;
+    }
+
+    /**
+     * @param labels dependency labels
+     * @return the label mask of the given labels
+     */
+    public static long mask(String... labels) {
+        long mask = 0L;
+        for (String label : labels) {
+            mask |= bit(code(label));
+        }
+        return mask;
+    }
+
+}
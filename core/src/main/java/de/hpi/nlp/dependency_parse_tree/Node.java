@@ -2,18 +2,24 @@ package de.hpi.nlp.dependency_parse_tree;
 
 
 import com.google.common.base.Joiner;
-import com.google.common.collect.Iterables;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * Represents a node of the dependency parse tree.
+ * Represents a node of the dependency parse tree. Lookups by id and in subtrees use an index of
+ * the whole tree (see {@link TreeIndex}), which is built on the first lookup and rebuilt after the
+ * tree structure has changed. Each node keeps a mask of the labels of its children (see {@link
+ * Labels}), so queries for children of a type, which does not occur, are answered without
+ * iterating the children.
  */
 public class Node {
 
+    private static final Comparator<Node> BY_ID = (n1, n2) -> n1.id - n2.id;
+    private static final long PRUNED_LABELS = Labels.mask("vok", "par", "expl", "");
+
     private int id;
     private List<Node> children;
     private Node parent;
@@ -24,6 +30,18 @@ public class Node {
     private String pos;
     private String morphology;
     private String labelToParent;
+    private int labelCode;
+
+    // pruned nodes are hidden from the children of their parent
+    private boolean hidden = false;
+    private List<Node> visibleChildren = null;
+    // the label codes of the visible children (see Labels)
+    private long childLabels = 0L;
+
+    // the index of the tree, the pre-order number of this node and of its last descendant
+    private TreeIndex index = null;
+    private int pre = -1;
+    private int last = -1;
 
     public Node(int id) {
         this.id = id;
@@ -36,6 +54,7 @@ public class Node {
         this.pos = "";
         this.morphology = "";
         this.labelToParent = "";
+        this.labelCode = Labels.code("");
     }
 
     public Node(String data) {
@@ -52,7 +71,21 @@ public class Node {
         if (this.children == null) {
             this.children = new ArrayList<>();
         }
+        // update the visible children and their labels incrementally instead of
+        // rescanning all children
+        if (node.hidden) {
+            if (this.visibleChildren == null) {
+                this.visibleChildren = new ArrayList<>(this.children);
+            }
+        } else {
+            if (this.visibleChildren != null) {
+                this.visibleChildren.add(node);
+            }
+            this.childLabels |= Labels.bit(node.labelCode);
+        }
         this.children.add(node);
+        invalidate();
+        node.invalidate();
     }
 
     /**
@@ -61,9 +94,8 @@ public class Node {
      * @return a list of nodes
      */
     public List<Node> toList() {
-        List<Node> list = new ArrayList<>();
-        walk(this, list);
-        list.sort((n1, n2) -> n1.id - n2.id);
+        List<Node> list = index().subtree(this);
+        list.sort(BY_ID);
         return list;
     }
 
@@ -87,9 +119,17 @@ public class Node {
      * @return list of nodes
      */
     public List<Node> getChildrenOfType(String label) {
-        return this.getChildren().stream()
-            .filter(x -> x.getLabelToParent().equals(label))
-            .collect(Collectors.toList());
+        int code = Labels.code(label);
+        List<Node> nodes = new ArrayList<>();
+        if ((childLabels & Labels.bit(code)) == 0) {
+            return nodes;
+        }
+        for (Node child : getChildren()) {
+            if (child.labelCode == code && (code != Labels.OTHER || child.labelToParent.equals(label))) {
+                nodes.add(child);
+            }
+        }
+        return nodes;
     }
 
     /**
@@ -98,10 +138,46 @@ public class Node {
      * @return list of nodes
      */
     public List<Node> getChildrenOfType(String... labels) {
-        List<String> l = new ArrayList<>(Arrays.asList(labels));
-        return this.getChildren().stream()
-            .filter(x -> l.contains(x.getLabelToParent()))
-            .collect(Collectors.toList());
+        long mask = Labels.mask(labels);
+        List<Node> nodes = new ArrayList<>();
+        if ((childLabels & mask) == 0) {
+            return nodes;
+        }
+        for (Node child : getChildren()) {
+            if (child.matchLabel(mask, labels)) {
+                nodes.add(child);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * @param labels the labels
+     * @return true, if this node has a child, which is connected via one of the given labels
+     */
+    public boolean hasChildrenOfType(String... labels) {
+        long mask = Labels.mask(labels);
+        if ((childLabels & mask) == 0) {
+            return false;
+        }
+        for (Node child : getChildren()) {
+            if (child.matchLabel(mask, labels)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchLabel(long mask, String... labels) {
+        if (labelCode != Labels.OTHER) {
+            return (mask & Labels.bit(labelCode)) != 0;
+        }
+        for (String label : labels) {
+            if (labelToParent.equals(label)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -109,6 +185,8 @@ public class Node {
      */
     public void remove() {
         parent.children.remove(this);
+        parent.updateChildren();
+        invalidate();
     }
 
     /**
@@ -116,6 +194,32 @@ public class Node {
      */
     public void removeChildren() {
         this.children = new ArrayList<>();
+        updateChildren();
+        invalidate();
+    }
+
+    /**
+     * @return true, if this node was pruned and is hidden from its parent, false otherwise
+     */
+    public boolean isHidden() {
+        return hidden;
+    }
+
+    private void updateChildren() {
+        visibleChildren = null;
+        childLabels = 0L;
+        if (children != null) {
+            for (Node child : children) {
+                if (child.hidden) {
+                    visibleChildren = children.stream().filter(c -> !c.hidden)
+                        .collect(Collectors.toList());
+                    break;
+                }
+            }
+            for (Node child : getChildren()) {
+                childLabels |= Labels.bit(child.labelCode);
+            }
+        }
     }
 
     /**
@@ -134,6 +238,7 @@ public class Node {
         this.pos = parts[4];
         this.morphology = parts[5];
         this.labelToParent = parts[7];
+        this.labelCode = Labels.code(this.labelToParent);
         this.parentId = Integer.parseInt(parts[6]);
     };
 
@@ -161,15 +266,70 @@ public class Node {
         return posTags.contains(this.pos);};
 
     /**
-     * Walks the tree in pre-order style.
-     * @param element the starting element.
-     * @param list the output of the walk.
+     * Returns the index of the tree containing this node, (re-)building it if necessary.
+     * @return the index
      */
-    private void walk(Node element, List<Node> list) {
-        list.add(element);
-        for (Node data : element.getChildren()) {
-            walk(data, list);
+    private TreeIndex index() {
+        if (index != null && index.isValid() && index.contains(this)) {
+            return index;
+        }
+        // removed nodes still know their parent, but are not a child of it anymore
+        Node root = this;
+        while (root.parent != null && root.parent.getChildren().contains(root)) {
+            root = root.parent;
         }
+        return new TreeIndex(root);
+    }
+
+    /**
+     * Invalidates the index of the tree containing this node.
+     */
+    private void invalidate() {
+        if (index != null) {
+            index.invalidate();
+        }
+    }
+
+    void setIndex(TreeIndex index, int pre) {
+        this.index = index;
+        this.pre = pre;
+    }
+
+    int getPre() {
+        return pre;
+    }
+
+    int getLast() {
+        return last;
+    }
+
+    void setLast(int last) {
+        this.last = last;
+    }
+
+    /**
+     * @param node a node
+     * @return true, if the given node is this node or one of its descendants, false otherwise
+     */
+    public boolean contains(Node node) {
+        TreeIndex idx = index();
+        return idx.contains(node) && pre <= node.pre && node.pre <= last;
+    }
+
+    /**
+     * @param node a node
+     * @return true, if this node is a descendant of the given node, false otherwise
+     */
+    public boolean isDescendantOf(Node node) {
+        return node != this && node.contains(this);
+    }
+
+    /**
+     * @return the number of nodes in the subtree of this node (including this node)
+     */
+    public int getSubtreeSize() {
+        index();
+        return last - pre + 1;
     }
 
     /**
@@ -179,9 +339,23 @@ public class Node {
      */
     public List<Node> find(Iterable<Integer> ids) {
         if (ids == null) return new ArrayList<>();
-        return this.toList().stream()
-            .filter((x -> Iterables.contains(ids, x.getId())))
-            .collect(Collectors.toList());
+        TreeIndex idx = index();
+        List<Node> nodes = new ArrayList<>();
+        for (Integer id : ids) {
+            Node node = idx.get(id);
+            if (node != null && pre <= node.pre && node.pre <= last) {
+                nodes.add(node);
+            }
+        }
+        nodes.sort(BY_ID);
+        // remove nodes of duplicate ids
+        int size = 0;
+        for (Node node : nodes) {
+            if (size == 0 || nodes.get(size - 1) != node) {
+                nodes.set(size++, node);
+            }
+        }
+        return new ArrayList<>(nodes.subList(0, size));
     }
 
     /**
@@ -190,10 +364,11 @@ public class Node {
      * @return the node or null
      */
     public Node find(int id) {
-        return this.toList().stream()
-                .filter(x -> x.getId() == id)
-                .findFirst()
-                .orElseGet(null);
+        Node node = index().get(id);
+        if (node != null && pre <= node.pre && node.pre <= last) {
+            return node;
+        }
+        return null;
     }
 
 
@@ -203,9 +378,9 @@ public class Node {
      * @return a list of nodes
      */
     public List<Node> find(String... labels) {
-        List<String> l = new ArrayList<>(Arrays.asList(labels));
+        long mask = Labels.mask(labels);
         return this.toList().stream()
-            .filter((x -> l.contains(x.getLabelToParent())))
+            .filter(x -> x.matchLabel(mask, labels))
             .collect(Collectors.toList());
     }
 
@@ -260,15 +435,18 @@ public class Node {
      * Prunes nodes from this tree, which are not relevant.
      * Such nodes are:
      * rel, vok, par, empty labels, expl, kom
+     *
+     * The pruned nodes are not removed, but hidden: they are not returned by {@link
+     * #getChildren()} and lookups, but by {@link #getAllChildren()}.
      */
     public void prune() {
-        List<Node> childsToRemove = getChildren().stream()
-            .filter(n -> n.labelToParent.equals("vok") ||
-                         n.labelToParent.equals("par") ||
-                         n.labelToParent.equals("expl") ||
-                         n.labelToParent.equals("")
-            ).collect(Collectors.toList());
-        childsToRemove.stream().forEach(Node::remove);
+        for (Node n : getChildren()) {
+            if ((PRUNED_LABELS & Labels.bit(n.labelCode)) != 0) {
+                n.hidden = true;
+            }
+        }
+        updateChildren();
+        invalidate();
         this.getChildren().stream().forEach(Node::prune);
     }
 
@@ -313,9 +491,7 @@ public class Node {
      * @return true, if there is a comma before the given node id, false otherwise
      */
     public boolean commaBefore(int nodeId) {
-        List<Node> nodes = this.toList().stream().filter(x -> x.getId() == nodeId - 1).collect(Collectors.toList());
-
-        return nodeId > 1 && nodes.isEmpty();
+        return nodeId > 1 && find(nodeId - 1) == null;
     }
 
     /**
@@ -334,9 +510,26 @@ public class Node {
 
     public void setId(int id) {
         this.id = id;
+        invalidate();
     }
 
+    /**
+     * @return the children of this node, which are not hidden
+     */
     public List<Node> getChildren() {
+        if (this.children == null) {
+            return new ArrayList<>();
+        }
+        if (this.visibleChildren != null) {
+            return this.visibleChildren;
+        }
+        return this.children;
+    }
+
+    /**
+     * @return the children of this node, including hidden ones
+     */
+    public List<Node> getAllChildren() {
         if (this.children == null) {
             return new ArrayList<>();
         }
@@ -345,6 +538,8 @@ public class Node {
 
     public void setChildren(List<Node> children) {
         this.children = children;
+        updateChildren();
+        invalidate();
     }
 
     public Node getParent() {
@@ -353,6 +548,7 @@ public class Node {
 
     public void setParent(Node parent) {
         this.parent = parent;
+        invalidate();
     }
 
     public int getParentId() {
@@ -409,5 +605,16 @@ public class Node {
 
     public void setLabelToParent(String labelToParent) {
         this.labelToParent = labelToParent;
+        this.labelCode = Labels.code(labelToParent);
+        if (this.parent != null) {
+            this.parent.updateChildren();
+        }
+    }
+
+    /**
+     * @return the code of the label to the parent (see {@link Labels})
+     */
+    public int getLabelCode() {
+        return labelCode;
     }
 }
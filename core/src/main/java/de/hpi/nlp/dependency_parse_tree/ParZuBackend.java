@@ -0,0 +1,28 @@
+package de.hpi.nlp.dependency_parse_tree;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Runs ParZu on an input and returns its CoNLL output. By default, {@link ParZuSentenceParser}
+ * starts a ParZu process for each input (see {@link #PROCESS}); {@link ParZuServerBackend} sends
+ * the inputs to running ParZu servers instead. Backends may be called by several threads at once.
+ */
+public interface ParZuBackend {
+
+    /**
+     * Starts a ParZu process for each input.
+     */
+    ParZuBackend PROCESS = ParZuSentenceParser::runParZu;
+
+    /**
+     * Parses the given input.
+     * @param input  plain text, or the tagged input (a token and its tag per line)
+     * @param tagged is the input tagged?
+     * @return the lines of the CoNLL output
+     * @throws IOException  if ParZu could not be run or if the result could not be read
+     * @throws InterruptedException if the thread got interrupted while waiting for ParZu
+     */
+    List<String> parse(String input, boolean tagged) throws IOException, InterruptedException;
+
+}
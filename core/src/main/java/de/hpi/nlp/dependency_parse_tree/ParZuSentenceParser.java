@@ -1,13 +1,15 @@
 package de.hpi.nlp.dependency_parse_tree;
 
 import com.google.common.base.Joiner;
+import de.hpi.nlp.chunking.ChunkedSentence;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Dependency Tree Parser.
@@ -15,29 +17,143 @@ import java.util.Optional;
 public class ParZuSentenceParser {
 
     private static final String PARZU_HOME = "/opt/ParZu/"; //System.getenv("PARZU_HOME");
-    private static final String PARSE_COMMAND = "python " + PARZU_HOME + "parzu.py";
+    private static final String[] PARSE_COMMAND = {"python", PARZU_HOME + "parzu.py"};
+    private static final String[] PARSE_TAGGED_COMMAND = {
+        "python", PARZU_HOME + "parzu.py", "-i", "tagged"};
+
+    private final ParZuBackend backend;
+
+    /**
+     * Creates a parser, which starts a ParZu process for each sentence.
+     */
+    public ParZuSentenceParser() {
+        this(ParZuBackend.PROCESS);
+    }
+
+    /**
+     * @param backend the backend running ParZu (e.g. a {@link ParZuServerBackend})
+     */
+    public ParZuSentenceParser(ParZuBackend backend) {
+        this.backend = backend;
+    }
+
+    public ParZuBackend getBackend() {
+        return backend;
+    }
 
     /**
      * Parses the sentence and converts it into dependency parse trees.
      * There can be multiple parse trees, if the parser decides to split the sentence.
      * @param sent the sentence
-     * @return a list of dependency parse trees
+     * @return a list of dependency parse trees, which is empty if ParZu failed
+     * @throws IllegalStateException if the thread got interrupted while waiting for ParZu
      */
     public List<DependencyParseTree> parseSentence(String sent) {
         try {
-            List<String> dependencyParseTreeStr = parse(sent);
-            List<DependencyParseTree> trees = convert(dependencyParseTreeStr);
-            for (DependencyParseTree tree : trees) {
-                tree.setSentence(sent);
-                tree.setConllFormat(Joiner.on("\n").join(dependencyParseTreeStr));
-            }
-            return trees;
-        } catch (Exception e) {
-            System.out.println("ParZu: Could not process sentence '" + sent + "'");
-            return new ArrayList<>();
+            return toTrees(sent, parse(sent));
+        } catch (IOException e) {
+            return failed(sent, e);
+        } catch (InterruptedException e) {
+            throw interrupted(sent, e);
+        }
+    }
+
+    /**
+     * Parses the tokenized and tagged sentence and converts it into dependency parse trees. ParZu
+     * does not tokenize and tag the sentence again, so the trees have the tokens and tags of the
+     * given sentence.
+     * There can be multiple parse trees, if the parser decides to split the sentence.
+     * @param sentence the sentence tagged with STTS tags (e.g. by the TreeTagger)
+     * @return a list of dependency parse trees
+     */
+    public List<DependencyParseTree> parseSentence(ChunkedSentence sentence) {
+        return parseTaggedSentence(sentence.getTokens(), sentence.getPosTags());
+    }
+
+    /**
+     * Parses the tokenized and tagged sentence and converts it into dependency parse trees.
+     * @param tokens  the tokens of the sentence
+     * @param posTags the STTS tags of the tokens
+     * @return a list of dependency parse trees, which is empty if ParZu failed
+     * @throws IllegalArgumentException if the number of tokens and tags differ
+     * @throws IllegalStateException if the thread got interrupted while waiting for ParZu
+     * @see #parseSentence(ChunkedSentence)
+     */
+    public List<DependencyParseTree> parseTaggedSentence(List<String> tokens, List<String> posTags) {
+        String sent = Joiner.on(" ").join(tokens);
+        try {
+            return toTrees(sent, parseTagged(tokens, posTags));
+        } catch (IOException e) {
+            return failed(sent, e);
+        } catch (InterruptedException e) {
+            throw interrupted(sent, e);
         }
     }
 
+    private List<DependencyParseTree> toTrees(String sent, List<String> dependencyParseTreeStr) {
+        List<DependencyParseTree> trees = convert(dependencyParseTreeStr);
+        for (DependencyParseTree tree : trees) {
+            tree.setSentence(sent);
+            tree.setConllLines(dependencyParseTreeStr);
+        }
+        return trees;
+    }
+
+    /**
+     * Reports that ParZu failed, the sentence is skipped.
+     */
+    private static List<DependencyParseTree> failed(String sent, IOException e) {
+        System.err.println("ParZu: Could not process sentence '" + sent + "': " + e.getMessage());
+        return new ArrayList<>();
+    }
+
+    /**
+     * Restores the interrupt flag, so the caller can stop, and returns the exception to throw.
+     */
+    private static IllegalStateException interrupted(String sent, InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return new IllegalStateException("ParZu: Interrupted while parsing '" + sent + "'", e);
+    }
+
+    /**
+     * Get the dependency parse tree string (ConLL format) of a tagged sentence using ParZu.
+     *
+     * @param tokens  the tokens of the sentence
+     * @param posTags the STTS tags of the tokens
+     * @return a dependency parse tree as string
+     * @throws IOException  if the ParZu command could not be executed or if the result
+     *                      could not be read
+     * @throws InterruptedException if the process, which executes ParZu, got interrupted.
+     */
+    public List<String> parseTagged(List<String> tokens, List<String> posTags)
+        throws IOException, InterruptedException {
+        return backend.parse(toTaggedInput(tokens, posTags), true);
+    }
+
+    /**
+     * Creates the tagged input of ParZu: a line with the token and its tag for each token, and an
+     * empty line at the end of the sentence.
+     *
+     * @param tokens  the tokens of the sentence
+     * @param posTags the STTS tags of the tokens
+     * @return the tagged input
+     */
+    static String toTaggedInput(List<String> tokens, List<String> posTags) {
+        if (tokens.size() != posTags.size()) {
+            throw new IllegalArgumentException("Got " + tokens.size() + " tokens, but "
+                                               + posTags.size() + " tags");
+        }
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < tokens.size(); i++) {
+            String tag = posTags.get(i);
+            // the TreeTagger uses an older name of the tag of pronominal adverbs
+            if (tag.equals("PAV")) {
+                tag = "PROAV";
+            }
+            input.append(tokens.get(i)).append('\t').append(tag).append('\n');
+        }
+        return input.append('\n').toString();
+    }
 
     /**
      * Get the dependency parse tree string (ConLL format) using ParZu.
@@ -49,82 +165,63 @@ public class ParZuSentenceParser {
      * @throws InterruptedException if the process, which executes ParZu, got interrupted.
      */
     public List<String> parse(String str) throws IOException, InterruptedException {
-        Process p = Runtime.getRuntime().exec(new String[]{
-            "/bin/sh", "-c", "echo \"" + str + "\" | " + PARSE_COMMAND});
+        return backend.parse(str + "\n", false);
+    }
 
-        BufferedReader stdInput = new BufferedReader(new InputStreamReader(p.getInputStream()));
-        p.waitFor();
+    /**
+     * Runs a ParZu process on the given input.
+     *
+     * @param input  the input of ParZu
+     * @param tagged is the input tagged?
+     * @return the lines of the CoNLL output
+     * @throws IOException  if the ParZu command could not be executed or if the result
+     *                      could not be read
+     * @throws InterruptedException if the process, which executes ParZu, got interrupted.
+     * @see ParZuBackend#PROCESS
+     */
+    static List<String> runParZu(String input, boolean tagged)
+        throws IOException, InterruptedException {
+        Process p = new ProcessBuilder(tagged ? PARSE_TAGGED_COMMAND : PARSE_COMMAND)
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+
+        try (OutputStream stdOutput = p.getOutputStream()) {
+            stdOutput.write(input.getBytes(StandardCharsets.UTF_8));
+        }
 
         List<String> output = new ArrayList<>();
-        String line;
-        while ((line = stdInput.readLine()) != null) {
-            output.add(line);
+        try (BufferedReader stdInput = new BufferedReader(
+            new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = stdInput.readLine()) != null) {
+                output.add(line);
+            }
         }
-
-        stdInput.close();
+        p.waitFor();
         p.destroy();
 
         return output;
     }
 
-
     /**
      * Given the output of the ParZu, convert it into a dependency parse tree.
      *
      * @param content the output of the ParZu
      * @return a dependency parse tree
+     * @see ConllReader
      */
     public List<DependencyParseTree> convert(List<String> content) {
-        List<DependencyParseTree> trees = new ArrayList<>();
-
-        List<Node> nodes = new ArrayList<>();
-        nodes.add(new Node(0));
-
-        for (String line: content) {
-            if (line.isEmpty()) {
-                // sentence is splitted
-                trees.add(toTree(nodes));
-
-                nodes = new ArrayList<>();
-                nodes.add(new Node(0));
-            } else {
-                Node node = new Node(line);
-                nodes.add(node);
-            }
-        }
-
-        if (nodes.size() > 1) trees.add(toTree(nodes));
-
-        return trees;
+        return ConllReader.read(content);
     }
 
     /**
-     * Given a list of nodes, create a tree.
-     * @param nodes the nodes
-     * @return a tree
+     * Given the output of the ParZu as a single string, convert it into a dependency parse tree.
+     *
+     * @param content the output of the ParZu
+     * @return a dependency parse tree
+     * @see ConllReader
      */
-    private DependencyParseTree toTree(List<Node> nodes) {
-        DependencyParseTree tree = null;
-        for (Node n : nodes) {
-            // create tree, if we find root node
-            if (n.getParentId() == -1) {
-                tree = new DependencyParseTree(n);
-                continue;
-            };
-
-            // find parent node
-            Optional<Node> optionalParentNode = nodes.stream()
-                .filter(x -> x.getId() == n.getParentId())
-                .findFirst();
-            Node parentNode = null;
-            if (optionalParentNode.isPresent()) {
-                parentNode = optionalParentNode.get();
-
-                // set parent node and child node of parent
-                n.setParent(parentNode);
-                parentNode.addChild(n);
-            }
-        }
-        return tree;
+    public List<DependencyParseTree> convert(CharSequence content) {
+        return ConllReader.read(content);
     }
 }
@@ -0,0 +1,230 @@
+package de.hpi.nlp.dependency_parse_tree;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.lang.StringEscapeUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the inputs of ParZu to one or more running ParZu servers (<code>parzu_server.py</code>),
+ * so the models are loaded once per server instead of once per sentence, and the parser capacity
+ * can be scaled by starting more servers.
+ *
+ * Each input is posted as JSON (<code>{"text": ...}</code>) to the least loaded server (ties are
+ * broken round-robin), which answers with the CoNLL output. A server handles at most a given
+ * number of requests at once, further requests wait for a free slot. If a server cannot be
+ * reached, does not answer in time or answers with an error, the other servers are tried.
+ *
+ * The connections are kept alive and reused by the HTTP client of the JDK, which keeps up to
+ * <code>http.maxConnections</code> (default 5) idle connections per server.
+ */
+public class ParZuServerBackend implements ParZuBackend {
+
+    /**
+     * The default timeout of a request in milliseconds.
+     */
+    public static final int DEFAULT_TIMEOUT = 60000;
+
+    /**
+     * The default number of requests a server handles at once.
+     */
+    public static final int DEFAULT_MAX_REQUESTS = 4;
+
+    private final List<Server> servers;
+    private final int timeout;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param urls the URLs of the parse endpoints of the servers
+     *             (e.g. <code>http://localhost:5003/parse/</code>)
+     */
+    public ParZuServerBackend(List<URL> urls) {
+        this(urls, DEFAULT_TIMEOUT, DEFAULT_MAX_REQUESTS);
+    }
+
+    /**
+     * @param urls        the URLs of the parse endpoints of the servers
+     * @param timeout     the timeout of a request in milliseconds, for connecting, for waiting for
+     *                    a free slot and for each read of the response
+     * @param maxRequests the number of requests a server handles at once
+     */
+    public ParZuServerBackend(List<URL> urls, int timeout, int maxRequests) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("No ParZu server given");
+        }
+        if (timeout <= 0 || maxRequests <= 0) {
+            throw new IllegalArgumentException("The timeout and the number of requests must be positive");
+        }
+        ImmutableList.Builder<Server> servers = ImmutableList.builder();
+        for (URL url : urls) {
+            servers.add(new Server(url, maxRequests));
+        }
+        this.servers = servers.build();
+        this.timeout = timeout;
+    }
+
+    /**
+     * @param urls the URLs of the parse endpoints of the servers, separated by commas
+     * @return a backend with the default timeout and number of requests
+     * @throws MalformedURLException if a URL is not valid
+     */
+    public static ParZuServerBackend of(String urls) throws MalformedURLException {
+        List<URL> list = new ArrayList<>();
+        for (String url : urls.split(",")) {
+            if (!url.trim().isEmpty()) {
+                list.add(new URL(url.trim()));
+            }
+        }
+        return new ParZuServerBackend(list);
+    }
+
+    public List<URL> getServers() {
+        List<URL> urls = new ArrayList<>();
+        for (Server server : servers) {
+            urls.add(server.url);
+        }
+        return urls;
+    }
+
+    /**
+     * @return the number of requests, which are handled by each server at the moment
+     */
+    public int[] getLoad() {
+        int[] load = new int[servers.size()];
+        for (int i = 0; i < load.length; i++) {
+            load[i] = servers.get(i).load.get();
+        }
+        return load;
+    }
+
+    @Override
+    public List<String> parse(String input, boolean tagged) throws IOException, InterruptedException {
+        byte[] request = toRequest(input, tagged);
+        IOException error = null;
+        for (Server server : order()) {
+            try {
+                return send(server, request);
+            } catch (IOException e) {
+                System.err.println("ParZu server " + server.url + " failed: " + e.getMessage());
+                error = e;
+            }
+        }
+        throw error;
+    }
+
+    /**
+     * @return the servers in the order they are tried: the least loaded first, ties round-robin
+     */
+    private List<Server> order() {
+        int start = Math.floorMod(next.getAndIncrement(), servers.size());
+        List<Server> order = new ArrayList<>(servers.size());
+        order.addAll(servers.subList(start, servers.size()));
+        order.addAll(servers.subList(0, start));
+        // the sort is stable, so servers with the same load keep the round-robin order
+        order.sort(Comparator.comparingInt(server -> server.load.get()));
+        return order;
+    }
+
+    /**
+     * Sends the request to the server, once a slot of the server is free.
+     * @return the lines of the response
+     */
+    private List<String> send(Server server, byte[] request) throws IOException, InterruptedException {
+        server.load.incrementAndGet();
+        try {
+            if (!server.slots.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                throw new IOException("No free slot within " + timeout + " ms");
+            }
+            try {
+                return post(server.url, request);
+            } finally {
+                server.slots.release();
+            }
+        } finally {
+            server.load.decrementAndGet();
+        }
+    }
+
+    private List<String> post(URL url, byte[] request) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(timeout);
+        connection.setReadTimeout(timeout);
+        connection.setDoOutput(true);
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+        connection.setFixedLengthStreamingMode(request.length);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(request);
+        }
+
+        int status = connection.getResponseCode();
+        if (status != HttpURLConnection.HTTP_OK) {
+            // the error response is read completely, so the connection can be reused
+            InputStream error = connection.getErrorStream();
+            if (error != null) {
+                try (InputStream in = error) {
+                    drain(in);
+                }
+            }
+            throw new IOException("HTTP status " + status);
+        }
+
+        List<String> output = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(
+            new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                output.add(line);
+            }
+        }
+        return output;
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[1024];
+        while (in.read(buffer) >= 0) {
+            // discard
+        }
+    }
+
+    /**
+     * Creates the JSON body of a request. The tagged input is marked like the option
+     * <code>-i tagged</code> of the command line.
+     */
+    static byte[] toRequest(String input, boolean tagged) {
+        StringBuilder json = new StringBuilder("{\"text\": \"")
+            .append(StringEscapeUtils.escapeJava(input)).append('"');
+        if (tagged) {
+            json.append(", \"inputformat\": \"tagged\"");
+        }
+        return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class Server {
+
+        private final URL url;
+        private final Semaphore slots;
+        // the requests, which are sent to or waiting for the server
+        private final AtomicInteger load = new AtomicInteger();
+
+        Server(URL url, int maxRequests) {
+            this.url = url;
+            this.slots = new Semaphore(maxRequests, true);
+        }
+    }
+
+}
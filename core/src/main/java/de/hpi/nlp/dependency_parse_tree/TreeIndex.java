@@ -0,0 +1,102 @@
+package de.hpi.nlp.dependency_parse_tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * An index over the nodes of a (sub-)tree: a dense array of the nodes by their CoNLL id and the
+ * nodes in pre-order. Each node stores its pre-order number and the pre-order number of its last
+ * descendant, so the subtree of a node is a contiguous range of the pre-order array and ancestor
+ * checks take constant time.
+ *
+ * The index is built lazily by {@link Node} and shared by all nodes of the tree. Changes of the
+ * tree structure invalidate it, and it is rebuilt on the next access.
+ */
+class TreeIndex {
+
+    private final Node[] byId;
+    private final Node[] preorder;
+    private boolean valid = true;
+
+    /**
+     * Indexes the tree below (and including) the given root.
+     *
+     * @param root the root of the tree
+     */
+    TreeIndex(Node root) {
+        List<Node> order = new ArrayList<>();
+        int maxId = 0;
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            node.setIndex(this, order.size());
+            order.add(node);
+            maxId = Math.max(maxId, node.getId());
+            List<Node> children = node.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+        this.preorder = order.toArray(new Node[order.size()]);
+
+        // the last descendant of a node is the last descendant of its last child, children are
+        // visited after their parent
+        for (int i = preorder.length - 1; i >= 0; i--) {
+            Node node = preorder[i];
+            int last = i;
+            for (Node child : node.getChildren()) {
+                last = Math.max(last, child.getLast());
+            }
+            node.setLast(last);
+        }
+
+        // keep the first node in pre-order, if ids are not unique
+        this.byId = new Node[maxId + 1];
+        for (Node node : preorder) {
+            if (node.getId() >= 0 && byId[node.getId()] == null) {
+                byId[node.getId()] = node;
+            }
+        }
+    }
+
+    boolean isValid() {
+        return valid;
+    }
+
+    void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * @param node a node
+     * @return true, if the node is indexed by this index
+     */
+    boolean contains(Node node) {
+        int pre = node.getPre();
+        return pre >= 0 && pre < preorder.length && preorder[pre] == node;
+    }
+
+    /**
+     * @param id a node id
+     * @return the node with the given id or null
+     */
+    Node get(int id) {
+        if (id < 0 || id >= byId.length) {
+            return null;
+        }
+        return byId[id];
+    }
+
+    /**
+     * @param node an indexed node
+     * @return the nodes of the subtree of the given node in pre-order
+     */
+    List<Node> subtree(Node node) {
+        return new ArrayList<>(Arrays.asList(preorder).subList(node.getPre(), node.getLast() + 1));
+    }
+
+}
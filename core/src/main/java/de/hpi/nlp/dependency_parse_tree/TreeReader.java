@@ -0,0 +1,23 @@
+package de.hpi.nlp.dependency_parse_tree;
+
+import java.util.List;
+
+/**
+ * Reads dependency parse trees from the output of a parser. The trees follow the scheme of ParZu
+ * (its dependency labels and STTS tags), which is expected by Dep ConIE.
+ */
+public interface TreeReader {
+
+    /**
+     * Reads the CoNLL output of ParZu (see {@link ConllReader}).
+     */
+    TreeReader PARZU = ConllReader::read;
+
+    /**
+     * Reads the trees from the given content.
+     * @param content the output of the parser
+     * @return a list of dependency parse trees
+     */
+    List<DependencyParseTree> read(CharSequence content);
+
+}
@@ -0,0 +1,132 @@
+package de.hpi.nlp.extraction;
+
+/**
+ * A relation, which keeps only the id of its sentence and the token indexes of its parts. The
+ * texts are built from a {@link SentenceStore} when they are requested, so large collections of
+ * relations do not keep the parse trees, sentences and parser outputs alive.
+ *
+ * The relation can be modified like any other relation: the first change copies the texts from
+ * the store into the relation (see {@link #isMaterialized()}), later changes of the store do not
+ * affect it.
+ */
+public class CompactBinaryRelation extends SimpleBinaryRelation {
+
+    private final SentenceStore store;
+    private final long sentenceId;
+    private final int[] relation;
+    private final int[] argument1;
+    private final int[] argument2;
+    private boolean materialized = false;
+
+    /**
+     * @param store      the store of the sentence
+     * @param sentenceId the id of the sentence in the store
+     * @param relation   the token indexes of the relation
+     * @param argument1  the token indexes of the first argument
+     * @param argument2  the token indexes of the second argument
+     * @param context    the context of the relation
+     */
+    public CompactBinaryRelation(SentenceStore store, long sentenceId, int[] relation,
+                                 int[] argument1, int[] argument2, String context) {
+        this.store = store;
+        this.sentenceId = sentenceId;
+        this.relation = relation;
+        this.argument1 = argument1;
+        this.argument2 = argument2;
+        super.setContext(context);
+    }
+
+    public long getSentenceId() {
+        return sentenceId;
+    }
+
+    public int[] getRelationTokens() {
+        return relation.clone();
+    }
+
+    public int[] getArgument1Tokens() {
+        return argument1.clone();
+    }
+
+    public int[] getArgument2Tokens() {
+        return argument2.clone();
+    }
+
+    /**
+     * @return <code>true</code> if the relation was modified and keeps its texts itself instead of
+     * building them from the store
+     */
+    public boolean isMaterialized() {
+        return materialized;
+    }
+
+    /**
+     * Copies the texts from the store into the relation, before it is modified.
+     */
+    private void materialize() {
+        if (!materialized) {
+            super.setRelation(getRelation());
+            super.setArgument1(getArgument1());
+            super.setArgument2(getArgument2());
+            super.setSentence(getSentence());
+            super.setParsedSentence(getParsedSentence());
+            materialized = true;
+        }
+    }
+
+    @Override
+    public String getRelation() {
+        return materialized ? super.getRelation() : store.getWords(sentenceId, relation);
+    }
+
+    @Override
+    public String getArgument1() {
+        return materialized ? super.getArgument1() : store.getWords(sentenceId, argument1);
+    }
+
+    @Override
+    public String getArgument2() {
+        return materialized ? super.getArgument2() : store.getWords(sentenceId, argument2);
+    }
+
+    @Override
+    public String getSentence() {
+        return materialized ? super.getSentence() : store.getSentence(sentenceId);
+    }
+
+    @Override
+    public String getParsedSentence() {
+        return materialized ? super.getParsedSentence() : store.getConllFormat(sentenceId);
+    }
+
+    @Override
+    public void setRelation(String relation) {
+        materialize();
+        super.setRelation(relation);
+    }
+
+    @Override
+    public void setArgument1(String argument1) {
+        materialize();
+        super.setArgument1(argument1);
+    }
+
+    @Override
+    public void setArgument2(String argument2) {
+        materialize();
+        super.setArgument2(argument2);
+    }
+
+    @Override
+    public void setSentence(String sentence) {
+        materialize();
+        super.setSentence(sentence);
+    }
+
+    @Override
+    public void setParsedSentence(String parsedSentence) {
+        materialize();
+        super.setParsedSentence(parsedSentence);
+    }
+
+}
@@ -0,0 +1,140 @@
+package de.hpi.nlp.extraction;
+
+/**
+ * A limit on the number of extractions created from one sentence and, optionally, on the time
+ * spent on it. Binary extractions are the product of the arguments of a relation, so sentences
+ * with long enumerations can otherwise create a huge number of extractions. The time limit starts
+ * when the budget is created.
+ */
+public class ExtractionBudget {
+
+    /**
+     * The default maximum number of extractions per relation.
+     */
+    public static final int DEFAULT_MAX_PER_RELATION = 100;
+
+    /**
+     * The default maximum number of extractions per sentence.
+     */
+    public static final int DEFAULT_MAX_PER_SENTENCE = 1000;
+
+    private int remaining;
+    private int rejected = 0;
+    private final long deadline;
+    private final boolean hasDeadline;
+    private boolean timedOut = false;
+    private final ExtractionBudget parent;
+
+    /**
+     * @param max the maximum number of extractions
+     */
+    public ExtractionBudget(int max) {
+        this(max, 0);
+    }
+
+    /**
+     * @param max      the maximum number of extractions
+     * @param maxNanos the maximum time in nanoseconds, or 0 for no limit
+     */
+    public ExtractionBudget(int max, long maxNanos) {
+        this(null, max, maxNanos);
+    }
+
+    private ExtractionBudget(ExtractionBudget parent, int max, long maxNanos) {
+        this.parent = parent;
+        this.remaining = max;
+        this.hasDeadline = maxNanos > 0;
+        this.deadline = hasDeadline ? System.nanoTime() + maxNanos : 0;
+    }
+
+    /**
+     * Returns a budget, which allows at most <code>max</code> extractions and takes each of them
+     * from this budget as well. Work skipped by the returned budget is counted as rejected by this
+     * budget, too, so this budget is exceeded whenever the returned one is.
+     *
+     * @param max the maximum number of extractions
+     * @return the limited budget
+     */
+    public ExtractionBudget limit(int max) {
+        return new ExtractionBudget(this, max, 0);
+    }
+
+    /**
+     * Takes one extraction from the budget.
+     *
+     * @return <code>true</code> if the budget was not exhausted yet
+     */
+    public boolean tryConsume() {
+        if (isExhausted()) {
+            reject();
+            return false;
+        }
+        remaining--;
+        if (parent != null) {
+            parent.remaining--;
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether more work may be done for the sentence, e.g. before the next relation is
+     * processed. If not, the skipped work is counted as rejected.
+     *
+     * @return <code>true</code> if the budget was not exhausted yet
+     */
+    public boolean tryContinue() {
+        if (isExhausted()) {
+            reject();
+            return false;
+        }
+        return true;
+    }
+
+    private void reject() {
+        rejected++;
+        if (parent != null) {
+            parent.reject();
+        }
+    }
+
+    /**
+     * @return the number of extractions that can still be created
+     */
+    public int getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * @return <code>true</code> if no more extractions can be created
+     */
+    public boolean isExhausted() {
+        return remaining <= 0 || isTimedOut() || parent != null && parent.isExhausted();
+    }
+
+    /**
+     * @return <code>true</code> if the time limit has passed
+     */
+    public boolean isTimedOut() {
+        if (!timedOut && hasDeadline && System.nanoTime() - deadline >= 0) {
+            timedOut = true;
+        }
+        return timedOut || parent != null && parent.isTimedOut();
+    }
+
+    /**
+     * @return the number of extractions (or relations) that were not processed because the budget
+     * was exhausted
+     */
+    public int getRejected() {
+        return rejected;
+    }
+
+    /**
+     * @return <code>true</code> if work was skipped because the budget was exhausted, i.e. the
+     * extractions of the sentence may be incomplete
+     */
+    public boolean isExceeded() {
+        return rejected > 0;
+    }
+
+}
@@ -0,0 +1,68 @@
+package de.hpi.nlp.extraction;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Lists;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * A lazy iterator over the extractions created from all (arg1, arg2) pairs of a relation. At most
+ * <code>maxPairs</code> extractions are created, and each of them is taken from an {@link
+ * ExtractionBudget}, which may be shared by all relations of a sentence. The iterator ends when
+ * either limit is reached.
+ *
+ * @param <A> the argument type
+ * @param <E> the extraction type
+ */
+public class ProductIterator<A, E> extends AbstractIterator<E> {
+
+    private final Iterator<? extends A> arg1s;
+    private final List<? extends A> arg2s;
+    private final BiFunction<A, A, E> factory;
+    private final ExtractionBudget budget;
+    private int remaining;
+
+    private A arg1 = null;
+    private int arg2Index = 0;
+
+    /**
+     * @param arg1s    the first arguments
+     * @param arg2s    the second arguments
+     * @param factory  creates the extraction of a pair, or returns null if the pair is not valid
+     * @param maxPairs the maximum number of extractions
+     * @param budget   the budget of the sentence
+     */
+    public ProductIterator(Iterable<? extends A> arg1s, Iterable<? extends A> arg2s,
+                           BiFunction<A, A, E> factory, int maxPairs, ExtractionBudget budget) {
+        this.arg1s = arg1s.iterator();
+        this.arg2s = arg2s instanceof List ? (List<? extends A>) arg2s : Lists.newArrayList(arg2s);
+        this.factory = factory;
+        this.budget = budget;
+        this.remaining = maxPairs;
+    }
+
+    @Override
+    protected E computeNext() {
+        while (remaining > 0) {
+            if (arg1 == null || arg2Index >= arg2s.size()) {
+                if (arg2s.isEmpty() || !arg1s.hasNext()) {
+                    break;
+                }
+                arg1 = arg1s.next();
+                arg2Index = 0;
+            }
+            E extraction = factory.apply(arg1, arg2s.get(arg2Index++));
+            if (extraction != null) {
+                if (!budget.tryConsume()) {
+                    break;
+                }
+                remaining--;
+                return extraction;
+            }
+        }
+        return endOfData();
+    }
+
+}
@@ -0,0 +1,121 @@
+package de.hpi.nlp.extraction;
+
+import com.google.common.base.Joiner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the sentences of compact relations (see {@link CompactBinaryRelation}). Each sentence is
+ * stored once with its words and, optionally, the output of the parser, and the relations refer
+ * to it by its id. The texts of a relation are only built when they are requested.
+ *
+ * The store may be shared by several threads. Sentences, whose relations are no longer needed,
+ * should be removed.
+ */
+public class SentenceStore {
+
+    private static class Entry {
+
+        private final String sentence;
+        private final String[] words;
+        private final List<String> conllLines;
+
+        Entry(String sentence, String[] words, List<String> conllLines) {
+            this.sentence = sentence;
+            this.words = words;
+            this.conllLines = conllLines;
+        }
+    }
+
+    private final AtomicLong nextId = new AtomicLong();
+    private final ConcurrentMap<Long, Entry> sentences = new ConcurrentHashMap<>();
+    private final boolean keepConll;
+
+    /**
+     * Creates a store, which keeps the output of the parser.
+     */
+    public SentenceStore() {
+        this(true);
+    }
+
+    /**
+     * @param keepConll keep the output of the parser?
+     */
+    public SentenceStore(boolean keepConll) {
+        this.keepConll = keepConll;
+    }
+
+    /**
+     * Adds a sentence.
+     * @param sentence   the sentence
+     * @param words      the words of the sentence by their token index
+     * @param conllLines the lines of the output of the parser, or null
+     * @return the id of the sentence
+     */
+    public long add(String sentence, String[] words, List<String> conllLines) {
+        long id = nextId.getAndIncrement();
+        sentences.put(id, new Entry(sentence, words, keepConll ? conllLines : null));
+        return id;
+    }
+
+    /**
+     * @param id the id of the sentence
+     * @return the sentence, or null if it is not stored
+     */
+    public String getSentence(long id) {
+        Entry entry = sentences.get(id);
+        return entry == null ? null : entry.sentence;
+    }
+
+    /**
+     * @param id the id of the sentence
+     * @return the output of the parser, or null if it is not stored
+     */
+    public String getConllFormat(long id) {
+        Entry entry = sentences.get(id);
+        return entry == null || entry.conllLines == null
+               ? null : Joiner.on("\n").join(entry.conllLines);
+    }
+
+    /**
+     * @param id     the id of the sentence
+     * @param tokens the token indexes of the words
+     * @return the words separated by spaces, or null if the sentence is not stored
+     */
+    public String getWords(long id, int[] tokens) {
+        Entry entry = sentences.get(id);
+        if (entry == null) {
+            return null;
+        }
+        List<String> words = new ArrayList<>(tokens.length);
+        for (int token : tokens) {
+            words.add(entry.words[token]);
+        }
+        return Joiner.on(" ").join(words);
+    }
+
+    public boolean contains(long id) {
+        return sentences.containsKey(id);
+    }
+
+    /**
+     * Removes the sentence, the texts of its relations are no longer available.
+     * @param id the id of the sentence
+     */
+    public void remove(long id) {
+        sentences.remove(id);
+    }
+
+    public int size() {
+        return sentences.size();
+    }
+
+    public boolean isKeepConll() {
+        return keepConll;
+    }
+
+}
@@ -0,0 +1,80 @@
+package de.hpi.nlp.extraction;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The work an extractor may spend on a single sentence: the maximum number of tokens, of
+ * candidate extractions and of milliseconds. Sentences that exceed the budget (e.g. long
+ * enumerations or tables flattened into text) are processed in a degraded mode, see {@link
+ * de.hpi.util.Extractor#setFallback(de.hpi.util.Extractor)}.
+ */
+public class WorkBudget {
+
+    /**
+     * The default budget: no limit on tokens and time, and {@link
+     * ExtractionBudget#DEFAULT_MAX_PER_SENTENCE} candidates.
+     */
+    public static final WorkBudget DEFAULT =
+        new WorkBudget(Integer.MAX_VALUE, ExtractionBudget.DEFAULT_MAX_PER_SENTENCE, 0);
+
+    /**
+     * The limits of a work budget.
+     */
+    public enum Limit {
+        TOKENS, CANDIDATES, TIME
+    }
+
+    private final int maxTokens;
+    private final int maxCandidates;
+    private final long maxMillis;
+
+    /**
+     * @param maxTokens     the maximum number of tokens of a sentence
+     * @param maxCandidates the maximum number of candidate extractions of a sentence
+     * @param maxMillis     the maximum time in milliseconds spent on a sentence, or 0 for no limit
+     */
+    public WorkBudget(int maxTokens, int maxCandidates, long maxMillis) {
+        this.maxTokens = maxTokens;
+        this.maxCandidates = maxCandidates;
+        this.maxMillis = maxMillis;
+    }
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    /**
+     * Starts the budget of a sentence. Its time limit starts now.
+     *
+     * @return the budget of the sentence
+     */
+    public ExtractionBudget start() {
+        return new ExtractionBudget(maxCandidates, TimeUnit.MILLISECONDS.toNanos(maxMillis));
+    }
+
+    /**
+     * @param budget a budget created by {@link #start()}
+     * @return the limit that was exceeded, or null if the budget was not exceeded
+     */
+    public static Limit getExceededLimit(ExtractionBudget budget) {
+        if (!budget.isExceeded()) {
+            return null;
+        }
+        return budget.isTimedOut() ? Limit.TIME : Limit.CANDIDATES;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkBudget(tokens=" + maxTokens + ", candidates=" + maxCandidates + ", millis="
+               + maxMillis + ")";
+    }
+
+}
@@ -1,13 +1,19 @@
 package de.hpi.nlp.extraction.chunking;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
 import edu.washington.cs.knowitall.commonlib.Range;
 import de.hpi.nlp.chunking.ChunkedSentence;
+import de.hpi.nlp.extraction.ExtractionBudget;
 import de.hpi.nlp.extraction.ExtractionConverter;
+import de.hpi.nlp.extraction.ProductIterator;
 import de.hpi.nlp.extraction.SimpleBinaryRelation;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * Represents a binary extraction from a {@link ChunkedSentence}. A binary extraction has three
@@ -136,36 +142,67 @@ public class ChunkedBinaryExtraction extends SpanExtraction implements Extractio
         Iterable<? extends ChunkedArgumentExtraction> arg2s,
         boolean allowUnaryRelations) {
         Collection<ChunkedBinaryExtraction> results = new ArrayList<ChunkedBinaryExtraction>();
+        Iterators.addAll(results, lazyProductOfArgs(rel, arg1s, arg2s, allowUnaryRelations,
+                                                    Integer.MAX_VALUE,
+                                                    new ExtractionBudget(Integer.MAX_VALUE)));
+        return results;
+    }
 
-        for (ChunkedArgumentExtraction arg1 : arg1s) {
-            for (ChunkedArgumentExtraction arg2 : arg2s) {
-                ChunkedBinaryExtraction extr = new ChunkedBinaryExtraction(rel,
-                                                                           arg1, arg2);
-                results.add(extr);
-            }
+    /**
+     * Returns a lazy iterator over the (arg1, rel, arg2) extractions, where arg1 and arg2 range
+     * over the given collections. At most <code>maxPerRelation</code> extractions are created, and
+     * each one is taken from the given budget.
+     * @param rel            the relation
+     * @param arg1s          list of argument 1
+     * @param arg2s          list of argument 2
+     * @param maxPerRelation the maximum number of extractions for this relation
+     * @param budget         the extraction budget of the sentence
+     * @return a lazy iterator over the extractions
+     */
+    public static Iterator<ChunkedBinaryExtraction> lazyProductOfArgs(
+        final ChunkedRelationExtraction rel,
+        Iterable<? extends ChunkedArgumentExtraction> arg1s,
+        Iterable<? extends ChunkedArgumentExtraction> arg2s,
+        int maxPerRelation, ExtractionBudget budget) {
+        return new ProductIterator<ChunkedArgumentExtraction, ChunkedBinaryExtraction>(
+            arg1s, arg2s, (arg1, arg2) -> new ChunkedBinaryExtraction(rel, arg1, arg2),
+            maxPerRelation, budget);
+    }
 
+    /**
+     * Returns a lazy iterator over the (arg1, rel, arg2) extractions like {@link
+     * #lazyProductOfArgs(ChunkedRelationExtraction, Iterable, Iterable, int, ExtractionBudget)}.
+     * If unary relations are allowed and there is no pair of arguments, each argument is combined
+     * with an empty argument instead. The unary extractions are taken from the budget as well.
+     * @param rel                 the relation
+     * @param arg1s               list of argument 1
+     * @param arg2s               list of argument 2
+     * @param allowUnaryRelations indicates, whether unary relation are allowed or not
+     * @param maxPerRelation      the maximum number of extractions for this relation
+     * @param budget              the extraction budget of the sentence
+     * @return a lazy iterator over the extractions
+     */
+    public static Iterator<ChunkedBinaryExtraction> lazyProductOfArgs(
+        ChunkedRelationExtraction rel,
+        Iterable<? extends ChunkedArgumentExtraction> arg1s,
+        Iterable<? extends ChunkedArgumentExtraction> arg2s,
+        boolean allowUnaryRelations, int maxPerRelation, ExtractionBudget budget) {
+        Iterator<ChunkedBinaryExtraction> product =
+            lazyProductOfArgs(rel, arg1s, arg2s, maxPerRelation, budget);
+        if (!allowUnaryRelations || product.hasNext()) {
+            return product;
         }
         // hack to add relations that only have one argument.
-        if (allowUnaryRelations && results.isEmpty()) {
-            for (ChunkedArgumentExtraction arg1 : arg1s) {
-                Range dummyRange = new Range(rel.getRange().getStart()
-                                             + rel.getRange().getLength(), 0);
-                ChunkedArgumentExtraction arg2 = new ChunkedArgumentExtraction(
-                    rel.getSentence(), dummyRange, rel);
-                ChunkedBinaryExtraction extr = new ChunkedBinaryExtraction(rel,
-                                                                           arg1, arg2);
-                results.add(extr);
-            }
-            for (ChunkedArgumentExtraction arg2 : arg2s) {
-                Range dummyRange = new Range(rel.getRange().getStart(), 0);
-                ChunkedArgumentExtraction arg1 = new ChunkedArgumentExtraction(
-                    rel.getSentence(), dummyRange, rel);
-                ChunkedBinaryExtraction extr = new ChunkedBinaryExtraction(rel,
-                                                                           arg1, arg2);
-                results.add(extr);
-            }
-        }
-        return results;
+        Range end = new Range(rel.getRange().getStart() + rel.getRange().getLength(), 0);
+        Range start = new Range(rel.getRange().getStart(), 0);
+        List<ChunkedArgumentExtraction> noArg2 = Collections.singletonList(
+            new ChunkedArgumentExtraction(rel.getSentence(), end, rel));
+        List<ChunkedArgumentExtraction> noArg1 = Collections.singletonList(
+            new ChunkedArgumentExtraction(rel.getSentence(), start, rel));
+        return Iterators.limit(
+            Iterators.concat(lazyProductOfArgs(rel, arg1s, noArg2, maxPerRelation, budget),
+                             lazyProductOfArgs(rel, noArg1, arg2s, maxPerRelation, budget)),
+            maxPerRelation);
     }
 
     public void normalize() {
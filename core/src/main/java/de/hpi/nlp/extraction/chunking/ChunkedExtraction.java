@@ -5,7 +5,8 @@ import de.hpi.nlp.chunking.ChunkedSentence;
 
 /**
  * An extraction object that represents a contiguous subsequence of a {@link ChunkedSentence}
- * object.
+ * object. The extraction is a view on the source sentence: its layers are not copied, but resolved
+ * lazily from the source sentence.
  *
  * @author afader
  */
@@ -23,7 +24,7 @@ public class ChunkedExtraction extends ChunkedSentence {
      * @param range the subsequence of sent that this extraction will represent.
      */
     public ChunkedExtraction(ChunkedSentence sent, Range range) {
-        super(sent.getSubSequence(range));
+        super(sent, range.getStart(), range.getLength());
         this.range = range;
         this.sent = sent;
         this.string = null;
@@ -40,7 +41,7 @@ public class ChunkedExtraction extends ChunkedSentence {
      *               subsequence in the sentence.
      */
     public ChunkedExtraction(ChunkedSentence sent, Range range, String string) {
-        super(sent.getSubSequence(range));
+        super(sent, range.getStart(), range.getLength());
         this.range = range;
         this.sent = sent;
         this.string = string;
@@ -85,8 +86,9 @@ public class ChunkedExtraction extends ChunkedSentence {
 
     @Override
     public int hashCode() {
+        // the layers are determined by the source sentence and the range
         final int prime = 31;
-        int result = super.hashCode();
+        int result = 1;
         result = prime * result + ((range == null) ? 0 : range.hashCode());
         result = prime * result + ((sent == null) ? 0 : sent.hashCode());
         return result;
@@ -97,7 +99,7 @@ public class ChunkedExtraction extends ChunkedSentence {
         if (this == obj) {
             return true;
         }
-        if (!super.equals(obj)) {
+        if (obj == null) {
             return false;
         }
         if (getClass() != obj.getClass()) {
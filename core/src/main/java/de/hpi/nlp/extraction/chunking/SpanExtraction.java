@@ -344,6 +344,11 @@ public class SpanExtraction {
         return result;
     }
 
+    /**
+     * The identity of an extraction is given by its sentence, its field ranges and names, and its
+     * properties. The fields themselves are determined by the sentence and the ranges, so they are
+     * not compared.
+     */
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -352,10 +357,6 @@ public class SpanExtraction {
                  + ((fieldNames == null) ? 0 : fieldNames.hashCode());
         result = prime * result
                  + ((fieldRanges == null) ? 0 : fieldRanges.hashCode());
-        result = prime * result + ((fields == null) ? 0 : fields.hashCode());
-        result = prime * result
-                 + ((namedFields == null) ? 0 : namedFields.hashCode());
-        result = prime * result + numFields;
         result = prime * result + ((props == null) ? 0 : props.hashCode());
         result = prime * result + ((sent == null) ? 0 : sent.hashCode());
         return result;
@@ -373,13 +374,6 @@ public class SpanExtraction {
             return false;
         }
         SpanExtraction other = (SpanExtraction) obj;
-        if (fieldNames == null) {
-            if (other.fieldNames != null) {
-                return false;
-            }
-        } else if (!fieldNames.equals(other.fieldNames)) {
-            return false;
-        }
         if (fieldRanges == null) {
             if (other.fieldRanges != null) {
                 return false;
@@ -387,21 +381,11 @@ public class SpanExtraction {
         } else if (!fieldRanges.equals(other.fieldRanges)) {
             return false;
         }
-        if (fields == null) {
-            if (other.fields != null) {
-                return false;
-            }
-        } else if (!fields.equals(other.fields)) {
-            return false;
-        }
-        if (namedFields == null) {
-            if (other.namedFields != null) {
+        if (fieldNames == null) {
+            if (other.fieldNames != null) {
                 return false;
             }
-        } else if (!namedFields.equals(other.namedFields)) {
-            return false;
-        }
-        if (numFields != other.numFields) {
+        } else if (!fieldNames.equals(other.fieldNames)) {
             return false;
         }
         if (props == null) {
@@ -415,7 +399,7 @@ public class SpanExtraction {
             if (other.sent != null) {
                 return false;
             }
-        } else if (!sent.equals(other.sent)) {
+        } else if (sent != other.sent && !sent.equals(other.sent)) {
             return false;
         }
         return true;
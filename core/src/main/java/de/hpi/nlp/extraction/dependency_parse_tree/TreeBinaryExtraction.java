@@ -1,11 +1,21 @@
 package de.hpi.nlp.extraction.dependency_parse_tree;
 
+import com.google.common.collect.Iterators;
 import de.hpi.nlp.dependency_parse_tree.DependencyParseTree;
+import de.hpi.nlp.dependency_parse_tree.Node;
+import de.hpi.nlp.extraction.ExtractionBudget;
+import de.hpi.nlp.extraction.CompactBinaryRelation;
 import de.hpi.nlp.extraction.ExtractionConverter;
+import de.hpi.nlp.extraction.ProductIterator;
+import de.hpi.nlp.extraction.SentenceStore;
 import de.hpi.nlp.extraction.SimpleBinaryRelation;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 public class TreeBinaryExtraction implements ExtractionConverter {
 
@@ -84,23 +94,54 @@ public class TreeBinaryExtraction implements ExtractionConverter {
         Iterable<TreeExtraction> arg1s,
         Iterable<TreeExtraction> arg2s) {
         Collection<TreeBinaryExtraction> results = new ArrayList<>();
+        Iterators.addAll(results, lazyProductOfArgs(tree, context, rel, arg1s, arg2s,
+                                                    Integer.MAX_VALUE,
+                                                    new ExtractionBudget(Integer.MAX_VALUE)));
+        return results;
+    }
 
-        for (TreeExtraction arg1 : arg1s) {
-            for (TreeExtraction arg2 : arg2s) {
-                if (!arg1.isEmtpy() && !arg2.isEmtpy()) {
-
-                    rel = new TreeExtraction(rel.getRootNode(), rel.getNodeIds(), arg2.getPrepositionNode());
-                    if (arg2.getPrepositionNode() != null) {
-                        rel.setLastNodeId(arg2.getPrepositionNode().getId());
+    /**
+     * Returns a lazy iterator over the (arg1, rel, arg2) extractions, where arg1 and arg2 range
+     * over the given collections and are not empty. The relation of an extraction is extended by
+     * the preposition of arg2; extractions whose arg2 has the same preposition share the relation
+     * object. At most <code>maxPerRelation</code> extractions are created, and each one is taken
+     * from the given budget.
+     *
+     * @param tree           the dependency parse tree
+     * @param context        the context of the extraction
+     * @param rel            the relation
+     * @param arg1s          list of argument1
+     * @param arg2s          list of argument2
+     * @param maxPerRelation the maximum number of extractions for this relation
+     * @param budget         the extraction budget of the sentence
+     * @return a lazy iterator over the extractions
+     */
+    public static Iterator<TreeBinaryExtraction> lazyProductOfArgs(
+        final DependencyParseTree tree,
+        final Context context,
+        final TreeExtraction rel,
+        Iterable<TreeExtraction> arg1s,
+        Iterable<TreeExtraction> arg2s,
+        int maxPerRelation, ExtractionBudget budget) {
+        // the relation for each preposition node (null for none)
+        final Map<Node, TreeExtraction> rels = new IdentityHashMap<>();
+        return new ProductIterator<TreeExtraction, TreeBinaryExtraction>(
+            arg1s, arg2s, (arg1, arg2) -> {
+                if (arg1.isEmtpy() || arg2.isEmtpy()) {
+                    return null;
+                }
+                Node prepositionNode = arg2.getPrepositionNode();
+                TreeExtraction prepRel = rels.get(prepositionNode);
+                if (prepRel == null) {
+                    prepRel = new TreeExtraction(rel.getRootNode(), rel.getNodeIds(),
+                                                 prepositionNode);
+                    if (prepositionNode != null) {
+                        prepRel.setLastNodeId(prepositionNode.getId());
                     }
-
-                    TreeBinaryExtraction extr = new TreeBinaryExtraction(tree, context, rel, arg1, arg2);
-                    results.add(extr);
+                    rels.put(prepositionNode, prepRel);
                 }
-            }
-
-        }
-        return results;
+                return new TreeBinaryExtraction(tree, context, prepRel, arg1, arg2);
+            }, maxPerRelation, budget);
     }
 
     @Override
@@ -126,4 +167,59 @@ public class TreeBinaryExtraction implements ExtractionConverter {
                                         tree.getConllFormat(),
                                         context.toString());
     }
+
+    /**
+     * Converts the extraction into a compact relation, which refers to its sentence in the store.
+     * @param store      the store of the sentence
+     * @param sentenceId the id of the sentence (see {@link #addSentence(SentenceStore, DependencyParseTree)})
+     * @return the compact relation
+     */
+    public CompactBinaryRelation convert(SentenceStore store, long sentenceId) {
+        return new CompactBinaryRelation(store, sentenceId,
+                                         rel.getTokenIds(),
+                                         arg1.getTokenIds(),
+                                         arg2.getTokenIds(),
+                                         context.toString());
+    }
+
+    /**
+     * Converts the extractions into compact relations. The sentence of each tree is added to the
+     * store once, so the relations do not keep the trees alive.
+     * @param extractions the extractions
+     * @param store       the store of the sentences
+     * @return the compact relations
+     */
+    public static List<CompactBinaryRelation> convert(Iterable<TreeBinaryExtraction> extractions,
+                                                      SentenceStore store) {
+        Map<DependencyParseTree, Long> ids = new IdentityHashMap<>();
+        List<CompactBinaryRelation> relations = new ArrayList<>();
+        for (TreeBinaryExtraction extraction : extractions) {
+            Long id = ids.get(extraction.tree);
+            if (id == null) {
+                id = addSentence(store, extraction.tree);
+                ids.put(extraction.tree, id);
+            }
+            relations.add(extraction.convert(store, id));
+        }
+        return relations;
+    }
+
+    /**
+     * Adds the sentence, the words and the parser output of the tree to the store.
+     * @param store the store
+     * @param tree  the dependency parse tree
+     * @return the id of the sentence
+     */
+    public static long addSentence(SentenceStore store, DependencyParseTree tree) {
+        List<Node> nodes = tree.toList();
+        int maxId = 0;
+        for (Node node : nodes) {
+            maxId = Math.max(maxId, node.getId());
+        }
+        String[] words = new String[maxId + 1];
+        for (Node node : nodes) {
+            words[node.getId()] = node.getWord();
+        }
+        return store.add(tree.getSentence(), words, tree.getConllLines());
+    }
 }
@@ -52,6 +52,21 @@ public class TreeExtraction {
         return Joiner.on(" ").join(words);
     }
 
+    /**
+     * @return the ids of the words of {@link #toString()}, in the same order
+     */
+    public int[] getTokenIds() {
+        List<Node> nodes = rootNode.find(nodeIds);
+        int[] ids = new int[nodes.size() + (lastNodeId != null ? 1 : 0)];
+        for (int i = 0; i < nodes.size(); i++) {
+            ids[i] = nodes.get(i).getId();
+        }
+        if (lastNodeId != null) {
+            ids[nodes.size()] = lastNodeId;
+        }
+        return ids;
+    }
+
     public int length() {
         return Iterables.size(nodeIds);
     }
@@ -0,0 +1,103 @@
+package de.hpi.sequence;
+
+/**
+ * A {@link LayeredTokenMatcher} that runs a {@link TokenAutomaton} instead of a {@link
+ * java.util.regex.Matcher}. It has the same find semantics: each call to {@link #find()} continues
+ * after the previous match, and an empty match advances the search by one token.
+ */
+public class AutomatonTokenMatcher extends LayeredTokenMatcher {
+
+    private final TokenAutomaton automaton;
+    private final char[] input;
+
+    // start index of the next search, and the offsets of the last match (null if none)
+    private int from;
+    private int[] groups;
+
+    protected AutomatonTokenMatcher(TokenAutomaton automaton, char[] input) {
+        super(null);
+        this.automaton = automaton;
+        this.input = input;
+        reset();
+    }
+
+    @Override
+    public boolean find() {
+        if (from > input.length) {
+            groups = null;
+            return false;
+        }
+        groups = automaton.find(input, from, false);
+        advance();
+        return groups != null;
+    }
+
+    @Override
+    public boolean find(int start) {
+        if (start < 0 || start > input.length) {
+            throw new IndexOutOfBoundsException("Illegal start index");
+        }
+        reset();
+        from = start;
+        return find();
+    }
+
+    @Override
+    public boolean matches() {
+        groups = automaton.find(input, 0, true);
+        advance();
+        return groups != null;
+    }
+
+    @Override
+    public int groupCount() {
+        return automaton.groupCount();
+    }
+
+    @Override
+    public int start() {
+        return start(0);
+    }
+
+    @Override
+    public int start(int group) {
+        checkGroup(group);
+        return groups[2 * group];
+    }
+
+    @Override
+    public int end() {
+        return end(0);
+    }
+
+    @Override
+    public int end(int group) {
+        checkGroup(group);
+        return groups[2 * group + 1];
+    }
+
+    @Override
+    public void reset() {
+        from = 0;
+        groups = null;
+    }
+
+    // continues the next search after the last match
+    private void advance() {
+        if (groups == null) {
+            from = input.length + 1;
+        } else {
+            from = groups[1] == groups[0] ? groups[1] + 1 : groups[1];
+        }
+    }
+
+    private void checkGroup(int group) {
+        if (groups == null) {
+            throw new IllegalStateException("No match available");
+        }
+        if (group < 0 || group > automaton.groupCount()) {
+            throw new IndexOutOfBoundsException("No group " + group);
+        }
+    }
+
+}
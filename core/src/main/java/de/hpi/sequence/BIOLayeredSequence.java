@@ -1,11 +1,14 @@
 package de.hpi.sequence;
 
-import com.google.common.collect.*;
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import edu.washington.cs.knowitall.commonlib.Range;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -17,11 +20,11 @@ import java.util.List;
  */
 public class BIOLayeredSequence extends SimpleLayeredSequence {
 
-    // Maps layerName => immutable list of span ranges
-    private HashMap<String, List<Range>> spans;
+    // Names of the span layers of this sequence (span layers of a parent are not included)
+    private HashSet<String> spanLayers;
 
-    // Maps layerName => span type => immutable list of ranges
-    private HashMap<String, ImmutableMultimap<String, Range>> spanTypes;
+    // Maps layerName => span index, created on first access
+    private HashMap<String, SpanIndex> spanIndexes;
 
     /**
      * Constructs a new {@linkplain BIOLayeredSequence} class.
@@ -29,8 +32,23 @@ public class BIOLayeredSequence extends SimpleLayeredSequence {
      */
     public BIOLayeredSequence(int length) {
         super(length);
-        spans = new HashMap<String, List<Range>>();
-        spanTypes = new HashMap<String, ImmutableMultimap<String, Range>>();
+        spanLayers = new HashSet<String>();
+        spanIndexes = new HashMap<String, SpanIndex>();
+    }
+
+    /**
+     * Constructs a view on the subsequence of <code>parent</code> starting at <code>start</code>
+     * with the given length. The layers are not copied, and the spans of a span layer are only
+     * computed when they are requested.
+     *
+     * @param parent the viewed sequence
+     * @param start  the start index in the parent
+     * @param length the length of the view
+     */
+    protected BIOLayeredSequence(BIOLayeredSequence parent, int start, int length) {
+        super(parent, start, length);
+        spanLayers = new HashSet<String>();
+        spanIndexes = new HashMap<String, SpanIndex>();
     }
 
     /**
@@ -54,15 +72,11 @@ public class BIOLayeredSequence extends SimpleLayeredSequence {
      * @return a list of ranges in order
      */
     public List<Range> getSpans(String layerName) {
-        if (hasLayer(layerName)) {
-            if (spans.containsKey(layerName)) {
-                return spans.get(layerName);
-            } else {
-                return new ArrayList<Range>();
-            }
+        SpanIndex index = getSpanIndex(layerName);
+        if (index != null) {
+            return index.getRanges();
         } else {
-            throw new IllegalArgumentException("Invalid layer name: "
-                                               + layerName);
+            return new ArrayList<Range>();
         }
     }
 
@@ -74,24 +88,56 @@ public class BIOLayeredSequence extends SimpleLayeredSequence {
      * @return a list of ranges
      */
     public ImmutableCollection<Range> getSpans(String layerName, String type) {
-        if (hasLayer(layerName)) {
-            if (spans.containsKey(layerName)
-                && spanTypes.get(layerName).containsKey(type)) {
-                return spanTypes.get(layerName).get(type);
-            } else {
-                return ImmutableSet.of();
-            }
+        SpanIndex index = getSpanIndex(layerName, type);
+        if (index != null) {
+            return index.getRanges();
         } else {
+            return ImmutableSet.of();
+        }
+    }
+
+    /**
+     * Returns the index of the spans on the given layer. The index is built on first access.
+     *
+     * @param layerName the layer name
+     * @return the span index, or null if the layer is not a span layer
+     */
+    public SpanIndex getSpanIndex(String layerName) {
+        if (!hasLayer(layerName)) {
             throw new IllegalArgumentException("Invalid layer name: "
                                                + layerName);
         }
+        SpanIndex index = spanIndexes.get(layerName);
+        if (index == null && isSpanLayer(layerName)) {
+            try {
+                index = SpanIndex.build(getLayer(layerName));
+            } catch (SequenceException e) {
+                // the tags have been checked when the layer was added
+                String msg = String.format("Could not index spans of layer %s", layerName);
+                throw new IllegalStateException(msg, e);
+            }
+            spanIndexes.put(layerName, index);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index of the spans of the given type on the given layer.
+     *
+     * @param layerName the layer name
+     * @param type      the type
+     * @return the span index, or null if the layer is not a span layer
+     */
+    public SpanIndex getSpanIndex(String layerName, String type) {
+        SpanIndex index = getSpanIndex(layerName);
+        return index == null ? null : index.forType(type);
     }
 
     /**
      * Adds a new layer to this sequence, but interprets it using B/I/O notation. This means that
      * each tag must start with <code>B-</code>, <code>I-</code>, or equal <code>O</code>. Any tag
      * that equals <code>I-X</code> for some string <code>X</code> must come immediately after
-     * either <code>I-X</code> or <code>B-X</code>.
+     * either <code>I-X</code> or <code>B-X</code>. The spans are indexed on first access.
      *
      * @param layerName the layer name
      * @param input the input
@@ -101,14 +147,13 @@ public class BIOLayeredSequence extends SimpleLayeredSequence {
     public void addSpanLayer(String layerName, List<String> input)
         throws SequenceException {
 
-        ImmutableMultimap<String, Range> typeToSpans = ImmutableMultimap
-            .copyOf(getRanges(input));
-        List<Range> allRanges = new ArrayList<Range>();
-        Collections.sort(allRanges);
+        for (String tag : input) {
+            if (tag.startsWith("B-")) {
+                SpanIndex.checkTag(tag);
+            }
+        }
         super.addLayer(layerName, input);
-
-        spans.put(layerName, ImmutableList.copyOf(typeToSpans.values()));
-        spanTypes.put(layerName, typeToSpans);
+        spanLayers.add(layerName);
     }
 
     /**
@@ -167,17 +212,15 @@ public class BIOLayeredSequence extends SimpleLayeredSequence {
                                                 int length) {
         ImmutableList<String> subLayer = super.getSubSequence(layerName, start,
                                                               length);
-        if (spans.containsKey(layerName)) {
-            List<String> spanSub = new ArrayList<String>(length);
-            spanSub.addAll(subLayer);
-            if (spanSub.size() > 0 && spanSub.get(0).startsWith("I-")) {
-
-                try {
-                    String type = getType(spanSub.get(0));
-                    spanSub.set(0, "B-" + type);
-                } catch (SequenceException e) {
-                    // TODO: what is going on here?
-                }
+        // only copy the sub layer if its first tag has to be replaced
+        if (isSpanLayer(layerName) && subLayer.size() > 0
+            && subLayer.get(0).startsWith("I-")) {
+            List<String> spanSub = new ArrayList<String>(subLayer);
+            try {
+                String type = getType(spanSub.get(0));
+                spanSub.set(0, "B-" + type);
+            } catch (SequenceException e) {
+                // TODO: what is going on here?
             }
             return ImmutableList.copyOf(spanSub);
         } else {
@@ -203,32 +246,15 @@ public class BIOLayeredSequence extends SimpleLayeredSequence {
     }
 
     /**
-     * Constructs a new subsequence from this instance. If the subsequence partially intersects a
-     * span (e.g. the subsequence starts at a I-X tag), then it will be replaced with a B-X tag.
+     * Constructs a view on a subsequence of this instance. If the subsequence partially intersects
+     * a span (e.g. the subsequence starts at a I-X tag), then it will be replaced with a B-X tag.
      *
      * @param start the start of the subsequence
      * @param length the length of the subsequence
      * @return a subsequence from this instance
      */
     public BIOLayeredSequence getSubSequence(int start, int length) {
-        BIOLayeredSequence sub = new BIOLayeredSequence(length);
-        for (String layerName : getLayerNames()) {
-            List<String> subLayer = getSubSequence(layerName, start, length);
-
-            try {
-                if (isSpanLayer(layerName)) {
-                    sub.addSpanLayer(layerName, subLayer);
-                } else {
-                    sub.addLayer(layerName, subLayer);
-                }
-            } catch (SequenceException e) {
-                String msg = String.format(
-                    "Could not create subsequence of length %s starting at %s "
-                    + "for layer %s", start, length, layerName);
-                throw new IllegalStateException(msg, e);
-            }
-        }
-        return sub;
+        return new BIOLayeredSequence(this, start, length);
     }
 
     /**
@@ -243,52 +269,12 @@ public class BIOLayeredSequence extends SimpleLayeredSequence {
     }
 
     protected boolean isSpanLayer(String layerName) {
-        return spans.containsKey(layerName);
-    }
-
-    private TreeMultimap<String, Range> getRanges(List<String> tags)
-        throws SequenceException {
-
-        String inType = null;
-        int startIndex = -1;
-        int length = 0;
-
-        TreeMultimap<String, Range> results = TreeMultimap.create();
-
-        for (int i = 0; i < tags.size(); i++) {
-
-            String tag = tags.get(i);
-            if (inType != null && (!tag.equals("I-" + inType))) {
-
-                Range r = new Range(startIndex, length);
-                results.put(inType, r);
-
-                inType = null;
-                startIndex = -1;
-                length = 0;
-
-            }
-
-            if (tag.startsWith("B-")) {
-
-                inType = getType(tag);
-                startIndex = i;
-                length = 1;
-
-            } else if (tag.startsWith("I-") && inType != null
-                       && tag.equals("I-" + inType)) {
-
-                length++;
-
-            }
-        }
-
-        if (inType != null) {
-            Range r = new Range(startIndex, length);
-            results.put(inType, r);
+        if (spanLayers.contains(layerName)) {
+            return true;
         }
-
-        return results;
+        SimpleLayeredSequence parent = getParent();
+        return parent instanceof BIOLayeredSequence
+               && ((BIOLayeredSequence) parent).isSpanLayer(layerName);
     }
 
     private String getType(String tag) throws SequenceException {
@@ -3,6 +3,7 @@ package de.hpi.sequence;
 import com.google.common.base.Joiner;
 import com.google.common.collect.Sets;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -30,7 +31,9 @@ import java.util.Set;
  *
  * @author afader
  */
-public class Encoder {
+public class Encoder implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * The maximum encoding size.
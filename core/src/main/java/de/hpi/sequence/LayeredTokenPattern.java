@@ -2,6 +2,7 @@ package de.hpi.sequence;
 
 import com.google.common.base.Joiner;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -36,17 +37,21 @@ import java.util.regex.Pattern;
  * <li> {@code ^(NNP_pos+) lives_word in_word (NNP_pos+) ._pos$} - matches sentences that start with
  * at least one proper noun, followed by "lives in", followed by at least one proper noun, and then
  * ending with a period. Captures the two proper nouns as groups (see {@link
- * LayeredTokenMatcher}).</li> </ul>
+ * LayeredTokenMatcher}).</li> </ul> <p> Compiling a pattern is expensive. Instances are immutable
+ * and can be shared, so extractors should obtain them from {@link LayeredTokenPatternCache}.
+ * </p>
  *
  * @author afader
  */
-public class LayeredTokenPattern {
+public class LayeredTokenPattern implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     // The caller-supplied pattern string
     private String patternString;
 
     // Dealing with the tokenized pattern
-    private LayeredPatternTokenizer tokenizer;
+    private transient LayeredPatternTokenizer tokenizer;
     private int patternLength;
     private String[] patternTokens;
     private String[] patternSymbols;
@@ -61,6 +66,10 @@ public class LayeredTokenPattern {
     private String encodedPatternString;
     private Pattern encodedPattern;
 
+    // Backtracking-free matching, compiled on first use (null if the pattern is not supported)
+    private transient volatile TokenAutomaton automaton;
+    private transient volatile boolean automatonCompiled;
+
     /**
      * Constructs a new instance from the given String pattern
      * @param patternString the pattern string
@@ -162,7 +171,8 @@ public class LayeredTokenPattern {
             String symbol = patternSymbols[i];
             String layerName = patternLayerNames[i];
             if (symbol == null || layerName == null) {
-                encodedTokens[i] = patternTokens[i];
+                // '$' would also match before a final tuple encoded as a line terminator
+                encodedTokens[i] = patternTokens[i].equals("$") ? "\\z" : patternTokens[i];
             } else {
                 int layerIndex = layerNames.indexOf(layerName);
                 char[] classEncoding = encoder.encodeClass(layerIndex, symbol);
@@ -172,7 +182,8 @@ public class LayeredTokenPattern {
             }
         }
         encodedPatternString = Joiner.on("").join(encodedTokens);
-        encodedPattern = Pattern.compile(encodedPatternString);
+        // tuples may be encoded as line terminators, which '.' has to match as well
+        encodedPattern = Pattern.compile(encodedPatternString, Pattern.DOTALL);
     }
 
     /**
@@ -189,6 +200,48 @@ public class LayeredTokenPattern {
         return new LayeredTokenMatcher(m);
     }
 
+    /**
+     * Returns a matcher that uses a {@link TokenAutomaton} instead of a backtracking regular
+     * expression, which keeps the matching time linear even with capturing groups. If the pattern
+     * uses constructs the automaton does not support, a regular matcher is returned instead.
+     *
+     * @param seq the sequence
+     * @return the matcher
+     * @throws SequenceException if unable to create a matcher over seq
+     */
+    public LayeredTokenMatcher automatonMatcher(LayeredSequence seq)
+        throws SequenceException {
+        TokenAutomaton automaton = getAutomaton();
+        if (automaton == null) {
+            return matcher(seq);
+        }
+        return new AutomatonTokenMatcher(automaton, encodeSequenceChars(seq));
+    }
+
+    /**
+     * @return true if this pattern can be matched by a {@link TokenAutomaton}
+     */
+    public boolean hasAutomaton() {
+        return getAutomaton() != null;
+    }
+
+    private TokenAutomaton getAutomaton() {
+        if (!automatonCompiled) {
+            synchronized (this) {
+                if (!automatonCompiled) {
+                    try {
+                        automaton = TokenAutomaton.compile(patternTokens, patternSymbols,
+                                                           patternLayerNames, layerNames, encoder);
+                    } catch (SequenceException e) {
+                        automaton = null;
+                    }
+                    automatonCompiled = true;
+                }
+            }
+        }
+        return automaton;
+    }
+
     /**
      * Takes the given layered sequence object and encodes it using the {@link Encoder} object of
      * this instance.
@@ -196,13 +249,17 @@ public class LayeredTokenPattern {
      * @return an encoded version of seq
      */
     private String encodeSequence(LayeredSequence seq) throws SequenceException {
+        return new String(encodeSequenceChars(seq));
+    }
+
+    private char[] encodeSequenceChars(LayeredSequence seq) throws SequenceException {
         int n = seq.getLength();
         char[] encoded = new char[n];
         for (int i = 0; i < n; i++) {
             String[] tuple = getTupleAt(seq, i);
             encoded[i] = encoder.encode(tuple);
         }
-        return new String(encoded);
+        return encoded;
     }
 
     /**
@@ -0,0 +1,158 @@
+package de.hpi.sequence;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * <p> A cache of compiled {@link LayeredTokenPattern} objects, keyed by their pattern string.
+ * Compiling a pattern builds an {@link Encoder} table over the cartesian product of the layer
+ * alphabets, so extractors that are constructed often should get their patterns from this cache
+ * instead of calling the constructor. </p> <p> The compiled patterns (including their encoders) can
+ * be serialized with {@link #write(OutputStream)}. If the resource {@link #DEFAULT_RESOURCE} is on
+ * the classpath, it is loaded when this class is initialized. </p>
+ */
+public class LayeredTokenPatternCache {
+
+    /**
+     * The classpath resource with precompiled patterns that is loaded at startup.
+     */
+    public static final String DEFAULT_RESOURCE = "layered_token_patterns.ser.gz";
+
+    private static final ConcurrentHashMap<String, LayeredTokenPattern> PATTERNS =
+        new ConcurrentHashMap<String, LayeredTokenPattern>();
+
+    static {
+        InputStream in = LayeredTokenPatternCache.class.getClassLoader()
+            .getResourceAsStream(DEFAULT_RESOURCE);
+        if (in != null) {
+            try {
+                read(in);
+            } catch (IOException e) {
+                System.err.println("Could not load precompiled patterns from "
+                                   + DEFAULT_RESOURCE + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private LayeredTokenPatternCache() {
+    }
+
+    /**
+     * Returns the compiled pattern for the given pattern string, compiling it if it is not cached
+     * yet.
+     *
+     * @param patternString the pattern string
+     * @return the compiled pattern
+     * @throws SequenceException if unable to compile patternString
+     */
+    public static LayeredTokenPattern get(String patternString) throws SequenceException {
+        LayeredTokenPattern pattern = PATTERNS.get(patternString);
+        if (pattern == null) {
+            pattern = new LayeredTokenPattern(patternString);
+            LayeredTokenPattern previous = PATTERNS.putIfAbsent(patternString, pattern);
+            if (previous != null) {
+                pattern = previous;
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * @param patternString the pattern string
+     * @return true if a compiled pattern for the given pattern string is cached
+     */
+    public static boolean contains(String patternString) {
+        return PATTERNS.containsKey(patternString);
+    }
+
+    /**
+     * @return the number of cached patterns
+     */
+    public static int size() {
+        return PATTERNS.size();
+    }
+
+    /**
+     * Removes all cached patterns.
+     */
+    public static void clear() {
+        PATTERNS.clear();
+    }
+
+    /**
+     * Writes all cached patterns as a gzipped, serialized map to the given stream.
+     *
+     * @param out the output stream
+     * @throws IOException if unable to write to out
+     */
+    public static void write(OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        ObjectOutputStream objectOut = new ObjectOutputStream(gzip);
+        objectOut.writeObject(new HashMap<String, LayeredTokenPattern>(PATTERNS));
+        objectOut.flush();
+        gzip.finish();
+    }
+
+    /**
+     * Reads patterns written by {@link #write(OutputStream)} and adds them to the cache. The
+     * stream is closed afterwards.
+     *
+     * @param in the input stream
+     * @return the number of patterns read
+     * @throws IOException if unable to read the patterns from in
+     */
+    @SuppressWarnings("unchecked")
+    public static int read(InputStream in) throws IOException {
+        ObjectInputStream objectIn = new ObjectInputStream(new GZIPInputStream(in));
+        try {
+            Map<String, LayeredTokenPattern> patterns =
+                (Map<String, LayeredTokenPattern>) objectIn.readObject();
+            PATTERNS.putAll(patterns);
+            return patterns.size();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Invalid pattern file", e);
+        } finally {
+            objectIn.close();
+        }
+    }
+
+    /**
+     * Compiles the patterns in a text file (one pattern per line) and writes them to a file that
+     * can be used as {@link #DEFAULT_RESOURCE}.
+     *
+     * @param args the pattern file and the output file
+     * @throws IOException if unable to read or write the files
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LayeredTokenPatternCache <pattern file> <output file>");
+            System.exit(1);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            new FileInputStream(args[0]), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    get(line.trim());
+                }
+            }
+        }
+        try (OutputStream out = new FileOutputStream(args[1])) {
+            write(out);
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package de.hpi.sequence;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p> Tags a sequence with several {@link RegexTagger}s into a single int-coded label array. The
+ * label of a token is <code>0</code> if no pattern matched it, and <code>i + 1</code> if it was
+ * matched by the i-th tagger. If several patterns match a token, the first tagger wins. </p> <p>
+ * The labels can be converted back into tags with {@link #getTag(int)} or {@link
+ * #toTags(int[])}. </p>
+ */
+public class MultiRegexTagger {
+
+    /**
+     * The label of a token that did not match any pattern.
+     */
+    public static final int OUT_LABEL = 0;
+
+    private final ImmutableList<RegexTagger> taggers;
+
+    /**
+     * @param taggers the taggers, ordered by priority
+     */
+    public MultiRegexTagger(List<RegexTagger> taggers) {
+        this.taggers = ImmutableList.copyOf(taggers);
+    }
+
+    /**
+     * @param taggers the taggers, ordered by priority
+     */
+    public MultiRegexTagger(RegexTagger... taggers) {
+        this(Arrays.asList(taggers));
+    }
+
+    /**
+     * @return the taggers of this object
+     */
+    public ImmutableList<RegexTagger> getTaggers() {
+        return taggers;
+    }
+
+    /**
+     * @param seq the sequence
+     * @return the label of each token of <code>seq</code>
+     * @throws SequenceException if unable to match against seq
+     */
+    public int[] tag(LayeredSequence seq) throws SequenceException {
+        int[] labels = new int[seq.getLength()];
+        for (int t = 0; t < taggers.size(); t++) {
+            int label = t + 1;
+            LayeredTokenMatcher m = taggers.get(t).getPattern().matcher(seq);
+            while (m.find()) {
+                for (int i = m.start(); i < m.end(); i++) {
+                    if (labels[i] == OUT_LABEL) {
+                        labels[i] = label;
+                    }
+                }
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * @param label a label returned by {@link #tag(LayeredSequence)}
+     * @return the tag of the given label, or {@link RegexTagger#OUT_TAG}
+     */
+    public String getTag(int label) {
+        if (label == OUT_LABEL) {
+            return RegexTagger.OUT_TAG;
+        }
+        return taggers.get(label - 1).getTag();
+    }
+
+    /**
+     * @param labels the labels returned by {@link #tag(LayeredSequence)}
+     * @return the tags of the given labels
+     */
+    public List<String> toTags(int[] labels) {
+        List<String> results = new ArrayList<String>(labels.length);
+        for (int label : labels) {
+            results.add(getTag(label));
+        }
+        return results;
+    }
+
+}
@@ -1,6 +1,7 @@
 package de.hpi.sequence;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -9,7 +10,9 @@ import java.util.List;
  * #tag(LayeredSequence)} method will return a list of strings, where each string is either the tag,
  * or the {@link #OUT_TAG} symbol. </p> <p> For example, given the sequence "she sells sea shells by
  * the shore", the tag symbol "X" and a regular expression that matches the words starting with s,
- * the tagger will return the list [X, X, X, X, O, O, X]. </p>
+ * the tagger will return the list [X, X, X, X, O, O, X]. </p> <p> The {@link
+ * #tagPositions(LayeredSequence)} method returns the matching positions as a {@link BitSet}
+ * instead, which avoids allocating a list entry per token. </p>
  *
  * @author afader
  */
@@ -33,6 +36,20 @@ public class RegexTagger {
         this.tag = tag;
     }
 
+    /**
+     * @return the tag used for matching tokens
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * @return the regular expression to match
+     */
+    public LayeredTokenPattern getPattern() {
+        return pattern;
+    }
+
     /**
      * @param seq the sequence
      * @return the tagged result
@@ -41,16 +58,28 @@ public class RegexTagger {
     public List<String> tag(LayeredSequence seq) throws SequenceException {
 
         int n = seq.getLength();
+        BitSet positions = tagPositions(seq);
         List<String> results = new ArrayList<String>(n);
         for (int i = 0; i < n; i++) {
-            results.add(OUT_TAG);
+            results.add(positions.get(i) ? tag : OUT_TAG);
         }
 
+        return results;
+
+    }
+
+    /**
+     * @param seq the sequence
+     * @return the positions of the tokens matched by the pattern
+     * @throws SequenceException if unable to match against seq
+     */
+    public BitSet tagPositions(LayeredSequence seq) throws SequenceException {
+
+        BitSet results = new BitSet(seq.getLength());
+
         LayeredTokenMatcher m = pattern.matcher(seq);
         while (m.find()) {
-            for (int i = m.start(); i < m.end(); i++) {
-                results.set(i, tag);
-            }
+            results.set(m.start(), m.end());
         }
 
         return results;
@@ -2,6 +2,7 @@ package de.hpi.sequence;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import edu.washington.cs.knowitall.commonlib.Range;
 
 import java.util.*;
@@ -12,6 +13,11 @@ import java.util.*;
  * length of the sequence is fixed and the values at each position in the sequence cannot be
  * changed. New layers can be added.
  *
+ * A sequence can also be a view on a range of a parent sequence (see
+ * {@link #SimpleLayeredSequence(SimpleLayeredSequence, int, int)}). A view does not copy the
+ * layers of its parent; each layer is resolved lazily as a sublist of the parent layer the first
+ * time it is accessed.
+ *
  * @author afader
  */
 public class SimpleLayeredSequence implements LayeredSequence {
@@ -21,6 +27,14 @@ public class SimpleLayeredSequence implements LayeredSequence {
     private int numLayers;
     private int length;
 
+    // the viewed sequence and the offset of this view in it, or null if this is not a view
+    private final SimpleLayeredSequence parent;
+    private final int offset;
+
+    // cached hash code, 0 if not computed yet (reset when a layer is added). Views do not cache
+    // it, since layers can also be added to the viewed sequence.
+    private int hash;
+
     /**
      * Constructs a new layered sequence with the given length
      *
@@ -30,6 +44,30 @@ public class SimpleLayeredSequence implements LayeredSequence {
         init();
         this.length = length;
         numLayers = 0;
+        this.parent = null;
+        this.offset = 0;
+    }
+
+    /**
+     * Constructs a view on the subsequence of <code>parent</code> starting at <code>start</code>
+     * with the given length. The layers of the parent are not copied.
+     *
+     * @param parent the viewed sequence
+     * @param start  the start index in the parent
+     * @param length the length of the view
+     * @throws IndexOutOfBoundsException if the range is not within the parent
+     */
+    protected SimpleLayeredSequence(SimpleLayeredSequence parent, int start, int length) {
+        if (start < 0 || length < 0 || start + length > parent.getLength()) {
+            throw new IndexOutOfBoundsException(String.format(
+                "Invalid subsequence of length %s starting at %s (sequence length %s)",
+                length, start, parent.getLength()));
+        }
+        init();
+        this.length = length;
+        numLayers = 0;
+        this.parent = parent;
+        this.offset = start;
     }
 
     private void init() {
@@ -42,19 +80,56 @@ public class SimpleLayeredSequence implements LayeredSequence {
      * @return an immutable list of the layer
      */
     public ImmutableList<String> getLayer(String layerName) {
-        if (hasLayer(layerName)) {
+        if (layerNames.contains(layerName)) {
             return layers.get(layerName);
+        } else if (parent != null && parent.hasLayer(layerName)) {
+            ImmutableList<String> layer = layers.get(layerName);
+            if (layer == null) {
+                layer = getParentLayer(layerName, offset, length);
+                layers.put(layerName, layer);
+            }
+            return layer;
         } else {
             throw new IllegalArgumentException("Invalid layer name: "
                                                + layerName);
         }
     }
 
+    /**
+     * Resolves a layer of a view from the parent sequence. Subclasses can override this to adjust
+     * the layer at the view boundaries.
+     *
+     * @param layerName the layer name
+     * @param start     the start index in the parent
+     * @param length    the length of the view
+     * @return the layer of this view
+     */
+    protected ImmutableList<String> getParentLayer(String layerName, int start, int length) {
+        return parent.getSubSequence(layerName, start, length);
+    }
+
+    /**
+     * @return the viewed sequence, or null if this sequence is not a view
+     */
+    protected SimpleLayeredSequence getParent() {
+        return parent;
+    }
+
+    /**
+     * @return the start index of this view in the parent sequence, 0 if this is not a view
+     */
+    protected int getOffset() {
+        return offset;
+    }
+
     /**
      * @return the number of layers
      */
     public int getNumLayers() {
-        return numLayers;
+        if (parent == null) {
+            return numLayers;
+        }
+        return getLayerNames().size();
     }
 
     /**
@@ -89,6 +164,7 @@ public class SimpleLayeredSequence implements LayeredSequence {
         layerNames.add(layerName);
         layers.put(layerName, layer);
         numLayers++;
+        hash = 0;
     }
 
     /**
@@ -126,7 +202,8 @@ public class SimpleLayeredSequence implements LayeredSequence {
      * @return true if this sequence has a layer with the given name
      */
     public boolean hasLayer(String layerName) {
-        return layerNames.contains(layerName);
+        return layerNames.contains(layerName)
+               || (parent != null && parent.hasLayer(layerName));
     }
 
     /**
@@ -166,24 +243,11 @@ public class SimpleLayeredSequence implements LayeredSequence {
     /**
      * @param start     the start index
      * @param length    the length of the layer
-     * @return the subsequence of this layered sequence starting at the given position with the
-     * given length
+     * @return a view on the subsequence of this layered sequence starting at the given position
+     * with the given length
      */
     public SimpleLayeredSequence getSubSequence(int start, int length) {
-        SimpleLayeredSequence sub = new SimpleLayeredSequence(length);
-        for (String layerName : getLayerNames()) {
-
-            try {
-                sub.addLayer(layerName,
-                             getSubSequence(layerName, start, length));
-            } catch (SequenceException e) {
-                String msg = String.format(
-                    "Could not create subsequence of length %s starting at %s "
-                    + "for layer %s", start, length, layerName);
-                throw new IllegalStateException(msg, e);
-            }
-        }
-        return sub;
+        return new SimpleLayeredSequence(this, start, length);
     }
 
     /**
@@ -199,7 +263,21 @@ public class SimpleLayeredSequence implements LayeredSequence {
      * @return the layer names
      */
     public Collection<String> getLayerNames() {
-        return layerNames;
+        if (parent == null) {
+            return layerNames;
+        }
+        return ImmutableSet.<String>builder()
+            .addAll(parent.getLayerNames()).addAll(layerNames).build();
+    }
+
+    // resolves all layers of a view, so that equals and hashCode see the same state as for a copy
+    private HashMap<String, ImmutableList<String>> getLayers() {
+        if (parent != null) {
+            for (String layerName : getLayerNames()) {
+                getLayer(layerName);
+            }
+        }
+        return layers;
     }
 
     /**
@@ -233,13 +311,18 @@ public class SimpleLayeredSequence implements LayeredSequence {
 
     @Override
     public int hashCode() {
+        if (hash != 0) {
+            return hash;
+        }
         final int prime = 31;
         int result = 1;
-        result = prime * result
-                 + ((layerNames == null) ? 0 : layerNames.hashCode());
-        result = prime * result + ((layers == null) ? 0 : layers.hashCode());
+        result = prime * result + getLayerNames().hashCode();
+        result = prime * result + getLayers().hashCode();
         result = prime * result + length;
-        result = prime * result + numLayers;
+        result = prime * result + getNumLayers();
+        if (parent == null) {
+            hash = result;
+        }
         return result;
     }
 
@@ -255,24 +338,19 @@ public class SimpleLayeredSequence implements LayeredSequence {
             return false;
         }
         SimpleLayeredSequence other = (SimpleLayeredSequence) obj;
-        if (layerNames == null) {
-            if (other.layerNames != null) {
-                return false;
-            }
-        } else if (!layerNames.equals(other.layerNames)) {
+        if (hash != 0 && other.hash != 0 && hash != other.hash) {
             return false;
         }
-        if (layers == null) {
-            if (other.layers != null) {
-                return false;
-            }
-        } else if (!layers.equals(other.layers)) {
+        if (length != other.length) {
             return false;
         }
-        if (length != other.length) {
+        if (getNumLayers() != other.getNumLayers()) {
+            return false;
+        }
+        if (!getLayerNames().equals(other.getLayerNames())) {
             return false;
         }
-        if (numLayers != other.numLayers) {
+        if (!getLayers().equals(other.getLayers())) {
             return false;
         }
         return true;
@@ -0,0 +1,243 @@
+package de.hpi.sequence;
+
+import com.google.common.collect.ImmutableList;
+import edu.washington.cs.knowitall.commonlib.Range;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An index over the spans of a B/I/O encoded layer (see {@link BIOLayeredSequence}). The spans are
+ * stored as sorted arrays of start and end (exclusive) indexes, so that positional queries can be
+ * answered by binary search. <code>Range</code> objects are only created when they are requested.
+ *
+ * Since the spans of a layer never overlap, both the start and the end indexes are sorted.
+ */
+public class SpanIndex {
+
+    private static final SpanIndex EMPTY = new SpanIndex(new int[0], new int[0], new int[0],
+                                                         new ArrayList<String>());
+
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] typeIds;
+    private final List<String> types;
+
+    // lazily created
+    private SpanIndex[] typeIndexes;
+    private ImmutableList<Range> ranges;
+
+    private SpanIndex(int[] starts, int[] ends, int[] typeIds, List<String> types) {
+        this.starts = starts;
+        this.ends = ends;
+        this.typeIds = typeIds;
+        this.types = types;
+    }
+
+    /**
+     * Builds the index of the spans encoded in the given B/I/O tags. A span starts with a
+     * <code>B-X</code> tag and is continued by any following <code>I-X</code> tags. All other tags
+     * end a span.
+     *
+     * @param tags the B/I/O tags
+     * @return the index of the spans in <code>tags</code>
+     * @throws SequenceException if a <code>B-</code> tag does not have the form <code>B-X</code>
+     */
+    public static SpanIndex build(List<String> tags) throws SequenceException {
+        int n = tags.size();
+        int[] starts = new int[n];
+        int[] ends = new int[n];
+        int[] typeIds = new int[n];
+        List<String> types = new ArrayList<String>(2);
+
+        int size = 0;
+        int inType = -1;
+        for (int i = 0; i < n; i++) {
+            String tag = tags.get(i);
+            if (inType >= 0 && !isTag(tag, 'I', types.get(inType))) {
+                ends[size++] = i;
+                inType = -1;
+            }
+            if (tag.startsWith("B-")) {
+                checkTag(tag);
+                inType = getTypeId(tag, types);
+                starts[size] = i;
+                typeIds[size] = inType;
+            }
+        }
+        if (inType >= 0) {
+            ends[size++] = n;
+        }
+
+        return new SpanIndex(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size),
+                             Arrays.copyOf(typeIds, size), types);
+    }
+
+    /**
+     * @param tag a B/I/O tag
+     * @throws SequenceException if the tag does not have the form <code>B-X</code> or
+     *                           <code>I-X</code>
+     */
+    static void checkTag(String tag) throws SequenceException {
+        if (tag.length() <= 2 || tag.indexOf('-', 2) >= 0) {
+            throw new SequenceException("Invalid tag: " + tag);
+        }
+    }
+
+    private static boolean isTag(String tag, char prefix, String type) {
+        return tag.length() == type.length() + 2 && tag.charAt(0) == prefix
+               && tag.charAt(1) == '-' && tag.startsWith(type, 2);
+    }
+
+    private static int getTypeId(String tag, List<String> types) {
+        for (int id = 0; id < types.size(); id++) {
+            if (isTag(tag, 'B', types.get(id))) {
+                return id;
+            }
+        }
+        types.add(tag.substring(2));
+        return types.size() - 1;
+    }
+
+    /**
+     * @return the number of spans
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * @param k the index of the span
+     * @return the start index of the k-th span
+     */
+    public int getStart(int k) {
+        return starts[k];
+    }
+
+    /**
+     * @param k the index of the span
+     * @return the end index (exclusive) of the k-th span
+     */
+    public int getEnd(int k) {
+        return ends[k];
+    }
+
+    /**
+     * @param k the index of the span
+     * @return the type of the k-th span (e.g. <code>X</code> for <code>B-X I-X</code>)
+     */
+    public String getType(int k) {
+        return types.get(typeIds[k]);
+    }
+
+    /**
+     * @param k the index of the span
+     * @return the k-th span as a <code>Range</code>
+     */
+    public Range getRange(int k) {
+        return new Range(starts[k], ends[k] - starts[k]);
+    }
+
+    /**
+     * @return all spans as ranges, ordered by position
+     */
+    public ImmutableList<Range> getRanges() {
+        if (ranges == null) {
+            ImmutableList.Builder<Range> builder = ImmutableList.builder();
+            for (int k = 0; k < size(); k++) {
+                builder.add(getRange(k));
+            }
+            ranges = builder.build();
+        }
+        return ranges;
+    }
+
+    /**
+     * @param type the span type
+     * @return the index of the spans of the given type
+     */
+    public SpanIndex forType(String type) {
+        int id = types.indexOf(type);
+        if (id < 0) {
+            return EMPTY;
+        }
+        if (types.size() == 1) {
+            return this;
+        }
+        if (typeIndexes == null) {
+            typeIndexes = new SpanIndex[types.size()];
+        }
+        if (typeIndexes[id] == null) {
+            int count = 0;
+            for (int typeId : typeIds) {
+                if (typeId == id) {
+                    count++;
+                }
+            }
+            int[] typeStarts = new int[count];
+            int[] typeEnds = new int[count];
+            int j = 0;
+            for (int k = 0; k < size(); k++) {
+                if (typeIds[k] == id) {
+                    typeStarts[j] = starts[k];
+                    typeEnds[j] = ends[k];
+                    j++;
+                }
+            }
+            List<String> typeList = new ArrayList<String>(1);
+            typeList.add(type);
+            typeIndexes[id] = new SpanIndex(typeStarts, typeEnds, new int[count], typeList);
+        }
+        return typeIndexes[id];
+    }
+
+    /**
+     * @param i a token index
+     * @return the number of spans that start before <code>i</code>, which is also the index of the
+     * first span that starts at or after <code>i</code>
+     */
+    public int countStartingBefore(int i) {
+        return lowerBound(starts, i);
+    }
+
+    /**
+     * @param i a token index
+     * @return the index of the first span that ends after <code>i</code> (i.e. contains
+     * <code>i</code> or starts after it), or {@link #size()} if there is none
+     */
+    public int firstEndingAfter(int i) {
+        return lowerBound(ends, i + 1);
+    }
+
+    /**
+     * @param start the start of a range
+     * @param end   the end (exclusive) of a range
+     * @return the spans that overlap with the given range, ordered by position
+     */
+    public List<Range> getOverlapping(int start, int end) {
+        int from = firstEndingAfter(start);
+        int to = countStartingBefore(end);
+        List<Range> result = new ArrayList<Range>(Math.max(0, to - from));
+        for (int k = from; k < to; k++) {
+            result.add(getRange(k));
+        }
+        return result;
+    }
+
+    // index of the first element in the sorted array that is >= key
+    private static int lowerBound(int[] array, int key) {
+        int low = 0;
+        int high = array.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (array[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+}
@@ -2,6 +2,7 @@ package de.hpi.sequence;
 
 import com.google.common.base.Joiner;
 
+import java.io.Serializable;
 import java.util.Arrays;
 
 /**
@@ -10,7 +11,9 @@ import java.util.Arrays;
  *
  * @author afader
  */
-public class StringArrayWrapper {
+public class StringArrayWrapper implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String[] data;
 
@@ -0,0 +1,485 @@
+package de.hpi.sequence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * <p> A compiled form of a {@link LayeredTokenPattern} that matches encoded token sequences
+ * without backtracking. The pattern is compiled into a small program of instructions, which is
+ * run as a tagged NFA (a "Pike VM"): all alternatives are followed in lockstep, and each thread
+ * carries its own capture group offsets. Matching takes time linear in the length of the sequence
+ * times the size of the pattern, independent of the number of capturing groups. </p> <p> Threads
+ * are kept in priority order, so the leftmost match and the captured groups are the same as those
+ * found by {@link java.util.regex.Matcher}. </p> <p> Supported are token symbols, <code>.</code>,
+ * classes <code>[...]</code> of symbols, capturing groups, non-capturing groups <code>(?:
+ * ...)</code>, alternation, the anchors <code>^</code> and <code>$</code>, and the greedy and
+ * reluctant quantifiers <code>? * +</code>. Other constructs (bounded repetition, look-around,
+ * back references, escapes) cause {@link #compile} to throw a {@link SequenceException}. </p>
+ */
+public class TokenAutomaton {
+
+    private static final int CHAR = 0;
+    private static final int ANY = 1;
+    private static final int SPLIT = 2;
+    private static final int JMP = 3;
+    private static final int SAVE = 4;
+    private static final int BOL = 5;
+    private static final int EOL = 6;
+    private static final int MATCH = 7;
+
+    // the program: opcode, two operands and a char set per instruction
+    private final int[] ops;
+    private final int[] arg1;
+    private final int[] arg2;
+    private final BitSet[] sets;
+    private final int groupCount;
+
+    private TokenAutomaton(Program program) {
+        int n = program.ops.size();
+        ops = new int[n];
+        arg1 = new int[n];
+        arg2 = new int[n];
+        sets = program.sets.toArray(new BitSet[n]);
+        for (int i = 0; i < n; i++) {
+            ops[i] = program.ops.get(i);
+            arg1[i] = program.arg1.get(i);
+            arg2[i] = program.arg2.get(i);
+        }
+        groupCount = program.groupCount;
+    }
+
+    /**
+     * Compiles a tokenized pattern.
+     *
+     * @param tokens       the pattern tokens (symbol/layer pairs and meta-characters)
+     * @param symbols      the symbol of each token, or null for meta-characters
+     * @param layers       the layer name of each token, or null for meta-characters
+     * @param patternLayers the layer names in the order used by the encoder
+     * @param encoder      the encoder used to encode the sequences
+     * @return the compiled automaton
+     * @throws SequenceException if the pattern contains unsupported constructs
+     */
+    static TokenAutomaton compile(String[] tokens, String[] symbols, String[] layers,
+                                  List<String> patternLayers, Encoder encoder)
+        throws SequenceException {
+        Parser parser = new Parser(tokens, symbols, layers, patternLayers, encoder);
+        Node root = parser.parse();
+
+        Program program = new Program();
+        program.groupCount = parser.groupCount;
+        program.emit(SAVE, 0, 0, null);
+        root.emit(program);
+        program.emit(SAVE, 1, 0, null);
+        program.emit(MATCH, 0, 0, null);
+        return new TokenAutomaton(program);
+    }
+
+    /**
+     * @return the number of capturing groups of the pattern
+     */
+    public int groupCount() {
+        return groupCount;
+    }
+
+    /**
+     * Searches for the next match in <code>input</code>, starting at <code>from</code>.
+     *
+     * @param input    the encoded sequence
+     * @param from     the index to start searching at
+     * @param anchored if true, the match must span the whole input
+     * @return the start and end offsets of the match (index 0 and 1) and of each group (index 2g
+     * and 2g+1, -1 if the group did not participate), or null if there is no match
+     */
+    public int[] find(char[] input, int from, boolean anchored) {
+        int n = input.length;
+        int size = ops.length;
+        ThreadList clist = new ThreadList(size);
+        ThreadList nlist = new ThreadList(size);
+        int[] marks = new int[size];
+        int[] matched = null;
+
+        int[] initial = new int[2 * (groupCount + 1)];
+        Arrays.fill(initial, -1);
+
+        for (int sp = from; sp <= n; sp++) {
+            if (matched == null && (!anchored || sp == from)) {
+                addThread(clist, marks, 0, sp, initial, input);
+            }
+            if (clist.size == 0) {
+                break;
+            }
+            for (int t = 0; t < clist.size; t++) {
+                int pc = clist.pcs[t];
+                int[] caps = clist.caps[t];
+                switch (ops[pc]) {
+                    case CHAR:
+                        if (sp < n && sets[pc].get(input[sp])) {
+                            addThread(nlist, marks, pc + 1, sp + 1, caps, input);
+                        }
+                        break;
+                    case ANY:
+                        if (sp < n) {
+                            addThread(nlist, marks, pc + 1, sp + 1, caps, input);
+                        }
+                        break;
+                    case MATCH:
+                        if (!anchored || sp == n) {
+                            matched = caps;
+                            // lower priority threads are cut off
+                            t = clist.size;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            ThreadList tmp = clist;
+            clist = nlist;
+            nlist = tmp;
+            nlist.size = 0;
+        }
+        return matched;
+    }
+
+    private void addThread(ThreadList list, int[] marks, int pc, int sp, int[] caps,
+                           char[] input) {
+        if (marks[pc] == sp + 1) {
+            return;
+        }
+        marks[pc] = sp + 1;
+        switch (ops[pc]) {
+            case JMP:
+                addThread(list, marks, arg1[pc], sp, caps, input);
+                break;
+            case SPLIT:
+                addThread(list, marks, arg1[pc], sp, caps, input);
+                addThread(list, marks, arg2[pc], sp, caps, input);
+                break;
+            case SAVE:
+                int[] saved = caps.clone();
+                saved[arg1[pc]] = sp;
+                addThread(list, marks, pc + 1, sp, saved, input);
+                break;
+            case BOL:
+                if (sp == 0) {
+                    addThread(list, marks, pc + 1, sp, caps, input);
+                }
+                break;
+            case EOL:
+                if (sp == input.length) {
+                    addThread(list, marks, pc + 1, sp, caps, input);
+                }
+                break;
+            default:
+                list.add(pc, caps);
+                break;
+        }
+    }
+
+    private static class ThreadList {
+
+        private final int[] pcs;
+        private final int[][] caps;
+        private int size;
+
+        private ThreadList(int capacity) {
+            pcs = new int[capacity];
+            caps = new int[capacity][];
+        }
+
+        private void add(int pc, int[] threadCaps) {
+            pcs[size] = pc;
+            caps[size] = threadCaps;
+            size++;
+        }
+    }
+
+    private static class Program {
+
+        private final List<Integer> ops = new ArrayList<Integer>();
+        private final List<Integer> arg1 = new ArrayList<Integer>();
+        private final List<Integer> arg2 = new ArrayList<Integer>();
+        private final List<BitSet> sets = new ArrayList<BitSet>();
+        private int groupCount;
+
+        private int emit(int op, int a1, int a2, BitSet set) {
+            ops.add(op);
+            arg1.add(a1);
+            arg2.add(a2);
+            sets.add(set);
+            return ops.size() - 1;
+        }
+
+        private int pc() {
+            return ops.size();
+        }
+
+        private void patch(int instruction, int a1, int a2) {
+            arg1.set(instruction, a1);
+            arg2.set(instruction, a2);
+        }
+    }
+
+    /**
+     * A node of the parsed pattern.
+     */
+    private abstract static class Node {
+
+        abstract void emit(Program program);
+    }
+
+    private static class CharNode extends Node {
+
+        private final BitSet set;
+
+        private CharNode(BitSet set) {
+            this.set = set;
+        }
+
+        void emit(Program program) {
+            if (set == null) {
+                program.emit(ANY, 0, 0, null);
+            } else {
+                program.emit(CHAR, 0, 0, set);
+            }
+        }
+    }
+
+    private static class AssertNode extends Node {
+
+        private final int op;
+
+        private AssertNode(int op) {
+            this.op = op;
+        }
+
+        void emit(Program program) {
+            program.emit(op, 0, 0, null);
+        }
+    }
+
+    private static class ConcatNode extends Node {
+
+        private final List<Node> nodes = new ArrayList<Node>();
+
+        void emit(Program program) {
+            for (Node node : nodes) {
+                node.emit(program);
+            }
+        }
+    }
+
+    private static class AltNode extends Node {
+
+        private final List<Node> alternatives = new ArrayList<Node>();
+
+        void emit(Program program) {
+            List<Integer> jumps = new ArrayList<Integer>();
+            for (int i = 0; i < alternatives.size() - 1; i++) {
+                int split = program.emit(SPLIT, 0, 0, null);
+                alternatives.get(i).emit(program);
+                jumps.add(program.emit(JMP, 0, 0, null));
+                program.patch(split, split + 1, program.pc());
+            }
+            alternatives.get(alternatives.size() - 1).emit(program);
+            for (int jump : jumps) {
+                program.patch(jump, program.pc(), 0);
+            }
+        }
+    }
+
+    private static class GroupNode extends Node {
+
+        private final int group;
+        private final Node body;
+
+        private GroupNode(int group, Node body) {
+            this.group = group;
+            this.body = body;
+        }
+
+        void emit(Program program) {
+            program.emit(SAVE, 2 * group, 0, null);
+            body.emit(program);
+            program.emit(SAVE, 2 * group + 1, 0, null);
+        }
+    }
+
+    private static class RepeatNode extends Node {
+
+        private final Node body;
+        private final char quantifier;
+        private final boolean greedy;
+
+        private RepeatNode(Node body, char quantifier, boolean greedy) {
+            this.body = body;
+            this.quantifier = quantifier;
+            this.greedy = greedy;
+        }
+
+        void emit(Program program) {
+            if (quantifier == '?') {
+                int split = program.emit(SPLIT, 0, 0, null);
+                body.emit(program);
+                patchSplit(program, split, split + 1, program.pc());
+            } else if (quantifier == '*') {
+                int split = program.emit(SPLIT, 0, 0, null);
+                body.emit(program);
+                program.emit(JMP, split, 0, null);
+                patchSplit(program, split, split + 1, program.pc());
+            } else {
+                int start = program.pc();
+                body.emit(program);
+                int split = program.emit(SPLIT, 0, 0, null);
+                patchSplit(program, split, start, program.pc());
+            }
+        }
+
+        private void patchSplit(Program program, int split, int loop, int exit) {
+            if (greedy) {
+                program.patch(split, loop, exit);
+            } else {
+                program.patch(split, exit, loop);
+            }
+        }
+    }
+
+    /**
+     * A recursive descent parser over the pattern tokens.
+     */
+    private static class Parser {
+
+        private final String[] tokens;
+        private final String[] symbols;
+        private final String[] layers;
+        private final List<String> patternLayers;
+        private final Encoder encoder;
+        private int pos;
+        private int groupCount;
+
+        private Parser(String[] tokens, String[] symbols, String[] layers,
+                       List<String> patternLayers, Encoder encoder) {
+            this.tokens = tokens;
+            this.symbols = symbols;
+            this.layers = layers;
+            this.patternLayers = patternLayers;
+            this.encoder = encoder;
+        }
+
+        private Node parse() throws SequenceException {
+            Node node = parseAlternation();
+            if (pos < tokens.length) {
+                throw unsupported();
+            }
+            return node;
+        }
+
+        private Node parseAlternation() throws SequenceException {
+            AltNode alt = new AltNode();
+            alt.alternatives.add(parseConcatenation());
+            while (pos < tokens.length && tokens[pos].equals("|")) {
+                pos++;
+                alt.alternatives.add(parseConcatenation());
+            }
+            return alt.alternatives.size() == 1 ? alt.alternatives.get(0) : alt;
+        }
+
+        private Node parseConcatenation() throws SequenceException {
+            ConcatNode concat = new ConcatNode();
+            while (pos < tokens.length && !tokens[pos].equals("|")
+                   && !tokens[pos].equals(")")) {
+                concat.nodes.add(parseRepetition());
+            }
+            return concat;
+        }
+
+        private Node parseRepetition() throws SequenceException {
+            Node node = parseAtom();
+            while (pos < tokens.length && isMeta(pos) && isQuantifier(tokens[pos])) {
+                char quantifier = tokens[pos].charAt(0);
+                pos++;
+                boolean greedy = true;
+                if (pos < tokens.length && isMeta(pos) && tokens[pos].equals("?")) {
+                    greedy = false;
+                    pos++;
+                } else if (pos < tokens.length && isMeta(pos) && tokens[pos].equals("+")) {
+                    // possessive quantifiers need backtracking control
+                    throw unsupported();
+                }
+                node = new RepeatNode(node, quantifier, greedy);
+            }
+            return node;
+        }
+
+        private Node parseAtom() throws SequenceException {
+            if (!isMeta(pos)) {
+                return new CharNode(encodeSymbol(pos++));
+            }
+            String token = tokens[pos++];
+            if (token.equals(".")) {
+                return new CharNode(null);
+            } else if (token.equals("^")) {
+                return new AssertNode(BOL);
+            } else if (token.equals("$")) {
+                return new AssertNode(EOL);
+            } else if (token.equals("[")) {
+                BitSet set = new BitSet();
+                while (pos < tokens.length && !(isMeta(pos) && tokens[pos].equals("]"))) {
+                    if (isMeta(pos)) {
+                        throw unsupported();
+                    }
+                    set.or(encodeSymbol(pos++));
+                }
+                expect("]");
+                return new CharNode(set);
+            } else if (token.equals("(")) {
+                int group = -1;
+                if (pos + 1 < tokens.length && tokens[pos].equals("?")) {
+                    if (!tokens[pos + 1].equals(":")) {
+                        throw unsupported();
+                    }
+                    pos += 2;
+                } else {
+                    group = ++groupCount;
+                }
+                Node body = parseAlternation();
+                expect(")");
+                return group < 0 ? body : new GroupNode(group, body);
+            }
+            throw unsupported();
+        }
+
+        private BitSet encodeSymbol(int i) throws SequenceException {
+            char[] encoding = encoder.encodeClass(patternLayers.indexOf(layers[i]), symbols[i]);
+            BitSet set = new BitSet();
+            for (char c : encoding) {
+                set.set(c);
+            }
+            return set;
+        }
+
+        private boolean isMeta(int i) {
+            return symbols[i] == null;
+        }
+
+        private boolean isQuantifier(String token) {
+            return token.equals("?") || token.equals("*") || token.equals("+");
+        }
+
+        private void expect(String token) throws SequenceException {
+            if (pos >= tokens.length || !tokens[pos].equals(token)) {
+                throw unsupported();
+            }
+            pos++;
+        }
+
+        private SequenceException unsupported() {
+            String at = pos < tokens.length ? tokens[Math.max(0, pos - 1)] : "end of pattern";
+            return new SequenceException(
+                "Pattern construct not supported by the token automaton at '" + at + "'");
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+package de.hpi.util;
+
+import com.google.common.collect.Lists;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Runs an extraction function over a stream of sentences and delivers the results to an {@link
+ * ExtractionSink} in input order. With more than one thread, the sentences are processed in
+ * parallel, but at most <code>window</code> sentences (and their extractions) are in flight at any
+ * time, so memory use does not depend on the size of the input.
+ *
+ * The extractors of this library are not thread-safe. To process sentences in parallel, pass a
+ * supplier of functions, which is called once per thread, so each thread extracts with its own
+ * extractor.
+ *
+ * @param <T> the extraction type
+ */
+public class BatchExtractor<T> {
+
+    /**
+     * A function that extracts from a single sentence.
+     *
+     * @param <T> the extraction type
+     */
+    public interface SentenceFunction<T> {
+        Iterable<T> apply(String sentence) throws Exception;
+    }
+
+    private final Supplier<? extends SentenceFunction<T>> functions;
+    private final int threads;
+    private final int window;
+    private boolean debug = false;
+
+    /**
+     * Constructs a sequential batch extractor.
+     *
+     * @param function the extraction function
+     */
+    public BatchExtractor(SentenceFunction<T> function) {
+        this(function, 1, 1);
+    }
+
+    /**
+     * @param function the extraction function, which must be thread-safe if threads > 1
+     * @param threads  the number of threads
+     * @param window   the maximum number of sentences in flight (at least threads)
+     */
+    public BatchExtractor(SentenceFunction<T> function, int threads, int window) {
+        this(() -> function, threads, window);
+    }
+
+    /**
+     * @param functions the supplier of the extraction functions, which is called once by each
+     *                  thread, so the functions need not be thread-safe
+     * @param threads   the number of threads
+     * @param window    the maximum number of sentences in flight (at least threads)
+     */
+    public BatchExtractor(Supplier<? extends SentenceFunction<T>> functions, int threads,
+                          int window) {
+        if (threads < 1 || window < threads) {
+            throw new IllegalArgumentException("Invalid number of threads (" + threads
+                                               + ") or window size (" + window + ")");
+        }
+        this.functions = functions;
+        this.threads = threads;
+        this.window = window;
+    }
+
+    /**
+     * @param debug print progress to <code>System.out</code>?
+     */
+    public void setDebug(boolean debug) {
+        this.debug = debug;
+    }
+
+    /**
+     * Extracts from all sentences and delivers the results to the sink. Exceptions of the
+     * extraction function are passed to the sink, errors (e.g. an OutOfMemoryError) stop the run.
+     *
+     * @param sentences the sentences
+     * @param sink      the sink
+     * @return the number of processed sentences
+     */
+    public long run(Iterator<String> sentences, ExtractionSink<T> sink) {
+        if (debug) System.out.println("Process sentences ...");
+        long n = threads == 1 ? runSequential(sentences, sink) : runParallel(sentences, sink);
+        if (debug) System.out.println("Done.");
+        return n;
+    }
+
+    private long runSequential(Iterator<String> sentences, ExtractionSink<T> sink) {
+        SentenceFunction<T> function = functions.get();
+        long id = 0;
+        while (sentences.hasNext()) {
+            progress(id);
+            String sentence = sentences.next();
+            List<T> extractions;
+            try {
+                extractions = Lists.newArrayList(function.apply(sentence));
+            } catch (Exception e) {
+                sink.failed(id++, sentence, e);
+                continue;
+            }
+            sink.accept(id++, sentence, extractions);
+        }
+        return id;
+    }
+
+    private long runParallel(Iterator<String> sentences, ExtractionSink<T> sink) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // each thread of the pool gets its own function, the thread local is dropped with the pool
+        ThreadLocal<SentenceFunction<T>> function = ThreadLocal.withInitial(functions);
+        ArrayDeque<String> pendingSentences = new ArrayDeque<String>(window);
+        ArrayDeque<Future<List<T>>> pending = new ArrayDeque<Future<List<T>>>(window);
+        long id = 0;
+        try {
+            while (sentences.hasNext() || !pending.isEmpty()) {
+                while (pending.size() < window && sentences.hasNext()) {
+                    final String sentence = sentences.next();
+                    pendingSentences.add(sentence);
+                    pending.add(executor.submit(new Callable<List<T>>() {
+                        public List<T> call() throws Exception {
+                            return Lists.newArrayList(function.get().apply(sentence));
+                        }
+                    }));
+                }
+                progress(id);
+                String sentence = pendingSentences.poll();
+                Future<List<T>> result = pending.poll();
+                List<T> extractions;
+                try {
+                    extractions = result.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    // fatal errors stop the run like in the sequential mode, the pool is shut down
+                    // below
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    sink.failed(id++, sentence, cause instanceof Exception ? (Exception) cause : e);
+                    continue;
+                }
+                sink.accept(id++, sentence, extractions);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted after " + id + " sentences", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return id;
+    }
+
+    private void progress(long n) {
+        if (debug && n % 50 == 0) {
+            System.out.print(n + " .. ");
+        }
+    }
+
+}
@@ -1,6 +1,8 @@
 package de.hpi.util;
 
 import com.google.common.collect.Iterables;
+import de.hpi.nlp.dependency_parse_tree.ParZuSentenceParser;
+import de.hpi.nlp.dependency_parse_tree.ParZuServerBackend;
 import de.hpi.nlp.extraction.chunking.ChunkedBinaryExtraction;
 import de.hpi.nlp.extraction.dependency_parse_tree.TreeBinaryExtraction;
 import org.apache.commons.cli.*;
@@ -48,6 +50,7 @@ public class CommandLineExtractor {
         options.addOption("a", "argCand", true, "Consider also arguments, which are not directly connected to the relation phrase (value: false|true, default: false, extractor: Dep ConIE).");
         options.addOption("g", "greedyArg", true, "Extract relations from sentences with more than two arguments (value: false|true, default: false, extractor: Dep ConIE).");
         options.addOption("p", "pronouns", true, "Extract relations, which have just a pronoun as argument (value: false|true, default: false, extractor: Dep ConIE).");
+        options.addOption("z", "parzu", true, "Parse with running ParZu servers instead of starting ParZu (value: URLs separated by commas, e.g. http://localhost:5003/parse/, extractor: Dep ConIE).");
 
 
         /**
@@ -168,6 +171,9 @@ public class CommandLineExtractor {
         System.out.println("");
 
         DepConIE depConIE = new DepConIE(false, Integer.valueOf(minFreq), Boolean.valueOf(argumentCandidates), Boolean.valueOf(pronoun), Boolean.valueOf(greedyArguments));
+        if (cmd.hasOption("parzu")) {
+            depConIE.setParser(new ParZuSentenceParser(ParZuServerBackend.of(cmd.getOptionValue("parzu"))));
+        }
         Iterable<TreeBinaryExtraction> relations = depConIE.extractRelationsFromString(sentence);
 
         if (Iterables.isEmpty(relations)) {
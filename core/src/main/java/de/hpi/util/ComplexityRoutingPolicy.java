@@ -0,0 +1,55 @@
+package de.hpi.util;
+
+/**
+ * Routes simple clauses to German ReVerb and all other sentences to Dep ConIE. A sentence is a
+ * simple clause if it has at most <code>maxTokens</code> tokens, <code>maxVerbs</code> verbs and
+ * <code>maxClauseMarkers</code> commas and conjunctions. By default, a simple clause must not
+ * contain a comma or conjunction, like the separated verbs that German ReVerb combines.
+ */
+public class ComplexityRoutingPolicy implements RoutingPolicy {
+
+    public static final int DEFAULT_MAX_TOKENS = 20;
+    public static final int DEFAULT_MAX_VERBS = 2;
+    public static final int DEFAULT_MAX_CLAUSE_MARKERS = 0;
+
+    private final int maxTokens;
+    private final int maxVerbs;
+    private final int maxClauseMarkers;
+
+    public ComplexityRoutingPolicy() {
+        this(DEFAULT_MAX_TOKENS, DEFAULT_MAX_VERBS, DEFAULT_MAX_CLAUSE_MARKERS);
+    }
+
+    /**
+     * @param maxTokens        the maximum number of tokens of a simple clause
+     * @param maxVerbs         the maximum number of verbs of a simple clause
+     * @param maxClauseMarkers the maximum number of commas and conjunctions of a simple clause
+     */
+    public ComplexityRoutingPolicy(int maxTokens, int maxVerbs, int maxClauseMarkers) {
+        this.maxTokens = maxTokens;
+        this.maxVerbs = maxVerbs;
+        this.maxClauseMarkers = maxClauseMarkers;
+    }
+
+    @Override
+    public Route route(SentenceComplexity complexity) {
+        if (complexity.getTokens() <= maxTokens && complexity.getVerbs() <= maxVerbs
+            && complexity.getClauseMarkers() <= maxClauseMarkers) {
+            return Route.GERMAN_REVERB;
+        }
+        return Route.DEP_CONIE;
+    }
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public int getMaxVerbs() {
+        return maxVerbs;
+    }
+
+    public int getMaxClauseMarkers() {
+        return maxClauseMarkers;
+    }
+
+}
@@ -3,11 +3,22 @@ package de.hpi.util;
 
 import com.google.common.collect.Lists;
 import de.hpi.extractor.dependency_parse_tree.DepConIEExtractor;
+import de.hpi.nlp.chunking.ChunkedSentence;
+import de.hpi.nlp.dependency_parse_tree.ConllCorpusReader;
+import de.hpi.nlp.dependency_parse_tree.ConllUReader;
 import de.hpi.nlp.dependency_parse_tree.DependencyParseTree;
 import de.hpi.nlp.dependency_parse_tree.ParZuSentenceParser;
+import de.hpi.nlp.dependency_parse_tree.ParZuServerBackend;
+import de.hpi.nlp.dependency_parse_tree.TreeReader;
+import de.hpi.nlp.extraction.ExtractionBudget;
+import de.hpi.nlp.extraction.WorkBudget;
 import de.hpi.nlp.extraction.dependency_parse_tree.TreeBinaryExtraction;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 
 
@@ -18,6 +29,8 @@ import java.util.*;
 public class DepConIE extends Extractor<DependencyParseTree, TreeBinaryExtraction> {
 
     private DepConIEExtractor extractor;
+    private TreeReader treeReader = TreeReader.PARZU;
+    private ParZuSentenceParser parser = new ParZuSentenceParser();
 
     /**
      * Constructor of Dep ReVerb
@@ -48,104 +61,150 @@ public class DepConIE extends Extractor<DependencyParseTree, TreeBinaryExtractio
         this.extractor = new DepConIEExtractor(minFreq, childArguments, pronounsAsSubject, progressiveExtraction);
     }
 
+    public ParZuSentenceParser getParser() {
+        return parser;
+    }
+
+    /**
+     * @param parser the parser of the sentences, by default a ParZu process is started for each
+     *               sentence (see {@link ParZuServerBackend} for running ParZu servers)
+     */
+    public void setParser(ParZuSentenceParser parser) {
+        this.parser = parser;
+    }
+
+    public TreeReader getTreeReader() {
+        return treeReader;
+    }
+
+    /**
+     * @param treeReader the reader of parsed sentences, by default ParZu's CoNLL output is read
+     *                   (see {@link ConllUReader} for the output of other parsers)
+     */
+    public void setTreeReader(TreeReader treeReader) {
+        this.treeReader = treeReader;
+    }
+
     protected Iterable<TreeBinaryExtraction> extract(DependencyParseTree tree) {
         return this.extractor.extract(tree);
     }
 
+    protected Iterable<TreeBinaryExtraction> extract(DependencyParseTree tree, ExtractionBudget budget) {
+        return this.extractor.extract(tree, budget);
+    }
+
     /**
      * Extract relations from the given sentence.
      * @param sentStr the sentence as string
      * @return the extracted relations
      */
     public Iterable<TreeBinaryExtraction> extractRelationsFromString(String sentStr) {
+        if (exceedsTokens(sentStr)) {
+            return degrade(sentStr, WorkBudget.Limit.TOKENS, new ArrayList<TreeBinaryExtraction>());
+        }
+        ExtractionBudget budget = getWorkBudget().start();
+
         // Convert sentence into a dependency parse tree
-        ParZuSentenceParser parser = new ParZuSentenceParser();
         List<DependencyParseTree> trees = parser.parseSentence(sentStr);
 
         // Extract relations
         List<TreeBinaryExtraction> extractions = new ArrayList<>();
         for (DependencyParseTree tree : trees) {
-            extractions.addAll(Lists.newArrayList(extract(tree)));
+            extractions.addAll(Lists.newArrayList(extract(tree, budget)));
         }
-        return extractions;
+        return checkBudget(sentStr, budget, extractions);
     }
 
     /**
-     * Extract relations from the given list of sentences.
-     * @param sentences a list of sentences
+     * Extract relations from the given tokenized and tagged sentence (e.g. the output of the
+     * TreeTagger). The sentence is parsed without tokenizing and tagging it again, so the
+     * extractions have the same tokens as the extractions from the chunks of the sentence.
+     * @param sentence the tagged sentence
      * @return the extracted relations
      */
-    public Map<String, Iterable<TreeBinaryExtraction>> extractRelationsFromStrings(List<String> sentences) {
-        Map<String, Iterable<TreeBinaryExtraction>> sent2relations = new HashMap<>();
-        ParZuSentenceParser parser = new ParZuSentenceParser();
-
-        if (this.debug) System.out.println("Process sentences ...");
-        int n = 0;
-        for (String sentence : sentences) {
-            // Output progress
-            if (this.debug && n % 50 == 0) {
-                System.out.print(n + " .. ");
-            }
-            n++;
-            // parse sentence and extract relations
-            List<DependencyParseTree> trees = parser.parseSentence(sentence);
-            List<TreeBinaryExtraction> extractions = new ArrayList<>();
-            for (DependencyParseTree tree : trees) {
-                extractions.addAll(Lists.newArrayList(extract(tree)));
-            }
-            sent2relations.put(sentence, extractions);
+    public Iterable<TreeBinaryExtraction> extractRelationsFromTaggedSentence(ChunkedSentence sentence) {
+        String sentStr = sentence.getTokensAsString();
+        if (exceedsTokens(sentStr)) {
+            return degrade(sentStr, WorkBudget.Limit.TOKENS, new ArrayList<TreeBinaryExtraction>());
         }
-        if (this.debug) System.out.println("Done.");
-
-        return sent2relations;
+        ExtractionBudget budget = getWorkBudget().start();
+        return checkBudget(sentStr, budget, extractFromTaggedSentence(sentence, budget));
     }
 
     /**
-     * Extract relations from the given sentence.
-     * @param sentStr the sentence as string
+     * Extract relations from the given tagged sentence within the budget, without degrading them
+     * if the budget is exceeded.
+     * @param sentence the tagged sentence
+     * @param budget   the budget of the sentence
      * @return the extracted relations
      */
-    public Iterable<TreeBinaryExtraction> extractRelationsFromParsedString(String sentStr) {
+    List<TreeBinaryExtraction> extractFromTaggedSentence(ChunkedSentence sentence,
+                                                         ExtractionBudget budget) {
         // Convert sentence into a dependency parse tree
-        ParZuSentenceParser parser = new ParZuSentenceParser();
-        List<DependencyParseTree> trees = parser.convert(Arrays.asList(sentStr.split("\n")));
+        List<DependencyParseTree> trees = parser.parseSentence(sentence);
 
         // Extract relations
         List<TreeBinaryExtraction> extractions = new ArrayList<>();
         for (DependencyParseTree tree : trees) {
-            extractions.addAll(Lists.newArrayList(extract(tree)));
+            extractions.addAll(Lists.newArrayList(extract(tree, budget)));
         }
         return extractions;
     }
 
     /**
-     * Extract relations from the given list of sentences.
-     * @param sentences a list of sentences
+     * Extract relations from the given sentence.
+     * @param sentStr the sentence as string
      * @return the extracted relations
      */
-    public Map<String, Iterable<TreeBinaryExtraction>> extractRelationsFromParsedStrings(List<String> sentences) {
-        Map<String, Iterable<TreeBinaryExtraction>> sent2relations = new HashMap<>();
-        ParZuSentenceParser parser = new ParZuSentenceParser();
+    public Iterable<TreeBinaryExtraction> extractRelationsFromParsedString(String sentStr) {
+        ExtractionBudget budget = getWorkBudget().start();
 
-        if (this.debug) System.out.println("Process sentences ...");
-        int n = 0;
-        for (String sentence : sentences) {
-            // Output progress
-            if (this.debug && n % 50 == 0) {
-                System.out.print(n + " .. ");
-            }
-            n++;
-            // parse sentence and extract relations
-            List<DependencyParseTree> trees = parser.convert(Arrays.asList(sentence.split("\n")));
-            List<TreeBinaryExtraction> extractions = new ArrayList<>();
-            for (DependencyParseTree tree : trees) {
-                extractions.addAll(Lists.newArrayList(extract(tree)));
-            }
-            sent2relations.put(sentence, extractions);
+        // Convert sentence into a dependency parse tree
+        List<DependencyParseTree> trees = treeReader.read(sentStr);
+
+        // Extract relations (a parsed sentence cannot be passed to the fallback)
+        List<TreeBinaryExtraction> extractions = new ArrayList<>();
+        for (DependencyParseTree tree : trees) {
+            extractions.addAll(Lists.newArrayList(extract(tree, budget)));
         }
-        if (this.debug) System.out.println("Done.");
+        return checkBudget(null, budget, extractions);
+    }
+
+    /**
+     * Extract relations from a corpus of parsed sentences and deliver them to the sink in input
+     * order. The corpus is read lazily (see {@link ConllCorpusReader}), each sentence is converted
+     * by the tree reader, and passed to the sink as its CoNLL lines.
+     * @param conllFile the CoNLL file, gzipped if it ends with <code>.gz</code>
+     * @param sink      the sink receiving the relations of each sentence
+     * @return the number of processed sentences
+     * @throws IOException if the file could not be opened
+     */
+    public long extractParsedCorpus(Path conllFile, ExtractionSink<TreeBinaryExtraction> sink)
+        throws IOException {
+        try (Stream<String> blocks = ConllCorpusReader.blocks(conllFile, false)) {
+            return extractParsed(blocks.iterator(), sink);
+        }
+    }
 
-        return sent2relations;
+    /**
+     * Extract relations from a corpus of parsed sentences with several threads and deliver them
+     * to the sink in input order. Each thread creates its own Dep ConIE, since the extractor and
+     * its lemmatizer are not thread-safe.
+     * @param extractors the supplier of the extractors, which is called once by each thread
+     * @param conllFile  the CoNLL file, gzipped if it ends with <code>.gz</code>
+     * @param sink       the sink receiving the relations of each sentence
+     * @param threads    the number of threads
+     * @param window     the maximum number of sentences in flight
+     * @return the number of processed sentences
+     * @throws IOException if the file could not be opened
+     * @see #extractParsedCorpus(Path, ExtractionSink)
+     */
+    public static long extractParsedCorpus(Supplier<DepConIE> extractors, Path conllFile,
+                                           ExtractionSink<TreeBinaryExtraction> sink, int threads,
+                                           int window) throws IOException {
+        try (Stream<String> blocks = ConllCorpusReader.blocks(conllFile, false)) {
+            return extractParsed(extractors, blocks.iterator(), sink, threads, window);
+        }
     }
 
     /**
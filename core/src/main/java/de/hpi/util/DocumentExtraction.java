@@ -0,0 +1,66 @@
+package de.hpi.util;
+
+/**
+ * An extraction from a document, together with the position of the sentence it was extracted
+ * from.
+ *
+ * @param <T> the extraction type
+ */
+public class DocumentExtraction<T> {
+
+    private final String documentId;
+    private final int sentenceIndex;
+    private final long sentenceStart;
+    private final long sentenceEnd;
+    private final String sentence;
+    private final T extraction;
+
+    /**
+     * @param documentId    the ID of the document
+     * @param sentenceIndex the index of the sentence in the document
+     * @param sentenceStart the character offset of the sentence in the document
+     * @param sentenceEnd   the character offset after the end of the sentence
+     * @param sentence      the sentence
+     * @param extraction    the extraction
+     */
+    public DocumentExtraction(String documentId, int sentenceIndex, long sentenceStart,
+                              long sentenceEnd, String sentence, T extraction) {
+        this.documentId = documentId;
+        this.sentenceIndex = sentenceIndex;
+        this.sentenceStart = sentenceStart;
+        this.sentenceEnd = sentenceEnd;
+        this.sentence = sentence;
+        this.extraction = extraction;
+    }
+
+    public String getDocumentId() {
+        return documentId;
+    }
+
+    public int getSentenceIndex() {
+        return sentenceIndex;
+    }
+
+    public long getSentenceStart() {
+        return sentenceStart;
+    }
+
+    public long getSentenceEnd() {
+        return sentenceEnd;
+    }
+
+    public String getSentence() {
+        return sentence;
+    }
+
+    public T getExtraction() {
+        return extraction;
+    }
+
+    @Override
+    public String toString() {
+        return documentId + "\t" + sentenceIndex + "\t" + sentenceStart + "\t" + sentenceEnd + "\t"
+               + extraction;
+    }
+
+}
@@ -0,0 +1,80 @@
+package de.hpi.util;
+
+import com.google.common.collect.AbstractIterator;
+import de.hpi.nlp.NlpException;
+import de.hpi.nlp.SentenceStream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * A lazy stream of the extractions from a document. Sentences are taken one at a time from a
+ * {@link SentenceStream}, processed (chunked or parsed) and extracted from, so only the current
+ * chunk of text and the extractions of the current sentence are held in memory.
+ *
+ * Sentences that cannot be processed are reported to <code>System.err</code> and skipped.
+ *
+ * @param <T> the extraction type
+ */
+public class DocumentExtractions<T> extends AbstractIterator<DocumentExtraction<T>>
+    implements Closeable {
+
+    private final String documentId;
+    private final SentenceStream sentences;
+    private final Function<String, ? extends Iterable<? extends T>> extractor;
+
+    private SentenceStream.Sentence sentence = null;
+    private Iterator<? extends T> extractions = Collections.emptyIterator();
+
+    /**
+     * @param documentId the ID of the document
+     * @param sentences  the sentences of the document
+     * @param extractor  a function that extracts from a single sentence
+     */
+    public DocumentExtractions(String documentId, SentenceStream sentences,
+                               Function<String, ? extends Iterable<? extends T>> extractor) {
+        this.documentId = documentId;
+        this.sentences = sentences;
+        this.extractor = extractor;
+    }
+
+    @Override
+    protected DocumentExtraction<T> computeNext() {
+        while (!extractions.hasNext()) {
+            if (!sentences.hasNext()) {
+                try {
+                    close();
+                } catch (IOException e) {
+                    System.err.println("Could not close document " + documentId + ": "
+                                       + e.getMessage());
+                }
+                return endOfData();
+            }
+            sentence = sentences.next();
+            try {
+                extractions = extractor.apply(sentence.getText()).iterator();
+            } catch (NlpException e) {
+                System.err.println("Could not process sentence " + sentence.getIndex()
+                                   + " of document " + documentId + ": " + e.getMessage());
+                extractions = Collections.emptyIterator();
+            }
+        }
+        return new DocumentExtraction<T>(documentId, sentence.getIndex(), sentence.getStart(),
+                                         sentence.getEnd(), sentence.getText(),
+                                         extractions.next());
+    }
+
+    /**
+     * Closes the underlying reader. This is done automatically when the stream is exhausted.
+     *
+     * @throws IOException if the reader could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        sentences.close();
+    }
+
+}
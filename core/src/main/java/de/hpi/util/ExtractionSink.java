@@ -0,0 +1,34 @@
+package de.hpi.util;
+
+/**
+ * Receives the results of a batch extraction (see {@link Extractor#extract(java.util.Iterator,
+ * ExtractionSink)}). The results are delivered in input order, one call per input sentence, from
+ * the thread that called <code>extract</code>.
+ *
+ * @param <T> the extraction type
+ */
+public interface ExtractionSink<T> {
+
+    /**
+     * Receives the extractions of a sentence.
+     *
+     * @param sentenceId  the position of the sentence in the input, starting at 0
+     * @param sentence    the sentence
+     * @param extractions the extractions of the sentence
+     */
+    void accept(long sentenceId, String sentence, Iterable<T> extractions);
+
+    /**
+     * Called instead of {@link #accept(long, String, Iterable)} if the sentence could not be
+     * processed. By default, the error is printed to <code>System.err</code>.
+     *
+     * @param sentenceId the position of the sentence in the input, starting at 0
+     * @param sentence   the sentence
+     * @param error      the error
+     */
+    default void failed(long sentenceId, String sentence, Exception error) {
+        System.err.println("Could not process sentence " + sentenceId + " '" + sentence + "': "
+                           + error.getMessage());
+    }
+
+}
@@ -1,12 +1,32 @@
 package de.hpi.util;
 
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import de.hpi.extractor.Mapper;
+import de.hpi.extractor.metrics.PipelineMetrics;
+import de.hpi.nlp.SentenceStream;
+import de.hpi.nlp.extraction.ExtractionBudget;
+import de.hpi.nlp.extraction.WorkBudget;
+import opennlp.tools.sentdetect.SentenceDetector;
+
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public abstract class Extractor<R, T> {
 
     protected boolean debug;
+    private SentenceDetector sentenceDetector;
+    private WorkBudget workBudget = WorkBudget.DEFAULT;
+    private Extractor<?, ? extends T> fallback = null;
 
     /**
      * Constructor of Extractor
@@ -24,12 +44,278 @@ public abstract class Extractor<R, T> {
     }
 
     public abstract Iterable<T> extractRelationsFromString(String sentStr) throws IOException;
-    public abstract Map<String, Iterable<T>> extractRelationsFromStrings(List<String> sentences)
-        throws IOException;
+
+    /**
+     * Extract relations from the given list of sentences.
+     * @param sentences a list of sentences
+     * @return the extracted relations by their sentence
+     * @throws IOException if a sentence could not be processed
+     * @deprecated holds all results in memory and merges duplicate sentences, use {@link
+     * #extract(Iterator, ExtractionSink)} instead.
+     */
+    @Deprecated
+    public Map<String, Iterable<T>> extractRelationsFromStrings(List<String> sentences)
+        throws IOException {
+        Map<String, Iterable<T>> sent2relations = new HashMap<>();
+
+        if (this.debug) System.out.println("Process sentences ...");
+        int n = 0;
+        for (String sentence : sentences) {
+            // Output progress
+            if (this.debug && n % 50 == 0) {
+                System.out.print(n + " .. ");
+            }
+            n++;
+            sent2relations.put(sentence, extractRelationsFromString(sentence));
+        }
+        if (this.debug) System.out.println("Done.");
+
+        return sent2relations;
+    }
 
     public abstract Iterable<T> extractRelationsFromParsedString(String sentStr) throws IOException;
-    public abstract Map<String, Iterable<T>> extractRelationsFromParsedStrings(List<String> sentences)
-        throws IOException;
+
+    /**
+     * Extract relations from the given list of parsed sentences.
+     * @param sentences a list of parsed sentences
+     * @return the extracted relations by their sentence
+     * @throws IOException if a sentence could not be processed
+     * @deprecated holds all results in memory and merges duplicate sentences, use {@link
+     * #extractParsed(Iterator, ExtractionSink)} instead.
+     */
+    @Deprecated
+    public Map<String, Iterable<T>> extractRelationsFromParsedStrings(List<String> sentences)
+        throws IOException {
+        Map<String, Iterable<T>> sent2relations = new HashMap<>();
+
+        if (this.debug) System.out.println("Process sentences ...");
+        int n = 0;
+        for (String sentence : sentences) {
+            // Output progress
+            if (this.debug && n % 50 == 0) {
+                System.out.print(n + " .. ");
+            }
+            n++;
+            sent2relations.put(sentence, extractRelationsFromParsedString(sentence));
+        }
+        if (this.debug) System.out.println("Done.");
+
+        return sent2relations;
+    }
+
+    /**
+     * Extract relations from the given sentences and deliver them to the sink in input order.
+     * @param sentences the sentences
+     * @param sink      the sink receiving the relations of each sentence
+     * @return the number of processed sentences
+     */
+    public long extract(Iterator<String> sentences, ExtractionSink<T> sink) {
+        BatchExtractor<T> batch = new BatchExtractor<T>(this::extractRelationsFromString);
+        batch.setDebug(debug);
+        return batch.run(sentences, sink);
+    }
+
+    /**
+     * Extract relations from the given sentences with several threads and deliver them to the sink
+     * in input order. At most <code>window</code> sentences are processed or waiting for delivery
+     * at any time. The extractors are not thread-safe, so each thread creates its own extractor.
+     * @param extractors the supplier of the extractors, which is called once by each thread
+     * @param sentences  the sentences
+     * @param sink       the sink receiving the relations of each sentence
+     * @param threads    the number of threads
+     * @param window     the maximum number of sentences in flight
+     * @param <T>        the extraction type
+     * @return the number of processed sentences
+     */
+    public static <T> long extract(Supplier<? extends Extractor<?, T>> extractors,
+                                   Iterator<String> sentences, ExtractionSink<T> sink, int threads,
+                                   int window) {
+        BatchExtractor<T> batch = new BatchExtractor<T>(
+            () -> extractors.get()::extractRelationsFromString, threads, window);
+        return batch.run(sentences, sink);
+    }
+
+    /**
+     * Extract relations from the given parsed sentences and deliver them to the sink in input
+     * order.
+     * @param sentences the parsed sentences
+     * @param sink      the sink receiving the relations of each sentence
+     * @return the number of processed sentences
+     */
+    public long extractParsed(Iterator<String> sentences, ExtractionSink<T> sink) {
+        BatchExtractor<T> batch = new BatchExtractor<T>(this::extractRelationsFromParsedString);
+        batch.setDebug(debug);
+        return batch.run(sentences, sink);
+    }
+
+    /**
+     * Extract relations from the given parsed sentences with several threads and deliver them to
+     * the sink in input order. At most <code>window</code> sentences are processed or waiting for
+     * delivery at any time. The extractors are not thread-safe, so each thread creates its own
+     * extractor.
+     * @param extractors the supplier of the extractors, which is called once by each thread
+     * @param sentences  the parsed sentences
+     * @param sink       the sink receiving the relations of each sentence
+     * @param threads    the number of threads
+     * @param window     the maximum number of sentences in flight
+     * @param <T>        the extraction type
+     * @return the number of processed sentences
+     */
+    public static <T> long extractParsed(Supplier<? extends Extractor<?, T>> extractors,
+                                         Iterator<String> sentences, ExtractionSink<T> sink,
+                                         int threads, int window) {
+        BatchExtractor<T> batch = new BatchExtractor<T>(
+            () -> extractors.get()::extractRelationsFromParsedString, threads, window);
+        return batch.run(sentences, sink);
+    }
+
+    /**
+     * @param sentenceDetector the sentence detector used for documents
+     */
+    public void setSentenceDetector(SentenceDetector sentenceDetector) {
+        this.sentenceDetector = sentenceDetector;
+    }
+
+    /**
+     * @return the sentence detector used for documents (by default the OpenNLP sentence detector)
+     * @throws IOException if the default sentence detector model could not be loaded
+     */
+    public SentenceDetector getSentenceDetector() throws IOException {
+        if (sentenceDetector == null) {
+            sentenceDetector = DefaultObjects.getDefaultSentenceDetector();
+        }
+        return sentenceDetector;
+    }
+
+    /**
+     * Extract relations from a document of running text. The document is split into sentences,
+     * which are processed one at a time, while the returned stream is iterated. The stream closes
+     * the reader when it is exhausted.
+     * @param documentId the ID of the document
+     * @param reader     the text of the document
+     * @return a lazy stream of the extracted relations
+     * @throws IOException if the sentence detector could not be loaded
+     */
+    public DocumentExtractions<T> extractRelationsFromDocument(String documentId, Reader reader)
+        throws IOException {
+        SentenceStream sentences = new SentenceStream(reader, getSentenceDetector());
+        return new DocumentExtractions<T>(documentId, sentences, sentence -> {
+            try {
+                return extractRelationsFromString(sentence);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Extract relations from a UTF-8 encoded document of running text.
+     * @param documentId the ID of the document
+     * @param in         the text of the document
+     * @return a lazy stream of the extracted relations
+     * @throws IOException if the sentence detector could not be loaded
+     * @see #extractRelationsFromDocument(String, Reader)
+     */
+    public DocumentExtractions<T> extractRelationsFromDocument(String documentId, InputStream in)
+        throws IOException {
+        return extractRelationsFromDocument(documentId,
+                                            new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the work budget of a sentence
+     */
+    public WorkBudget getWorkBudget() {
+        return workBudget;
+    }
+
+    /**
+     * Sets the work budget of a sentence. Sentences that exceed it are degraded: the extractions
+     * found so far are returned, or, if a fallback is set, the extractions of the fallback.
+     * @param workBudget the work budget of a sentence
+     */
+    public void setWorkBudget(WorkBudget workBudget) {
+        this.workBudget = workBudget;
+    }
+
+    /**
+     * @return the extractor used for sentences that exceed the work budget, or null
+     */
+    public Extractor<?, ? extends T> getFallback() {
+        return fallback;
+    }
+
+    /**
+     * @param fallback a cheaper extractor used for sentences that exceed the work budget, or null
+     *                 to return the extractions found so far
+     */
+    public void setFallback(Extractor<?, ? extends T> fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * Counts the whitespace separated tokens of the sentence, without tokenizing it.
+     * @param sentStr the sentence
+     * @return true if the sentence has more tokens than the work budget allows
+     */
+    protected boolean exceedsTokens(String sentStr) {
+        int maxTokens = workBudget.getMaxTokens();
+        int tokens = 0;
+        boolean inToken = false;
+        for (int i = 0; i < sentStr.length(); i++) {
+            if (Character.isWhitespace(sentStr.charAt(i))) {
+                inToken = false;
+            } else if (!inToken) {
+                inToken = true;
+                if (++tokens > maxTokens) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the extractions of a sentence that was processed with the given budget, degrading
+     * them if the budget was exceeded.
+     * @param sentStr     the sentence, or null if it cannot be passed to the fallback
+     * @param budget      the budget of the sentence
+     * @param extractions the extractions found within the budget
+     * @return the extractions of the sentence
+     */
+    protected Iterable<T> checkBudget(String sentStr, ExtractionBudget budget,
+                                      Iterable<T> extractions) {
+        WorkBudget.Limit limit = WorkBudget.getExceededLimit(budget);
+        if (limit == null) {
+            return extractions;
+        }
+        return degrade(sentStr, limit, extractions);
+    }
+
+    /**
+     * Degrades the extraction of a sentence that exceeded the work budget and records the event
+     * in the pipeline metrics.
+     * @param sentStr     the sentence, or null if it cannot be passed to the fallback
+     * @param limit       the exceeded limit
+     * @param extractions the extractions found within the budget
+     * @return the extractions of the fallback, if there is one, otherwise <code>extractions</code>
+     */
+    protected Iterable<T> degrade(String sentStr, WorkBudget.Limit limit, Iterable<T> extractions) {
+        Iterable<T> result = extractions;
+        if (fallback != null && sentStr != null) {
+            try {
+                result = Lists.<T>newArrayList(fallback.extractRelationsFromString(sentStr));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        String name = Mapper.defaultName(getClass()) + "/degraded/" + limit;
+        PipelineMetrics.recordEvent(name, Iterables.size(result));
+        if (this.debug) {
+            System.out.println("Work budget exceeded (" + limit + "): " + sentStr);
+        }
+        return result;
+    }
 
     public abstract List<T> extractRelations(List<R> sentences);
     public abstract Iterable<T> extractRelations(R sentences);
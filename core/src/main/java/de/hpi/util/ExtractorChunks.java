@@ -4,13 +4,13 @@ package de.hpi.util;
 import com.google.common.collect.Lists;
 import de.hpi.nlp.chunking.ChunkedSentence;
 import de.hpi.nlp.chunking.TreeTaggerSentenceChunker;
+import de.hpi.nlp.extraction.ExtractionBudget;
+import de.hpi.nlp.extraction.WorkBudget;
 import de.hpi.nlp.extraction.chunking.ChunkedBinaryExtraction;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 
 /**
@@ -41,34 +41,12 @@ abstract class ExtractorChunks extends Extractor<ChunkedSentence, ChunkedBinaryE
      * @throws IOException if the tree-tagger model could not be loaded
      */
     public Iterable<ChunkedBinaryExtraction> extractRelationsFromString(String sentStr) throws IOException {
-        ChunkedSentence sent = taggerSentenceChunker.chunkSentence(sentStr);
-        return extract(sent);
-    }
-
-    /**
-     * Extract relations from the given list of sentences.
-     * @param sentences a list of sentences
-     * @return the extracted relations
-     * @throws IOException if the tree-tagger model could not be loaded
-     */
-    public Map<String, Iterable<ChunkedBinaryExtraction>> extractRelationsFromStrings(List<String> sentences) throws IOException {
-        Map<String, Iterable<ChunkedBinaryExtraction>> sent2relations = new HashMap<>();
-
-        if (this.debug) System.out.println("Process sentences ...");
-        int n = 0;
-        for (String sentence : sentences) {
-            // Output progress
-            if (this.debug && n % 50 == 0) {
-                System.out.print(n + " .. ");
-            }
-            n++;
-            // Convert sentence and extract relations
-            ChunkedSentence sent = taggerSentenceChunker.chunkSentence(sentence);
-            sent2relations.put(sentence, extract(sent));
+        if (exceedsTokens(sentStr)) {
+            return degrade(sentStr, WorkBudget.Limit.TOKENS, new ArrayList<ChunkedBinaryExtraction>());
         }
-        if (this.debug) System.out.println("Done.");
-
-        return sent2relations;
+        ExtractionBudget budget = getWorkBudget().start();
+        ChunkedSentence sent = taggerSentenceChunker.chunkSentence(sentStr);
+        return checkBudget(sentStr, budget, extract(sent, budget));
     }
 
     /**
@@ -78,34 +56,9 @@ abstract class ExtractorChunks extends Extractor<ChunkedSentence, ChunkedBinaryE
      * @throws IOException if the tree-tagger model could not be loaded
      */
     public Iterable<ChunkedBinaryExtraction> extractRelationsFromParsedString(String sentStr) throws IOException {
+        ExtractionBudget budget = getWorkBudget().start();
         ChunkedSentence sent = taggerSentenceChunker.convert(sentStr);
-        return extract(sent);
-    }
-
-    /**
-     * Extract relations from the given list of sentences.
-     * @param sentences a list of sentences
-     * @return the extracted relations
-     * @throws IOException if the tree-tagger model could not be loaded
-     */
-    public Map<String, Iterable<ChunkedBinaryExtraction>> extractRelationsFromParsedStrings(List<String> sentences) throws IOException {
-        Map<String, Iterable<ChunkedBinaryExtraction>> sent2relations = new HashMap<>();
-
-        if (this.debug) System.out.println("Process sentences ...");
-        int n = 0;
-        for (String sentence : sentences) {
-            // Output progress
-            if (this.debug && n % 50 == 0) {
-                System.out.print(n + " .. ");
-            }
-            n++;
-            // Convert sentence and extract relations
-            ChunkedSentence sent = taggerSentenceChunker.convert(sentence);
-            sent2relations.put(sentence, extract(sent));
-        }
-        if (this.debug) System.out.println("Done.");
-
-        return sent2relations;
+        return checkBudget(null, budget, extract(sent, budget));
     }
 
     /**
@@ -142,4 +95,7 @@ abstract class ExtractorChunks extends Extractor<ChunkedSentence, ChunkedBinaryE
     }
 
     protected abstract Iterable<ChunkedBinaryExtraction> extract(ChunkedSentence sentence);
+
+    protected abstract Iterable<ChunkedBinaryExtraction> extract(ChunkedSentence sentence,
+                                                                 ExtractionBudget budget);
 }
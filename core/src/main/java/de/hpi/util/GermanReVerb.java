@@ -3,6 +3,7 @@ package de.hpi.util;
 
 import de.hpi.extractor.chunking.GermanReVerbExtractor;
 import de.hpi.nlp.chunking.ChunkedSentence;
+import de.hpi.nlp.extraction.ExtractionBudget;
 import de.hpi.nlp.extraction.chunking.ChunkedBinaryExtraction;
 
 import java.io.IOException;
@@ -56,4 +57,9 @@ public class GermanReVerb extends ExtractorChunks {
         return this.extractor.extract(sentence);
     }
 
+    @Override
+    protected Iterable<ChunkedBinaryExtraction> extract(ChunkedSentence sentence, ExtractionBudget budget) {
+        return this.extractor.extract(sentence, budget);
+    }
+
 }
@@ -0,0 +1,232 @@
+package de.hpi.util;
+
+
+import com.google.common.collect.Lists;
+import de.hpi.extractor.metrics.MetricsSink;
+import de.hpi.extractor.metrics.PipelineMetrics;
+import de.hpi.extractor.metrics.StatsSink;
+import de.hpi.nlp.chunking.ChunkedSentence;
+import de.hpi.nlp.extraction.CompactBinaryRelation;
+import de.hpi.nlp.extraction.ExtractionBudget;
+import de.hpi.nlp.extraction.ExtractionConverter;
+import de.hpi.nlp.extraction.SentenceStore;
+import de.hpi.nlp.extraction.SimpleBinaryRelation;
+import de.hpi.nlp.extraction.WorkBudget;
+import de.hpi.nlp.extraction.dependency_parse_tree.TreeBinaryExtraction;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Utility class to call German ReVerb and Dep ConIE in combination.
+ * Each sentence is chunked and scored by its complexity (see {@link SentenceComplexity}). A
+ * {@link RoutingPolicy} decides whether the chunks are passed to German ReVerb or the sentence is
+ * parsed with ParZu and passed to Dep ConIE. By default, only simple clauses are handled by
+ * German ReVerb, so the expensive parser is only called for complex sentences. ParZu parses the
+ * tokens and tags of the chunked sentence, so the sentence is tokenized and tagged only once.
+ *
+ * The cost (time) and yield (relations) of each route are recorded in {@link #getRouteStats()}
+ * and, if enabled, in the {@link PipelineMetrics} under <code>HybridExtractor/&lt;route&gt;</code>.
+ * The time of chunking and scoring is recorded as {@link #ROUTING}.
+ *
+ * The work budget (see {@link #setWorkBudget(WorkBudget)}) of the hybrid extractor applies to
+ * both routes: sentences with too many tokens are not routed, and the budget of a sentence is
+ * passed to the extractor of its route. Sentences that exceed it are degraded like in the other
+ * extractors.
+ *
+ * If a {@link SentenceStore} is set, the relations of Dep ConIE are compact (see
+ * {@link CompactBinaryRelation}): they refer to their sentence in the store instead of keeping
+ * its parse tree, sentence and CoNLL output.
+ */
+public class HybridExtractor extends Extractor<ChunkedSentence, SimpleBinaryRelation> {
+
+    /**
+     * The name of the stats of chunking and scoring the sentences.
+     */
+    public static final String ROUTING = "ROUTING";
+
+    private final GermanReVerb germanReVerb;
+    private final DepConIE depConIE;
+    private RoutingPolicy routingPolicy;
+    private SentenceStore sentenceStore;
+    private final StatsSink routeStats = new StatsSink();
+
+    /**
+     * Constructor of the hybrid extractor
+     * @param debug enable debug mode?
+     * @throws IOException if the treetagger resource could not be read
+     */
+    public HybridExtractor(boolean debug) throws IOException {
+        this(debug, new GermanReVerb(debug), new DepConIE(debug), new ComplexityRoutingPolicy());
+    }
+
+    /**
+     * Constructor of the hybrid extractor with configured extractors
+     * @param debug         enable debug mode?
+     * @param germanReVerb  the extractor for simple sentences
+     * @param depConIE      the extractor for complex sentences
+     * @param routingPolicy the policy deciding which extractor processes a sentence
+     */
+    public HybridExtractor(boolean debug, GermanReVerb germanReVerb, DepConIE depConIE,
+                           RoutingPolicy routingPolicy) {
+        super(debug);
+        this.germanReVerb = germanReVerb;
+        this.depConIE = depConIE;
+        this.routingPolicy = routingPolicy;
+    }
+
+    public GermanReVerb getGermanReVerb() {
+        return germanReVerb;
+    }
+
+    public DepConIE getDepConIE() {
+        return depConIE;
+    }
+
+    public RoutingPolicy getRoutingPolicy() {
+        return routingPolicy;
+    }
+
+    public void setRoutingPolicy(RoutingPolicy routingPolicy) {
+        this.routingPolicy = routingPolicy;
+    }
+
+    public SentenceStore getSentenceStore() {
+        return sentenceStore;
+    }
+
+    /**
+     * @param sentenceStore the store of the sentences of compact relations, or null to create full
+     *                      relations
+     */
+    public void setSentenceStore(SentenceStore sentenceStore) {
+        this.sentenceStore = sentenceStore;
+    }
+
+    /**
+     * @return the cost and yield of each route (by the name of the {@link RoutingPolicy.Route})
+     * and of {@link #ROUTING}
+     */
+    public StatsSink getRouteStats() {
+        return routeStats;
+    }
+
+    /**
+     * Extract relations from the given sentence.
+     * @param sentStr the sentence as string
+     * @return the extracted relations
+     * @throws IOException if the tree-tagger model could not be loaded
+     */
+    public Iterable<SimpleBinaryRelation> extractRelationsFromString(String sentStr) throws IOException {
+        if (exceedsTokens(sentStr)) {
+            return degrade(sentStr, WorkBudget.Limit.TOKENS, new ArrayList<SimpleBinaryRelation>());
+        }
+        long start = System.nanoTime();
+        ExtractionBudget budget = getWorkBudget().start();
+        ChunkedSentence sent = germanReVerb.taggerSentenceChunker.chunkSentence(sentStr);
+        return checkBudget(sentStr, budget, route(sentStr, sent, budget, start));
+    }
+
+    /**
+     * Extract relations from the given sentence in the TreeTagger output format. Complex sentences
+     * are parsed from their tokens and tags.
+     * @param sentStr the chunked sentence as string
+     * @return the extracted relations
+     */
+    public Iterable<SimpleBinaryRelation> extractRelationsFromParsedString(String sentStr) {
+        long start = System.nanoTime();
+        ExtractionBudget budget = getWorkBudget().start();
+        ChunkedSentence sent = germanReVerb.taggerSentenceChunker.convert(sentStr);
+        // a parsed sentence cannot be passed to the fallback
+        return checkBudget(null, budget, route(sent.getTokensAsString(), sent, budget, start));
+    }
+
+    /**
+     * Extract relations from the given list of chunked sentences.
+     * @param sentences a list of chunked sentences
+     * @return the extracted relations
+     */
+    public List<SimpleBinaryRelation> extractRelations(List<ChunkedSentence> sentences) {
+        List<SimpleBinaryRelation> relations = new ArrayList<>();
+
+        if (this.debug) System.out.println("Process sentences ...");
+        int n = 0;
+        for (ChunkedSentence sent : sentences) {
+            // Output progress
+            if (this.debug && n % 50 == 0) {
+                System.out.print(n + " .. ");
+            }
+            n++;
+            // Extract relations
+            relations.addAll(Lists.newArrayList(extractRelations(sent)));
+        }
+        if (this.debug) System.out.println("Done.");
+
+        return relations;
+    }
+
+    /**
+     * Extract relations from the given chunked sentence. Complex sentences are parsed from their
+     * tokens and tags.
+     * @param sentence a chunked sentence
+     * @return the extracted relations
+     */
+    public Iterable<SimpleBinaryRelation> extractRelations(ChunkedSentence sentence) {
+        long start = System.nanoTime();
+        ExtractionBudget budget = getWorkBudget().start();
+        return checkBudget(null, budget,
+                           route(sentence.getTokensAsString(), sentence, budget, start));
+    }
+
+    /**
+     * Routes the sentence to one of the extractors.
+     * @param sentStr  the sentence as string
+     * @param sentence the chunked sentence
+     * @param budget   the budget of the sentence, which is passed to the extractor of the route
+     * @param start    the time when the processing of the sentence started
+     * @return the extracted relations within the budget
+     */
+    protected Iterable<SimpleBinaryRelation> route(String sentStr, ChunkedSentence sentence,
+                                                   ExtractionBudget budget, long start) {
+        RoutingPolicy.Route route = routingPolicy.route(SentenceComplexity.of(sentence));
+        long routed = System.nanoTime();
+        record(ROUTING, 0, routed - start);
+
+        List<SimpleBinaryRelation> relations = new ArrayList<>();
+        if (route == RoutingPolicy.Route.GERMAN_REVERB) {
+            convert(germanReVerb.extract(sentence, budget), relations);
+        } else {
+            Iterable<TreeBinaryExtraction> extractions =
+                depConIE.extractFromTaggedSentence(sentence, budget);
+            SentenceStore store = sentenceStore;
+            if (store != null) {
+                relations.addAll(TreeBinaryExtraction.convert(extractions, store));
+            } else {
+                convert(extractions, relations);
+            }
+        }
+        record(route.name(), relations.size(), System.nanoTime() - routed);
+        if (this.debug) {
+            System.out.println(route + ": " + sentStr);
+        }
+        return relations;
+    }
+
+    private static void convert(Iterable<? extends ExtractionConverter> extractions,
+                                List<SimpleBinaryRelation> relations) {
+        for (ExtractionConverter extraction : extractions) {
+            relations.add(extraction.convert());
+        }
+    }
+
+    private void record(String name, long relations, long nanos) {
+        routeStats.record(name, 1, relations, nanos, -1);
+        MetricsSink sink = PipelineMetrics.getSink();
+        if (sink != null) {
+            sink.record("HybridExtractor/" + name, 1, relations, nanos, -1);
+        }
+    }
+
+}
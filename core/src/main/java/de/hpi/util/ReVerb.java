@@ -3,6 +3,7 @@ package de.hpi.util;
 
 import de.hpi.extractor.chunking.ReVerbExtractor;
 import de.hpi.nlp.chunking.ChunkedSentence;
+import de.hpi.nlp.extraction.ExtractionBudget;
 import de.hpi.nlp.extraction.chunking.ChunkedBinaryExtraction;
 
 import java.io.IOException;
@@ -43,4 +44,9 @@ public class ReVerb extends ExtractorChunks {
         return this.extractor.extract(sentence);
     }
 
+    @Override
+    protected Iterable<ChunkedBinaryExtraction> extract(ChunkedSentence sentence, ExtractionBudget budget) {
+        return this.extractor.extract(sentence, budget);
+    }
+
 }
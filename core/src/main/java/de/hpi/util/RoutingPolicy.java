@@ -0,0 +1,36 @@
+package de.hpi.util;
+
+/**
+ * Decides which extractor of a {@link HybridExtractor} processes a sentence.
+ */
+public interface RoutingPolicy {
+
+    /**
+     * The extractors a sentence can be routed to.
+     */
+    enum Route {
+        /**
+         * German ReVerb, which only needs the chunked sentence.
+         */
+        GERMAN_REVERB,
+        /**
+         * Dep ConIE, which needs a dependency parse of the sentence.
+         */
+        DEP_CONIE
+    }
+
+    /**
+     * @param complexity the complexity of the sentence
+     * @return the extractor for the sentence
+     */
+    Route route(SentenceComplexity complexity);
+
+    /**
+     * @param route the extractor
+     * @return a policy that routes all sentences to the given extractor
+     */
+    static RoutingPolicy always(final Route route) {
+        return complexity -> route;
+    }
+
+}
@@ -0,0 +1,92 @@
+package de.hpi.util;
+
+import de.hpi.nlp.chunking.ChunkedSentence;
+
+import java.util.List;
+
+/**
+ * Cheap features of a POS tagged sentence, which indicate whether the sentence is a simple clause:
+ * the number of tokens, verbs, commas and conjunctions (see {@link RoutingPolicy}).
+ */
+public class SentenceComplexity {
+
+    private final int tokens;
+    private final int verbs;
+    private final int commas;
+    private final int conjunctions;
+
+    /**
+     * @param tokens       the number of tokens
+     * @param verbs        the number of verbs
+     * @param commas       the number of commas
+     * @param conjunctions the number of coordinating conjunctions
+     */
+    public SentenceComplexity(int tokens, int verbs, int commas, int conjunctions) {
+        this.tokens = tokens;
+        this.verbs = verbs;
+        this.commas = commas;
+        this.conjunctions = conjunctions;
+    }
+
+    /**
+     * Counts the features of a sentence tagged with the STTS tag set.
+     *
+     * @param sentence the chunked sentence
+     * @return the complexity of the sentence
+     */
+    public static SentenceComplexity of(ChunkedSentence sentence) {
+        return of(sentence.getPosTags());
+    }
+
+    /**
+     * Counts the features of a sentence tagged with the STTS tag set.
+     *
+     * @param posTags the POS tags of the sentence
+     * @return the complexity of the sentence
+     */
+    public static SentenceComplexity of(List<String> posTags) {
+        int verbs = 0;
+        int commas = 0;
+        int conjunctions = 0;
+        for (String pos : posTags) {
+            if (pos.startsWith("V")) {
+                verbs++;
+            } else if (pos.equals("$,")) {
+                commas++;
+            } else if (pos.equals("KON")) {
+                conjunctions++;
+            }
+        }
+        return new SentenceComplexity(posTags.size(), verbs, commas, conjunctions);
+    }
+
+    public int getTokens() {
+        return tokens;
+    }
+
+    public int getVerbs() {
+        return verbs;
+    }
+
+    public int getCommas() {
+        return commas;
+    }
+
+    public int getConjunctions() {
+        return conjunctions;
+    }
+
+    /**
+     * @return the number of commas and conjunctions, which may separate clauses
+     */
+    public int getClauseMarkers() {
+        return commas + conjunctions;
+    }
+
+    @Override
+    public String toString() {
+        return "SentenceComplexity(tokens=" + tokens + ", verbs=" + verbs + ", commas=" + commas
+               + ", conjunctions=" + conjunctions + ")";
+    }
+
+}
@@ -0,0 +1,97 @@
+package de.hpi.extractor;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ArgumentStagesTest {
+
+    // extracts the words of the relation that start with the given prefix
+    private static class PrefixExtractor extends Extractor<String, String> {
+        private final String prefix;
+        private final int work;
+        private int calls = 0;
+
+        PrefixExtractor(String prefix, int work) {
+            this.prefix = prefix;
+            this.work = work;
+        }
+
+        @Override
+        protected Iterable<String> extractCandidates(String source) {
+            calls++;
+            int hash = 0;
+            for (int i = 0; i < work; i++) {
+                hash += (source + i).hashCode();
+            }
+            List<String> args = new ArrayList<String>();
+            for (String word : source.split(" ")) {
+                if (word.startsWith(prefix) || hash == 42) {
+                    args.add(word);
+                }
+            }
+            return args;
+        }
+    }
+
+    @Test
+    public void testSkipSecondArgument() {
+        PrefixExtractor arg1Extr = new PrefixExtractor("a", 0);
+        PrefixExtractor arg2Extr = new PrefixExtractor("b", 0);
+        ArgumentStages<String, String> stages = new ArgumentStages<String, String>(false);
+
+        ArgumentStages.Arguments<String> args = stages.extract("a1 x b1 b2", arg1Extr, arg2Extr);
+        assertEquals(Arrays.asList("a1"), args.getArg1s());
+        assertEquals(Arrays.asList("b1", "b2"), args.getArg2s());
+
+        assertNull(stages.extract("x b1", arg1Extr, arg2Extr));
+        assertEquals(2, arg1Extr.calls);
+        assertEquals(1, arg2Extr.calls);
+
+        assertNull(stages.extract("a1 x", arg1Extr, arg2Extr));
+        assertEquals(2, arg2Extr.calls);
+    }
+
+    @Test
+    public void testUsable() {
+        ArgumentStages<String, String> stages = new ArgumentStages<String, String>(
+            false, arg -> arg.length() > 2);
+        assertNull(stages.extract("a1 b1", new PrefixExtractor("a", 0),
+                                  new PrefixExtractor("b", 0)));
+        assertEquals(Collections.singletonList("a12"),
+                     stages.extract("a12 b123", new PrefixExtractor("a", 0),
+                                    new PrefixExtractor("b", 0)).getArg1s());
+    }
+
+    @Test
+    public void testReorder() {
+        // the first argument is expensive, the second one is cheap and usually missing
+        PrefixExtractor arg1Extr = new PrefixExtractor("a", 500);
+        PrefixExtractor arg2Extr = new PrefixExtractor("b", 0);
+        ArgumentStages<String, String> stages = new ArgumentStages<String, String>(true);
+        assertFalse(stages.isArg2First());
+
+        int found = 0;
+        for (int i = 0; i < 1000; i++) {
+            String rel = i % 10 == 0 ? "a" + i + " b" + i : "a" + i + " x";
+            ArgumentStages.Arguments<String> args = stages.extract(rel, arg1Extr, arg2Extr);
+            if (args != null) {
+                assertEquals("a" + i, args.getArg1s().get(0));
+                assertEquals("b" + i, args.getArg2s().get(0));
+                found++;
+            }
+        }
+        assertEquals(100, found);
+        assertTrue(stages.isArg2First());
+        assertTrue(arg1Extr.calls < 500);
+    }
+
+}
@@ -0,0 +1,84 @@
+package de.hpi.extractor;
+
+import com.google.common.collect.Lists;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class ExtractorTest {
+
+    private int filterCalls;
+    private Extractor<String, String> extractor;
+
+    @Before
+    public void setUp() {
+        filterCalls = 0;
+        extractor = new Extractor<String, String>() {
+            @Override
+            protected Iterable<String> extractCandidates(String source) {
+                return Arrays.asList(source.split(" "));
+            }
+        };
+        extractor.addMapper(new FilterMapper<String>() {
+            @Override
+            public boolean doFilter(String object) {
+                filterCalls++;
+                return object.length() > 1;
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        Mapper.setCheckReiteration(false);
+    }
+
+    @Test
+    public void testMaterialize() {
+        Iterable<String> result = extractor.extract("a bc def g");
+        assertEquals(4, filterCalls);
+        assertEquals(Arrays.asList("bc", "def"), Lists.newArrayList(result));
+        assertEquals(Arrays.asList("bc", "def"), Lists.newArrayList(result));
+        assertEquals(4, filterCalls);
+    }
+
+    @Test
+    public void testStreamOnce() {
+        extractor.setEvaluationPolicy(EvaluationPolicy.STREAM_ONCE);
+        Iterable<String> result = extractor.extract("a bc def g");
+        assertEquals(0, filterCalls);
+        assertEquals(Arrays.asList("bc", "def"), Lists.newArrayList(result));
+        assertEquals(4, filterCalls);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStreamOnceIteratedTwice() {
+        extractor.setEvaluationPolicy(EvaluationPolicy.STREAM_ONCE);
+        Iterable<String> result = extractor.extract("a bc def g");
+        Lists.newArrayList(result);
+        result.iterator();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCheckReiteration() {
+        Mapper.setCheckReiteration(true);
+        Iterable<String> result = extractor.getMappers().map(Arrays.asList("a", "bc"));
+        Lists.newArrayList(result);
+        Lists.newArrayList(result);
+    }
+
+    @Test
+    public void testCheckReiterationMaterialized() {
+        Mapper.setCheckReiteration(true);
+        // materialized results are not affected
+        Iterable<String> result = extractor.extract("a bc");
+        assertEquals(Arrays.asList("bc"), Lists.newArrayList(result));
+        assertEquals(Arrays.asList("bc"), Lists.newArrayList(result));
+    }
+
+}
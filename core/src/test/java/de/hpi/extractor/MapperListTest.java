@@ -0,0 +1,138 @@
+package de.hpi.extractor;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MapperListTest {
+
+    // extractions are strings of "token/POS" pairs
+    private static final TokenAccessor<String> ACCESSOR = new TokenAccessor<String>() {
+        public int getLength(String object) {
+            return object.isEmpty() ? 0 : object.split(" ").length;
+        }
+
+        public String getFirstToken(String object) {
+            return object.split(" ")[0].split("/")[0];
+        }
+
+        public String getFirstPosTag(String object) {
+            return object.split(" ")[0].split("/")[1];
+        }
+    };
+
+    private List<String> extractions;
+
+    @Before
+    public void setUp() {
+        extractions = Arrays.asList("der/ART", "der/ART Hund/NN", "Es/PPER", "es/PPER regnet/VVFIN",
+                                    "wer/PWS kommt/VVFIN", "Haus/NN", "", "man/PIS");
+    }
+
+    private MapperList<String> createMappers() {
+        MapperList<String> mappers = new MapperList<String>();
+        mappers.addMapper(FilterRule.firstPosTagNotIn(ACCESSOR, "PWS"));
+        mappers.addMapper(FilterRule.firstTokenNotIn(ACCESSOR, true, "es"));
+        mappers.addMapper(FilterRule.singlePosTagNotIn(ACCESSOR, "ART"));
+        mappers.addMapper(FilterRule.singleTokenNotIn(ACCESSOR, false, "man"));
+        return mappers;
+    }
+
+    @Test
+    public void testFusion() {
+        MapperList<String> mappers = createMappers();
+        assertEquals(1, mappers.getPlan().size());
+        assertTrue(mappers.getPlan().get(0) instanceof FusedFilterRules);
+
+        List<String> expected = Arrays.asList("der/ART Hund/NN", "Haus/NN", "");
+        assertEquals(expected, Lists.newArrayList(mappers.map(extractions)));
+
+        // the fused filter behaves like the single rules
+        MapperList<String> unfused = new MapperList<String>();
+        for (Mapper<String> mapper : createMappers().getMappers()) {
+            unfused.addMapper(mapper);
+            unfused.addMapper(new FilterMapper<String>() {
+                public boolean doFilter(String object) {
+                    return true;
+                }
+            });
+        }
+        assertEquals(8, unfused.getPlan().size());
+        assertEquals(expected, Lists.newArrayList(unfused.map(extractions)));
+    }
+
+    @Test
+    public void testDisabledRule() {
+        MapperList<String> mappers = createMappers();
+        mappers.getPlan();
+        Mapper<String> rule = mappers.getMappers().iterator().next();
+        rule.disable();
+        assertEquals(Arrays.asList("der/ART Hund/NN", "wer/PWS kommt/VVFIN", "Haus/NN", ""),
+                     Lists.newArrayList(mappers.map(extractions)));
+        rule.enable();
+        assertEquals(3, Lists.newArrayList(mappers.map(extractions)).size());
+    }
+
+    @Test
+    public void testCopyConstructor() {
+        MapperList<String> mappers = new MapperList<String>(
+            Lists.newArrayList(createMappers().getMappers()));
+        assertEquals(3, Lists.newArrayList(mappers.map(extractions)).size());
+    }
+
+    private static class CountingFilter extends FilterMapper<String> {
+
+        private final String rejected;
+        private final int work;
+        private int calls = 0;
+
+        CountingFilter(String rejected, int work) {
+            super(true);
+            this.rejected = rejected;
+            this.work = work;
+        }
+
+        @Override
+        public boolean doFilter(String object) {
+            calls++;
+            int hash = 0;
+            for (int i = 0; i < work; i++) {
+                hash += (object + i).hashCode();
+            }
+            return hash == 42 || !object.startsWith(rejected);
+        }
+    }
+
+    @Test
+    public void testAdaptiveOrdering() {
+        CountingFilter expensive = new CountingFilter("x", 2000);
+        CountingFilter cheap = new CountingFilter("a", 0);
+        MapperList<String> mappers = new MapperList<String>();
+        mappers.addMapper(expensive);
+        mappers.addMapper(cheap);
+        assertEquals(1, mappers.getPlan().size());
+        AdaptiveFilterGroup<?> group = (AdaptiveFilterGroup<?>) mappers.getPlan().get(0);
+
+        List<String> input = Lists.newArrayList();
+        for (int i = 0; i < 4 * AdaptiveFilterGroup.REORDER_INTERVAL; i++) {
+            input.add(i % 10 == 0 ? "b" + i : "a" + i);
+        }
+        List<String> output = Lists.newArrayList(mappers.map(input));
+        assertEquals((input.size() + 9) / 10, output.size());
+        assertEquals(Arrays.asList(cheap, expensive), group.getOrder());
+        assertTrue(expensive.calls < input.size() / 2);
+
+        // without adaptive ordering, the declared order is kept
+        mappers.setAdaptiveOrdering(false);
+        assertEquals(Arrays.asList(expensive, cheap), mappers.getPlan());
+        assertEquals(output, Lists.newArrayList(mappers.map(input)));
+    }
+
+}
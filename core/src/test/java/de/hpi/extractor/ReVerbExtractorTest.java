@@ -3,6 +3,8 @@ package de.hpi.extractor;
 import com.google.common.collect.Iterables;
 import de.hpi.extractor.chunking.ReVerbExtractor;
 import de.hpi.nlp.chunking.ChunkedSentence;
+import de.hpi.nlp.extraction.ExtractionBudget;
+import de.hpi.nlp.extraction.WorkBudget;
 import de.hpi.nlp.extraction.chunking.ChunkedBinaryExtraction;
 import org.junit.Before;
 import org.junit.Test;
@@ -79,6 +81,33 @@ public class ReVerbExtractorTest {
         assertEquals(expected, got);
     }
 
+    @Test
+    public void testCandidateLimit() throws Exception {
+        ChunkedSentence sent = asSentence(
+            "Amazon ist ein Versandhaus und Google ist eine Suchmaschine .",
+            "NE VAFIN ART NN KON NE VAFIN ART NN $.",
+            "B-NP B-VP B-NP I-NP O B-NP B-VP B-NP I-NP O");
+        assertEquals(2, Iterables.size(relaxedReverb.extract(sent)));
+
+        ExtractionBudget budget = new WorkBudget(Integer.MAX_VALUE, 1, 0).start();
+        assertEquals("[(Amazon # ist # ein Versandhaus)]",
+                     Iterables.toString(relaxedReverb.extract(sent, budget)));
+        assertEquals(WorkBudget.Limit.CANDIDATES, WorkBudget.getExceededLimit(budget));
+    }
+
+    @Test
+    public void testCandidateLimitUnary() throws Exception {
+        ReVerbExtractor unary = new ReVerbExtractor(0, false);
+        unary.setAllowUnary(true);
+        ChunkedSentence sent = asSentence("Amazon ist , Google ist .", "NE VAFIN $, NE VAFIN $.",
+                                          "B-NP B-VP O B-NP B-VP O");
+        assertEquals(2, Iterables.size(unary.extract(sent)));
+
+        ExtractionBudget budget = new WorkBudget(Integer.MAX_VALUE, 1, 0).start();
+        assertEquals("[(Amazon # ist # )]", Iterables.toString(unary.extract(sent, budget)));
+        assertEquals(WorkBudget.Limit.CANDIDATES, WorkBudget.getExceededLimit(budget));
+    }
+
     @Test
     public void testExtract2() throws Exception {
         reverb = regReverb;
@@ -4,6 +4,7 @@ import com.google.common.collect.Iterables;
 import de.hpi.nlp.dependency_parse_tree.DependencyParseTree;
 import de.hpi.nlp.dependency_parse_tree.Node;
 import de.hpi.nlp.dependency_parse_tree.ParZuSentenceParser;
+import de.hpi.nlp.extraction.ExtractionBudget;
 import de.hpi.nlp.extraction.dependency_parse_tree.Context;
 import de.hpi.nlp.extraction.dependency_parse_tree.ContextType;
 import de.hpi.nlp.extraction.dependency_parse_tree.TreeBinaryExtraction;
@@ -14,6 +15,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 
@@ -196,6 +198,29 @@ public class DepConIEExtractorTest {
         assertTrue(Iterables.isEmpty(actualExtractions));
     }
 
-
+    @Test
+    public void testMaxExtractionsPerSentence() {
+        // Peter und Paul kaufen Brot und Milch.
+        String sentence = "1\tPeter\tPeter\tN\tNE\t_\t4\tsubj\t_\t_\n" +
+                "2\tund\tund\tKON\tKON\t_\t1\tkon\t_\t_\n" +
+                "3\tPaul\tPaul\tN\tNE\t_\t2\tcj\t_\t_\n" +
+                "4\tkaufen\tkaufen\tV\tVVFIN\t_\t0\troot\t_\t_\n" +
+                "5\tBrot\tBrot\tN\tNN\t_\t4\tobja\t_\t_\n" +
+                "6\tund\tund\tKON\tKON\t_\t5\tkon\t_\t_\n" +
+                "7\tMilch\tMilch\tN\tNN\t_\t6\tcj\t_\t_\n" +
+                "8\t.\t.\t$.\t$.\t_\t0\troot\t_\t_\n";
+        extractor = new DepConIEExtractor(0, true, true, false);
+        assertEquals(4, Iterables.size(extractor.extract(getTree(sentence))));
+
+        // the limit of the extractor also applies if a budget is passed
+        extractor.setMaxExtractionsPerSentence(2);
+        ExtractionBudget budget = new ExtractionBudget(10);
+        assertEquals(2, Iterables.size(extractor.extract(getTree(sentence), budget)));
+        assertTrue(budget.isExceeded());
+
+        budget = new ExtractionBudget(1);
+        assertEquals(1, Iterables.size(extractor.extract(getTree(sentence), budget)));
+        assertTrue(budget.isExceeded());
+    }
 
 }
@@ -0,0 +1,75 @@
+package de.hpi.extractor.dependency_parse_tree;
+
+import de.hpi.nlp.dependency_parse_tree.ConllReader;
+import de.hpi.nlp.dependency_parse_tree.DependencyParseTree;
+import de.hpi.nlp.dependency_parse_tree.Node;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class TreeFeaturesTest {
+
+    private static final String SENTENCE =
+        "1\tPeter\tPeter\tN\tNE\t_\t4\tsubj\t_\t_\n" +
+        "2\tund\tund\tKON\tKON\t_\t1\tkon\t_\t_\n" +
+        "3\tPaul\tPaul\tN\tNE\t_\t2\tcj\t_\t_\n" +
+        "4\tkommen\tkommen\tV\tVVFIN\t_\t0\troot\t_\t_\n";
+
+    @Test
+    public void testCache() {
+        DependencyParseTree tree = ConllReader.read(SENTENCE).get(0);
+        Node peter = tree.find(1);
+
+        // without a cache, the features are computed on every access
+        List<Node> konNodes = TreeFeatures.konNodes(peter);
+        assertEquals(Arrays.asList(tree.find(3)), konNodes);
+        assertNotSame(konNodes, TreeFeatures.konNodes(peter));
+
+        TreeFeatures features = TreeFeatures.open();
+        try {
+            konNodes = TreeFeatures.konNodes(peter);
+            assertEquals(Arrays.asList(tree.find(3)), konNodes);
+            assertSame(konNodes, TreeFeatures.konNodes(peter));
+            assertEquals(Arrays.asList(tree.find(2), tree.find(3)), TreeFeatures.konChildren(peter));
+
+            // a nested cache does not see the features of the outer one
+            TreeFeatures nested = TreeFeatures.open();
+            try {
+                assertNotSame(konNodes, TreeFeatures.konNodes(peter));
+            } finally {
+                nested.close();
+            }
+            assertSame(konNodes, TreeFeatures.konNodes(peter));
+        } finally {
+            features.close();
+        }
+        assertNotSame(konNodes, TreeFeatures.konNodes(peter));
+    }
+
+    @Test
+    public void testFeature() {
+        AtomicInteger calls = new AtomicInteger();
+        TreeFeatures.Feature<Node, Integer> size = new TreeFeatures.Feature<>(node -> {
+            calls.incrementAndGet();
+            return node.getSubtreeSize();
+        });
+        DependencyParseTree tree = ConllReader.read(SENTENCE).get(0);
+
+        TreeFeatures features = TreeFeatures.open();
+        try {
+            assertEquals(4, (int) TreeFeatures.get(size, tree.find(4)));
+            assertEquals(4, (int) TreeFeatures.get(size, tree.find(4)));
+            assertEquals(3, (int) TreeFeatures.get(size, tree.find(1)));
+        } finally {
+            features.close();
+        }
+        assertEquals(2, calls.get());
+    }
+
+}
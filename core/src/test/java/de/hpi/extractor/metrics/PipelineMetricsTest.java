@@ -0,0 +1,145 @@
+package de.hpi.extractor.metrics;
+
+import com.google.common.collect.Lists;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+import de.hpi.extractor.EvaluationPolicy;
+import de.hpi.extractor.Extractor;
+import de.hpi.extractor.FilterMapper;
+import de.hpi.extractor.IndependentMapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class PipelineMetricsTest {
+
+    private Extractor<String, String> extractor;
+
+    @Before
+    public void setUp() {
+        extractor = new Extractor<String, String>() {
+            @Override
+            protected Iterable<String> extractCandidates(String source) {
+                return Arrays.asList(source.split(" "));
+            }
+        };
+        FilterMapper<String> filter = new FilterMapper<String>() {
+            @Override
+            public boolean doFilter(String object) {
+                return object.length() > 1;
+            }
+        };
+        filter.setName("length");
+        IndependentMapper<String> upper = new IndependentMapper<String>() {
+            @Override
+            public String doMap(String object) {
+                return object.toUpperCase();
+            }
+        };
+        upper.setName("upper");
+        extractor.addMapper(filter);
+        extractor.addMapper(upper);
+    }
+
+    @After
+    public void tearDown() {
+        PipelineMetrics.setSink(null);
+        PipelineMetrics.setTrackAllocations(false);
+    }
+
+    @Test
+    public void testCounts() {
+        StatsSink stats = new StatsSink();
+        PipelineMetrics.setSink(stats);
+        PipelineMetrics.setTrackAllocations(true);
+
+        assertEquals(Arrays.asList("BC", "DEF"),
+                     Lists.newArrayList(extractor.extract("a bc def g")));
+        extractor.setEvaluationPolicy(EvaluationPolicy.STREAM_ONCE);
+        assertEquals(Arrays.asList("XY"), Lists.newArrayList(extractor.extract("xy z")));
+
+        StageStats length = stats.getStats("length");
+        assertEquals(2, length.getRecords());
+        assertEquals(6, length.getItemsIn());
+        assertEquals(3, length.getItemsOut());
+        assertEquals(3, length.getItemsDropped());
+        assertTrue(length.getNanos() > 0);
+
+        StageStats upper = stats.getStats("upper");
+        assertEquals(3, upper.getItemsIn());
+        assertEquals(3, upper.getItemsOut());
+
+        // the extractor itself and the mapper list
+        assertEquals(2, stats.getStats("PipelineMetricsTest$1").getItemsIn());
+        assertEquals(6, stats.getStats("PipelineMetricsTest$1").getItemsOut());
+        assertEquals(6, stats.getStats("MapperList").getItemsIn());
+    }
+
+    @Test
+    public void testAdaptiveFilterGroup() {
+        Extractor<String, String> grouped = new Extractor<String, String>() {
+            @Override
+            protected Iterable<String> extractCandidates(String source) {
+                return Arrays.asList(source.split(" "));
+            }
+        };
+        FilterMapper<String> length = new FilterMapper<String>(true) {
+            @Override
+            public boolean doFilter(String object) {
+                return object.length() > 1;
+            }
+        };
+        length.setName("length");
+        FilterMapper<String> vowel = new FilterMapper<String>(true) {
+            @Override
+            public boolean doFilter(String object) {
+                return object.matches(".*[aeiou].*");
+            }
+        };
+        vowel.setName("vowel");
+        grouped.addMapper(length);
+        grouped.addMapper(vowel);
+
+        StatsSink stats = new StatsSink();
+        PipelineMetrics.setSink(stats);
+        assertEquals(Arrays.asList("def"), Lists.newArrayList(grouped.extract("a bc def g xyz")));
+
+        // the filters of the group are reported on their own, in the declared order
+        assertEquals(5, stats.getStats("length").getItemsIn());
+        assertEquals(3, stats.getStats("length").getItemsOut());
+        assertEquals(3, stats.getStats("vowel").getItemsIn());
+        assertEquals(1, stats.getStats("vowel").getItemsOut());
+        assertEquals(5, stats.getStats("MapperList/filters@0").getItemsIn());
+        assertEquals(1, stats.getStats("MapperList/filters@0").getItemsOut());
+    }
+
+    @Test
+    public void testDisabled() {
+        StatsSink stats = new StatsSink();
+        Lists.newArrayList(extractor.extract("a bc def g"));
+        assertTrue(stats.getStats().isEmpty());
+    }
+
+    @Test
+    public void testJmx() throws Exception {
+        StatsSink stats = PipelineMetrics.enableJmx();
+        assertTrue(PipelineMetrics.getSink() == stats);
+        Lists.newArrayList(extractor.extract("a bc def g"));
+
+        TabularData data = (TabularData) ManagementFactory.getPlatformMBeanServer()
+            .getAttribute(new ObjectName(PipelineMetrics.OBJECT_NAME), "Stats");
+        assertNotNull(data.get(new Object[]{"length"}));
+        stats.reset();
+    }
+
+}
@@ -0,0 +1,120 @@
+package de.hpi.nlp;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.hpi.util.DocumentExtraction;
+import de.hpi.util.DocumentExtractions;
+import opennlp.tools.sentdetect.SentenceDetector;
+import opennlp.tools.util.Span;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SentenceStreamTest {
+
+    // splits after every '.' that is followed by whitespace or the end of the text
+    private static final SentenceDetector DETECTOR = new SentenceDetector() {
+        public String[] sentDetect(String s) {
+            return Span.spansToStrings(sentPosDetect(s), s);
+        }
+
+        public Span[] sentPosDetect(String s) {
+            List<Span> spans = new ArrayList<Span>();
+            int start = -1;
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (start < 0 && !Character.isWhitespace(c)) {
+                    start = i;
+                }
+                if (start >= 0 && c == '.'
+                    && (i + 1 == s.length() || Character.isWhitespace(s.charAt(i + 1)))) {
+                    spans.add(new Span(start, i + 1));
+                    start = -1;
+                }
+            }
+            if (start >= 0) {
+                int end = s.length();
+                while (Character.isWhitespace(s.charAt(end - 1))) {
+                    end--;
+                }
+                spans.add(new Span(start, end));
+            }
+            return spans.toArray(new Span[spans.size()]);
+        }
+    };
+
+    private static final String TEXT = "Berlin ist die Hauptstadt.  Paris liegt an der Seine.\n\n"
+                                       + "Der Rhein fließt durch Köln. Ohne Punkt";
+
+    private void check(List<SentenceStream.Sentence> sentences, String text) {
+        for (int i = 0; i < sentences.size(); i++) {
+            SentenceStream.Sentence sentence = sentences.get(i);
+            assertEquals(i, sentence.getIndex());
+            assertEquals(sentence.getText(),
+                         text.substring((int) sentence.getStart(), (int) sentence.getEnd()));
+        }
+    }
+
+    @Test
+    public void testChunks() {
+        List<String> expected = Arrays.asList("Berlin ist die Hauptstadt.",
+                                              "Paris liegt an der Seine.",
+                                              "Der Rhein fließt durch Köln.", "Ohne Punkt");
+        for (int chunkSize : new int[]{1, 3, 7, 20, 1000}) {
+            List<SentenceStream.Sentence> sentences = Lists.newArrayList(
+                new SentenceStream(new StringReader(TEXT), DETECTOR, chunkSize, 1000));
+            List<String> texts = new ArrayList<String>();
+            for (SentenceStream.Sentence sentence : sentences) {
+                texts.add(sentence.getText());
+            }
+            assertEquals(expected, texts);
+            check(sentences, TEXT);
+        }
+    }
+
+    @Test
+    public void testMaxSentenceLength() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            text.append("wort ");
+        }
+        text.append("Ende.");
+        List<SentenceStream.Sentence> sentences = Lists.newArrayList(
+            new SentenceStream(new StringReader(text.toString()), DETECTOR, 16, 64));
+        assertTrue(sentences.size() > 5);
+        for (SentenceStream.Sentence sentence : sentences) {
+            assertTrue(sentence.getText().length() <= 64);
+        }
+        check(sentences, text.toString());
+    }
+
+    @Test
+    public void testDocumentExtractions() {
+        SentenceStream sentences = new SentenceStream(new StringReader(TEXT), DETECTOR, 10, 1000);
+        DocumentExtractions<String> extractions = new DocumentExtractions<String>(
+            "doc1", sentences, sentence -> {
+                if (sentence.startsWith("Paris")) {
+                    throw new NlpException("cannot process");
+                }
+                return Arrays.asList(sentence.split(" ")[0], sentence.split(" ")[1]);
+            });
+
+        List<DocumentExtraction<String>> list = Lists.newArrayList(extractions);
+        assertEquals(6, list.size());
+        DocumentExtraction<String> extraction = list.get(2);
+        assertEquals("doc1", extraction.getDocumentId());
+        assertEquals(2, extraction.getSentenceIndex());
+        assertEquals("Der", extraction.getExtraction());
+        assertEquals("Der Rhein fließt durch Köln.", TEXT.substring(
+            (int) extraction.getSentenceStart(), (int) extraction.getSentenceEnd()));
+        assertEquals("Punkt", list.get(5).getExtraction());
+    }
+
+}
@@ -0,0 +1,116 @@
+package de.hpi.nlp.dependency_parse_tree;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class ConllCorpusReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static String sentence(int n) {
+        return "1\tEr\ter\tPRO\tPPER\t3|Sg|Masc|Nom\t2\tsubj\t_\t_\n" +
+               "2\tsagte\tsagen\tV\tVVFIN\t3|Sg|Past|_\t0\troot\t_\t_\n" +
+               "3\t" + n + "\t" + n + "\tCARD\tCARD\t_\t2\tobja\t_\t_\n";
+    }
+
+    private static String corpus(int sentences) {
+        StringBuilder corpus = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            corpus.append(sentence(i)).append('\n');
+        }
+        return corpus.toString();
+    }
+
+    private static List<String> strings(Stream<DependencyParseTree> trees) {
+        try (Stream<DependencyParseTree> t = trees) {
+            return t.map(DependencyParseTree::toString).collect(Collectors.toList());
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path path = folder.newFile(name).toPath();
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        Path path = write("corpus.conll", "\n" + corpus(3) + "\n\n");
+        List<String> trees = strings(ConllCorpusReader.trees(path, false));
+        assertEquals(3, trees.size());
+        assertEquals("Er sagte 2", trees.get(2).trim());
+
+        try (Stream<String> blocks = ConllCorpusReader.blocks(path, false)) {
+            assertEquals(sentence(0), blocks.findFirst().get());
+        }
+    }
+
+    @Test
+    public void testReadGzip() throws IOException {
+        Path path = folder.newFile("corpus.conll.gz").toPath();
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(path))) {
+            out.write(corpus(5).replace("\n", "\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+        assertEquals(strings(ConllCorpusReader.trees(new StringReader(corpus(5)))),
+                     strings(ConllCorpusReader.trees(path, false)));
+    }
+
+    @Test
+    public void testSegments() throws IOException {
+        String content = corpus(10);
+        Path path = write("corpus.conll", content);
+
+        // a sentence is about 120 bytes, so each segment keeps two or three sentences
+        ByteBuffer[] segments = ConllCorpusReader.map(path, 400);
+        assertEquals(4, segments.length);
+        List<String> blocks = StreamSupport.stream(
+            new ConllCorpusReader.BlockSpliterator(segments), false).collect(Collectors.toList());
+        assertEquals(10, blocks.size());
+        assertEquals(content, String.join("\n", blocks) + "\n");
+    }
+
+    @Test(expected = IOException.class)
+    public void testSentenceLargerThanSegment() throws IOException {
+        ConllCorpusReader.map(write("corpus.conll", corpus(3)), 100);
+    }
+
+    @Test
+    public void testParallel() throws IOException {
+        Path path = write("corpus.conll", corpus(5000));
+        List<String> expected = strings(ConllCorpusReader.trees(path, false));
+        assertEquals(5000, expected.size());
+        assertEquals(expected, strings(ConllCorpusReader.trees(path, true)));
+
+        // the split ranges cover all sentences
+        Spliterator<String> rest = new ConllCorpusReader.BlockSpliterator(
+            ConllCorpusReader.map(path, ConllCorpusReader.SEGMENT_SIZE));
+        Spliterator<String> prefix = rest.trySplit();
+        assertNotNull(prefix);
+        List<String> blocks = new ArrayList<>();
+        prefix.forEachRemaining(blocks::add);
+        rest.forEachRemaining(blocks::add);
+        assertEquals(5000, blocks.size());
+        assertEquals(sentence(4999), blocks.get(4999));
+    }
+
+}
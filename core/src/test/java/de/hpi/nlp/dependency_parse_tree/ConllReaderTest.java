@@ -0,0 +1,87 @@
+package de.hpi.nlp.dependency_parse_tree;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ConllReaderTest {
+
+    private static final String TREE1 =
+        "1\tEr\ter\tPRO\tPPER\t3|Sg|Masc|Nom\t2\tsubj\t_\t_ \n" +
+        "2\tsagte\tsagen\tV\tVVFIN\t3|Sg|Past|_\t0\troot\t_\t_ \n" +
+        "3\t.\t.\t$.\t$.\t_\t0\troot\t_\t_ \n";
+
+    private static final String TREE2 =
+        "1\tVergiss\tvergessen\tV\tVVIMP\t_\t0\troot\t_\t_ \n" +
+        "2\tes\tes\tPRO\tPPER\t3|Sg|Neut|Acc\t1\tobja\t_\t_ \n";
+
+    @Test
+    public void testRead() {
+        List<DependencyParseTree> trees = ConllReader.read(TREE1 + "\n" + TREE2 + "\n");
+        assertEquals(2, trees.size());
+
+        DependencyParseTree tree = trees.get(0);
+        Node sagte = tree.find(2);
+        assertEquals("sagte", sagte.getWord());
+        assertEquals("sagen", sagte.getLemma());
+        assertEquals("V", sagte.getPosGroup());
+        assertEquals("VVFIN", sagte.getPos());
+        assertEquals("3|Sg|Past|_", sagte.getMorphology());
+        assertEquals("root", sagte.getLabelToParent());
+        assertEquals(0, sagte.getParentId());
+        assertSame(tree.getTree(), sagte.getParent());
+        assertSame(sagte, tree.find(1).getParent());
+        assertEquals(Arrays.asList(sagte, tree.find(3)), tree.getTree().getChildren());
+        assertEquals("Er sagte", sagte.toString());
+
+        assertEquals("Vergiss es", trees.get(1).toString().trim());
+
+        // the tags of different trees share their strings
+        assertSame(tree.find(1).getPos(), trees.get(1).find(2).getPos());
+    }
+
+    @Test
+    public void testSameAsLines() {
+        String content = TREE1 + "\n" + TREE2;
+        List<DependencyParseTree> fromString = ConllReader.read(content.replace("\n", "\r\n"));
+        List<DependencyParseTree> fromLines = ConllReader.read(Arrays.asList(content.split("\n")));
+        List<DependencyParseTree> fromBytes =
+            ConllReader.read(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(fromLines.size(), fromString.size());
+        assertEquals(fromLines.size(), fromBytes.size());
+        for (int i = 0; i < fromLines.size(); i++) {
+            assertEquals(fromLines.get(i).toString(), fromString.get(i).toString());
+            assertEquals(fromLines.get(i).toString(), fromBytes.get(i).toString());
+            assertEquals(fromLines.get(i).size(), fromString.get(i).size());
+        }
+    }
+
+    @Test
+    public void testMissingParent() {
+        List<DependencyParseTree> trees = ConllReader.read(
+            "1\tEr\ter\tPRO\tPPER\t_\t5\tsubj\t_\t_\n" +
+            "2\tsagte\tsagen\tV\tVVFIN\t_\t0\troot\t_\t_");
+        assertEquals(1, trees.size());
+        assertEquals(2, trees.get(0).size());
+        assertNull(trees.get(0).find(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLine() {
+        ConllReader.read("1\tEr\ter\tPRO");
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testInvalidId() {
+        ConllReader.read("x\tEr\ter\tPRO\tPPER\t_\t0\troot\t_\t_");
+    }
+
+}
@@ -0,0 +1,120 @@
+package de.hpi.nlp.dependency_parse_tree;
+
+import de.hpi.extractor.dependency_parse_tree.DepConIEExtractor;
+import de.hpi.nlp.extraction.dependency_parse_tree.TreeBinaryExtraction;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ConllUReaderTest {
+
+    private ConllUReader reader = new ConllUReader();
+
+    private static String describe(DependencyParseTree tree) {
+        StringBuilder description = new StringBuilder();
+        for (Node node : tree.toList()) {
+            if (node.getId() == 0) {
+                continue;
+            }
+            description.append(node.getId()).append(' ').append(node.getWord()).append(' ')
+                .append(node.getPosGroup()).append(' ').append(node.getPos()).append(' ')
+                .append(node.getParent() == null ? -1 : node.getParent().getId()).append(' ')
+                .append(node.getLabelToParent()).append('\n');
+        }
+        return description.toString();
+    }
+
+    private static List<String> extract(DependencyParseTree tree) {
+        List<String> extractions = new ArrayList<>();
+        for (TreeBinaryExtraction extraction : new DepConIEExtractor(0, true, false, false).extract(tree)) {
+            extractions.add(extraction.toString());
+        }
+        return extractions;
+    }
+
+    @Test
+    public void testConvert() {
+        DependencyParseTree tree = reader.read(
+            "# text = Peter und Maria wohnen seit 2010 in Berlin.\n" +
+            "1\tPeter\tPeter\tPROPN\tNE\t_\t4\tnsubj\t_\t_\n" +
+            "2\tund\tund\tCCONJ\tKON\t_\t3\tcc\t_\t_\n" +
+            "3\tMaria\tMaria\tPROPN\tNE\t_\t1\tconj\t_\t_\n" +
+            "4\twohnen\twohnen\tVERB\tVVFIN\t_\t0\troot\t_\t_\n" +
+            "5\tseit\tseit\tADP\tAPPR\t_\t6\tcase\t_\t_\n" +
+            "6\t2010\t2010\tNUM\tCARD\t_\t4\tobl\t_\t_\n" +
+            "7\tin\tin\tADP\tAPPR\t_\t8\tcase\t_\t_\n" +
+            "8\tBerlin\tBerlin\tPROPN\tNE\t_\t4\tobl\t_\tSpaceAfter=No\n" +
+            "9\t.\t.\tPUNCT\t$.\t_\t4\tpunct\t_\t_\n").get(0);
+
+        DependencyParseTree parZu = ConllReader.read(
+            "1\tPeter\tPeter\tN\tNE\t_\t4\tsubj\t_\t_\n" +
+            "2\tund\tund\tKON\tKON\t_\t1\tkon\t_\t_\n" +
+            "3\tMaria\tMaria\tN\tNE\t_\t2\tcj\t_\t_\n" +
+            "4\twohnen\twohnen\tV\tVVFIN\t_\t0\troot\t_\t_\n" +
+            "5\tseit\tseit\tAPPR\tAPPR\t_\t4\tpp\t_\t_\n" +
+            "6\t2010\t2010\tCARD\tCARD\t_\t5\tpn\t_\t_\n" +
+            "7\tin\tin\tAPPR\tAPPR\t_\t4\tpp\t_\t_\n" +
+            "8\tBerlin\tBerlin\tN\tNE\t_\t7\tpn\t_\t_\n" +
+            "9\t.\t.\t$.\t$.\t_\t0\troot\t_\t_\n").get(0);
+
+        assertEquals(describe(parZu), describe(tree));
+        assertEquals(extract(parZu), extract(tree));
+        assertFalse(extract(tree).isEmpty());
+    }
+
+    @Test
+    public void testCopula() {
+        DependencyParseTree tree = reader.read(
+            "1\tBerlin\tBerlin\tPROPN\t_\t_\t4\tnsubj\t_\t_\n" +
+            "2\tist\tsein\tAUX\t_\t_\t4\tcop\t_\t_\n" +
+            "3\teine\tein\tDET\t_\t_\t4\tdet\t_\t_\n" +
+            "4\tStadt\tStadt\tNOUN\t_\t_\t0\troot\t_\t_\n" +
+            "5\t.\t.\tPUNCT\t_\t_\t4\tpunct\t_\t_\n").get(0);
+
+        assertEquals("1 Berlin N NE 2 subj\n" +
+                     "2 ist V VAFIN 0 root\n" +
+                     "3 eine ART ART 4 det\n" +
+                     "4 Stadt N NN 2 pred\n" +
+                     "5 . $. $. 0 root\n",
+                     describe(tree));
+    }
+
+    @Test
+    public void testSkippedLines() {
+        List<DependencyParseTree> trees = reader.read(
+            "# sent_id = 1\n" +
+            "1-2\tzum\t_\t_\t_\t_\t_\t_\t_\t_\n" +
+            "1\tzu\tzu\tADP\tAPPR\t_\t2\tcase\t_\t_\n" +
+            "2\tdem\tder\tDET\tART\t_\t3\tdet\t_\t_\n" +
+            "3\tHaus\tHaus\tNOUN\tNN\t_\t0\troot\t_\t_\n" +
+            "3.1\t_\t_\t_\t_\t_\t_\t_\t3:dep\t_\n" +
+            "\n" +
+            "1\tJa\tja\tINTJ\tITJ\t_\t0\troot\t_\t_\n");
+
+        assertEquals(2, trees.size());
+        assertEquals("zu dem Haus", trees.get(0).toString().trim());
+        assertEquals(4, trees.get(0).size());
+        assertEquals("Ja", trees.get(1).toString().trim());
+    }
+
+    @Test
+    public void testMapping() {
+        LabelMapping mapping = LabelMapping.universalDependencies();
+        assertEquals("subj", mapping.mapLabel("nsubj:pass"));
+        assertEquals("objp", mapping.mapLabel("obl:arg"));
+        assertEquals("unknown", mapping.mapLabel("unknown"));
+        assertEquals("$,", mapping.mapTag("PUNCT", ","));
+        assertEquals("PRO", LabelMapping.posGroup("PRELS"));
+
+        mapping.putLabel("nsubj:pass", "obja");
+        DependencyParseTree tree = new ConllUReader(mapping).read(
+            "1\tEr\ter\tPRON\tPPER\t_\t2\tnsubj:pass\t_\t_\n" +
+            "2\tkam\tkommen\tVERB\tVVFIN\t_\t0\troot\t_\t_\n").get(0);
+        assertEquals("obja", tree.find(1).getLabelToParent());
+    }
+
+}
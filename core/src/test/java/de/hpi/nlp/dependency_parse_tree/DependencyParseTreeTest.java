@@ -64,4 +64,105 @@ public class DependencyParseTreeTest {
         assertThat(actualRoots, is(expectedRoots));
     }
 
+    private static final String SENTENCE =
+        "1\tEr\ter\tPRO\tPPER\t3|Sg|Masc|Nom\t2\tsubj\t_\t_ \n" +
+        "2\tsagte\tsagen\tV\tVVFIN\t3|Sg|Past|_\t0\troot\t_\t_ \n" +
+        "3\t,\t,\t$,\t$,\t_\t0\troot\t_\t_ \n" +
+        "4\tvergiss\tvergiss\tV\tVVFIN\t3|Sg|_|_\t2\ts\t_\t_ \n" +
+        "5\tes\tes\tPRO\tPPER\t3|Sg|Neut|Nom\t4\tsubj\t_\t_ \n" +
+        "6\t.\t.\t$.\t$.\t_\t0\troot\t_\t_ ";
+
+    @Test
+    public void testFind() throws Exception {
+        DependencyParseTree tree = getTree(SENTENCE);
+        Node sagte = tree.find(2);
+        Node vergiss = tree.find(4);
+
+        assertThat(tree.size(), is(7));
+        assertThat(sagte.getWord(), is("sagte"));
+        assertThat(tree.find(7), is((Node) null));
+
+        // lookups are restricted to the subtree
+        assertThat(vergiss.find(5).getWord(), is("es"));
+        assertThat(vergiss.find(1), is((Node) null));
+        assertThat(sagte.find(Arrays.asList(5, 1, 5, 3)), is(Arrays.asList(tree.find(1), tree.find(5))));
+        assertThat(vergiss.toList(), is(Arrays.asList(vergiss, tree.find(5))));
+        assertThat(sagte.getSubtreeSize(), is(4));
+
+        assertThat(vergiss.isDescendantOf(sagte), is(true));
+        assertThat(sagte.isDescendantOf(vergiss), is(false));
+        assertThat(sagte.isDescendantOf(sagte), is(false));
+        assertThat(sagte.contains(sagte), is(true));
+
+        assertThat(sagte.commaBefore(4), is(true));
+        assertThat(sagte.commaBefore(2), is(false));
+    }
+
+    @Test
+    public void testFindAfterRemove() throws Exception {
+        DependencyParseTree tree = getTree(SENTENCE);
+        Node sagte = tree.find(2);
+        Node vergiss = tree.find(4);
+        assertThat(sagte.find(5).getWord(), is("es"));
+
+        vergiss.remove();
+        assertThat(sagte.find(5), is((Node) null));
+        assertThat(tree.find(4), is((Node) null));
+        assertThat(sagte.getSubtreeSize(), is(2));
+        assertThat(vergiss.isDescendantOf(sagte), is(false));
+
+        // the removed subtree is still usable on its own
+        assertThat(vergiss.find(5).getWord(), is("es"));
+
+        sagte.addChild(vergiss);
+        assertThat(tree.find(5).getWord(), is("es"));
+        assertThat(tree.size(), is(7));
+    }
+
+    @Test
+    public void testPrune() throws Exception {
+        DependencyParseTree tree = getTree(
+                "1\tPeter\tPeter\tN\tNE\t_\t3\tvok\t_\t_ \n" +
+                "2\t,\t,\t$,\t$,\t_\t0\troot\t_\t_ \n" +
+                "3\tkomm\tkommen\tV\tVVIMP\t_\t0\troot\t_\t_ \n" +
+                "4\tbald\tbald\tADV\tADV\t_\t3\tadv\t_\t_ \n" +
+                "5\t.\t.\t$.\t$.\t_\t0\troot\t_\t_ ");
+        Node komm = tree.find(3);
+        Node peter = tree.find(1);
+
+        tree.prune();
+        tree.prune();
+        assertThat(tree.isPruned(), is(true));
+
+        // the pruned node is hidden, but not removed
+        assertThat(peter.isHidden(), is(true));
+        assertThat(komm.getChildren(), is(Arrays.asList(tree.find(4))));
+        assertThat(komm.getAllChildren(), is(Arrays.asList(peter, tree.find(4))));
+        assertThat(peter.getParent(), is(komm));
+        assertThat(tree.find(1), is((Node) null));
+        assertThat(komm.toString(), is("komm bald"));
+        assertThat(tree.size(), is(5));
+    }
+
+    @Test
+    public void testGetChildrenOfType() throws Exception {
+        DependencyParseTree tree = getTree(SENTENCE);
+        Node sagte = tree.find(2);
+        Node vergiss = tree.find(4);
+
+        assertThat(sagte.getChildrenOfType("s"), is(Arrays.asList(vergiss)));
+        assertThat(sagte.getChildrenOfType("subj", "s"), is(Arrays.asList(tree.find(1), vergiss)));
+        assertThat(sagte.getChildrenOfType("obja").isEmpty(), is(true));
+        assertThat(sagte.hasChildrenOfType("obja", "s"), is(true));
+        assertThat(sagte.hasChildrenOfType("obja"), is(false));
+        assertThat(sagte.find("subj"), is(Arrays.asList(tree.find(1), tree.find(5))));
+
+        // labels, which are not ParZu labels
+        vergiss.setLabelToParent("custom");
+        assertThat(vergiss.getLabelCode(), is(Labels.OTHER));
+        assertThat(sagte.getChildrenOfType("custom"), is(Arrays.asList(vergiss)));
+        assertThat(sagte.hasChildrenOfType("other"), is(false));
+        assertThat(sagte.hasChildrenOfType("s"), is(false));
+    }
+
 }
@@ -2,7 +2,11 @@ package de.hpi.nlp.dependency_parse_tree;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class NodeTest {
 
@@ -21,4 +25,35 @@ public class NodeTest {
         assertEquals(2, node.getParentId());
     }
 
+    @Test
+    public void testAddChild() {
+        Node root = new Node("1\tkauft\tkaufen\tV\tVVFIN\t_\t0\troot\t_\t_");
+        Node subj = new Node("2\tPeter\tPeter\tN\tNE\t_\t1\tsubj\t_\t_");
+        Node par = new Node("3\tja\tja\tADV\tADV\t_\t1\tpar\t_\t_");
+        root.addChild(subj);
+        root.addChild(par);
+        assertEquals(Arrays.asList(subj, par), root.getChildren());
+        assertTrue(root.hasChildrenOfType("par"));
+
+        root.prune();
+        assertEquals(Arrays.asList(subj), root.getChildren());
+        assertFalse(root.hasChildrenOfType("par"));
+
+        // children added after pruning are visible
+        Node obja = new Node("4\tBrot\tBrot\tN\tNN\t_\t1\tobja\t_\t_");
+        root.addChild(obja);
+        assertEquals(Arrays.asList(subj, obja), root.getChildren());
+        assertEquals(Arrays.asList(subj, par, obja), root.getAllChildren());
+        assertTrue(root.hasChildrenOfType("obja"));
+
+        // hidden children stay hidden when added to another node
+        Node other = new Node("5\tkauft\tkaufen\tV\tVVFIN\t_\t0\troot\t_\t_");
+        other.addChild(subj);
+        other.addChild(par);
+        assertEquals(Arrays.asList(subj), other.getChildren());
+        assertEquals(Arrays.asList(subj, par), other.getAllChildren());
+        assertFalse(other.hasChildrenOfType("par"));
+        assertTrue(other.hasChildrenOfType("subj"));
+    }
+
 }
@@ -2,7 +2,12 @@ package de.hpi.nlp.dependency_parse_tree;
 
 import org.junit.Test;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class ParZuSentenceParserTest {
 
@@ -19,4 +24,43 @@ public class ParZuSentenceParserTest {
         assertEquals("Franz Beckenbauer war z.B. ein Fußballspieler", tree.getTree().getChildren().get(0).toString());
     }
 
+    @Test
+    public void testTaggedInput() {
+        assertEquals("Er\tPPER\ngeht\tVVFIN\ndeshalb\tPROAV\n.\t$.\n\n",
+                     ParZuSentenceParser.toTaggedInput(
+                         Arrays.asList("Er", "geht", "deshalb", "."),
+                         Arrays.asList("PPER", "VVFIN", "PAV", "$.")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTaggedInputWithoutTags() {
+        ParZuSentenceParser.toTaggedInput(Arrays.asList("Er", "geht"), Arrays.asList("PPER"));
+    }
+
+    @Test
+    public void testFailure() {
+        ParZuSentenceParser parser = new ParZuSentenceParser((input, tagged) -> {
+            throw new IOException("ParZu is not installed");
+        });
+        assertTrue(parser.parseSentence("Er geht.").isEmpty());
+        assertTrue(parser.parseTaggedSentence(Arrays.asList("Er", "geht", "."),
+                                              Arrays.asList("PPER", "VVFIN", "$.")).isEmpty());
+    }
+
+    @Test
+    public void testInterrupted() {
+        ParZuSentenceParser parser = new ParZuSentenceParser((input, tagged) -> {
+            throw new InterruptedException();
+        });
+        try {
+            parser.parseTaggedSentence(Arrays.asList("Er", "geht", "."),
+                                       Arrays.asList("PPER", "VVFIN", "$."));
+            fail("The interrupt was swallowed");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getCause() instanceof InterruptedException);
+            // clears the flag for the following tests
+            assertTrue(Thread.interrupted());
+        }
+    }
+
 }
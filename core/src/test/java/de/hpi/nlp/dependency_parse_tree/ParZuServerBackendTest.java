@@ -0,0 +1,178 @@
+package de.hpi.nlp.dependency_parse_tree;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParZuServerBackendTest {
+
+    // the recorded output of ParZu
+    private static final String CONLL =
+        "1\tEr\ter\tPRO\tPPER\t3|Sg|Masc|Nom\t2\tsubj\t_\t_\n" +
+        "2\tkauft\tkaufen\tV\tVVFIN\t3|Sg|Pres|Ind\t0\troot\t_\t_\n" +
+        "3\tBrot\tBrot\tN\tNN\tNeut|Acc|Sg\t2\tobja\t_\t_\n" +
+        "4\t.\t.\t$.\t$.\t_\t0\troot\t_\t_\n\n";
+
+    private final List<HttpServer> servers = new ArrayList<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    /**
+     * A stand-in for a ParZu server, which replays the recorded output.
+     */
+    private class StandIn {
+
+        final URL url;
+        final List<String> requests = Collections.synchronizedList(new ArrayList<String>());
+        volatile CountDownLatch gate = new CountDownLatch(0);
+        volatile long delay = 0;
+
+        StandIn() throws IOException {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/parse/", this::handle);
+            server.setExecutor(executor);
+            server.start();
+            servers.add(server);
+            url = new URL("http://localhost:" + server.getAddress().getPort() + "/parse/");
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            try (InputStream in = exchange.getRequestBody()) {
+                ByteArrayOutputStream body = new ByteArrayOutputStream();
+                byte[] buffer = new byte[1024];
+                int n;
+                while ((n = in.read(buffer)) >= 0) {
+                    body.write(buffer, 0, n);
+                }
+                requests.add(new String(body.toByteArray(), StandardCharsets.UTF_8));
+            }
+            try {
+                gate.await();
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] response = CONLL.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        for (HttpServer server : servers) {
+            server.stop(0);
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testParse() throws IOException {
+        StandIn server = new StandIn();
+        ParZuSentenceParser parser =
+            new ParZuSentenceParser(new ParZuServerBackend(Arrays.asList(server.url)));
+
+        List<DependencyParseTree> trees = parser.parseSentence("Er kauft \"Brot\".");
+        assertEquals(1, trees.size());
+        assertEquals("Er kauft \"Brot\".", trees.get(0).getSentence());
+        assertEquals("kauft", trees.get(0).getTree().getChildren().get(0).getWord());
+
+        trees = parser.parseTaggedSentence(Arrays.asList("Er", "kauft", "Brot", "."),
+                                           Arrays.asList("PPER", "VVFIN", "NN", "$."));
+        assertEquals(1, trees.size());
+
+        assertEquals(Arrays.asList(
+            "{\"text\": \"Er kauft \\\"Brot\\\".\\n\"}",
+            "{\"text\": \"Er\\tPPER\\nkauft\\tVVFIN\\nBrot\\tNN\\n.\\t$.\\n\\n\", \"inputformat\": \"tagged\"}"),
+                     server.requests);
+    }
+
+    @Test
+    public void testRoundRobin() throws Exception {
+        StandIn first = new StandIn();
+        StandIn second = new StandIn();
+        ParZuServerBackend backend = new ParZuServerBackend(Arrays.asList(first.url, second.url));
+
+        for (int i = 0; i < 6; i++) {
+            assertEquals(1, ConllReader.read(backend.parse("Er kauft Brot.\n", false)).size());
+        }
+        assertEquals(3, first.requests.size());
+        assertEquals(3, second.requests.size());
+    }
+
+    @Test
+    public void testLeastLoaded() throws Exception {
+        StandIn first = new StandIn();
+        StandIn second = new StandIn();
+        first.gate = new CountDownLatch(1);
+        ParZuServerBackend backend = new ParZuServerBackend(Arrays.asList(first.url, second.url));
+
+        // the first request blocks the first server
+        Future<List<String>> blocked = executor.submit(() -> backend.parse("Er kauft Brot.\n", false));
+        while (backend.getLoad()[0] == 0) {
+            Thread.sleep(1);
+        }
+        for (int i = 0; i < 4; i++) {
+            backend.parse("Er kauft Brot.\n", false);
+        }
+        assertEquals(4, second.requests.size());
+
+        first.gate.countDown();
+        assertEquals(1, ConllReader.read(blocked.get(10, TimeUnit.SECONDS)).size());
+        assertEquals(1, first.requests.size());
+    }
+
+    @Test
+    public void testFailover() throws Exception {
+        URL down;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            down = new URL("http://localhost:" + socket.getLocalPort() + "/parse/");
+        }
+        StandIn server = new StandIn();
+        ParZuServerBackend backend = new ParZuServerBackend(Arrays.asList(down, server.url));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(1, ConllReader.read(backend.parse("Er kauft Brot.\n", false)).size());
+        }
+        assertEquals(4, server.requests.size());
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        StandIn server = new StandIn();
+        server.delay = 2000;
+        ParZuServerBackend backend = new ParZuServerBackend(Arrays.asList(server.url), 200, 1);
+
+        long start = System.nanoTime();
+        try {
+            backend.parse("Er kauft Brot.\n", false);
+            throw new AssertionError("The request did not time out");
+        } catch (IOException e) {
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        }
+    }
+
+}
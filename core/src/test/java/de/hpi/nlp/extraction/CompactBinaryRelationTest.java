@@ -0,0 +1,97 @@
+package de.hpi.nlp.extraction;
+
+import com.google.common.collect.Lists;
+import de.hpi.extractor.dependency_parse_tree.DepConIEExtractor;
+import de.hpi.nlp.dependency_parse_tree.ConllReader;
+import de.hpi.nlp.dependency_parse_tree.DependencyParseTree;
+import de.hpi.nlp.extraction.dependency_parse_tree.TreeBinaryExtraction;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompactBinaryRelationTest {
+
+    private static final List<String> CONLL = Arrays.asList(
+        "1\tWir\twir\tPRO\tPPER\t1|Pl|_|Nom\t2\tsubj\t_\t_",
+        "2\thaben\thaben\tV\tVAFIN\t1|Pl|Pres|_\t0\troot\t_\t_",
+        "3\tein\teine\tART\tART\tIndef|Neut|_|Sg\t7\tdet\t_\t_",
+        "4\tinnovatives\tinnovativ\tADJA\tADJA\tPos|Neut|_|Sg|St|\t7\tattr\t_\t_",
+        "5\t,\t,\t$,\t$,\t_\t0\troot\t_\t_",
+        "6\tneues\tneu\tADJA\tADJA\tPos|Neut|_|Sg|St|\t4\tkon\t_\t_",
+        "7\tSystem\tSystem\tN\tNN\tNeut|_|Sg\t2\tobja\t_\t_",
+        "8\tentwickelt\tentwickeln\tV\tVVPP\t_\t2\taux\t_\t_",
+        "9\t.\t.\t$.\t$.\t_\t0\troot\t_\t_",
+        "");
+
+    private static List<TreeBinaryExtraction> extract() {
+        DependencyParseTree tree = ConllReader.read(CONLL).get(0);
+        tree.setSentence("Wir haben ein innovatives, neues System entwickelt.");
+        tree.setConllLines(CONLL);
+        return Lists.newArrayList(new DepConIEExtractor(0, true, true, false).extract(tree));
+    }
+
+    @Test
+    public void testConvert() {
+        List<TreeBinaryExtraction> extractions = extract();
+        assertFalse(extractions.isEmpty());
+
+        SentenceStore store = new SentenceStore();
+        List<CompactBinaryRelation> relations = TreeBinaryExtraction.convert(extractions, store);
+        assertEquals(1, store.size());
+        for (int i = 0; i < relations.size(); i++) {
+            SimpleBinaryRelation expected = extractions.get(i).convert();
+            CompactBinaryRelation actual = relations.get(i);
+            assertEquals(relations.get(0).getSentenceId(), actual.getSentenceId());
+            assertEquals(expected.getArgument1(), actual.getArgument1());
+            assertEquals(expected.getRelation(), actual.getRelation());
+            assertEquals(expected.getArgument2(), actual.getArgument2());
+            assertEquals(expected.getContext(), actual.getContext());
+            assertEquals(expected.getSentence(), actual.getSentence());
+            assertEquals(expected.getParsedSentence(), actual.getParsedSentence());
+        }
+        assertEquals(String.join("\n", CONLL), relations.get(0).getParsedSentence());
+    }
+
+    @Test
+    public void testRemove() {
+        SentenceStore store = new SentenceStore(false);
+        CompactBinaryRelation relation = TreeBinaryExtraction.convert(extract(), store).get(0);
+        assertNull(relation.getParsedSentence());
+        assertEquals("Wir haben ein innovatives, neues System entwickelt.", relation.getSentence());
+
+        store.remove(relation.getSentenceId());
+        assertFalse(store.contains(relation.getSentenceId()));
+        assertNull(relation.getSentence());
+        assertNull(relation.getRelation());
+    }
+
+    @Test
+    public void testSetters() {
+        SentenceStore store = new SentenceStore();
+        CompactBinaryRelation relation = TreeBinaryExtraction.convert(extract(), store).get(0);
+        String argument1 = relation.getArgument1();
+        String argument2 = relation.getArgument2();
+        assertFalse(relation.isMaterialized());
+
+        relation.setRelation("entwickeln");
+        assertTrue(relation.isMaterialized());
+        assertEquals("entwickeln", relation.getRelation());
+        assertEquals(argument1, relation.getArgument1());
+
+        // the texts no longer depend on the store
+        store.remove(relation.getSentenceId());
+        assertEquals(argument2, relation.getArgument2());
+        assertEquals("Wir haben ein innovatives, neues System entwickelt.", relation.getSentence());
+        assertEquals(String.join("\n", CONLL), relation.getParsedSentence());
+
+        relation.setContext("none");
+        assertEquals("none", relation.getContext());
+    }
+
+}
@@ -0,0 +1,81 @@
+package de.hpi.nlp.extraction;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ProductIteratorTest {
+
+    private static final List<String> ARG1S = ImmutableList.of("a", "b", "c");
+    private static final List<String> ARG2S = ImmutableList.of("x", "y");
+
+    private static ProductIterator<String, String> product(int maxPairs, ExtractionBudget budget) {
+        return new ProductIterator<String, String>(ARG1S, ARG2S, (arg1, arg2) -> arg1 + arg2,
+                                                   maxPairs, budget);
+    }
+
+    @Test
+    public void testFullProduct() {
+        List<String> pairs = Lists.newArrayList(product(Integer.MAX_VALUE,
+                                                        new ExtractionBudget(Integer.MAX_VALUE)));
+        assertEquals(ImmutableList.of("ax", "ay", "bx", "by", "cx", "cy"), pairs);
+    }
+
+    @Test
+    public void testMaxPairs() {
+        ExtractionBudget budget = new ExtractionBudget(10);
+        List<String> pairs = Lists.newArrayList(product(3, budget));
+        assertEquals(ImmutableList.of("ax", "ay", "bx"), pairs);
+        assertEquals(7, budget.getRemaining());
+    }
+
+    @Test
+    public void testSharedBudget() {
+        ExtractionBudget budget = new ExtractionBudget(4);
+        assertEquals(3, Lists.newArrayList(product(3, budget)).size());
+        assertEquals(1, Lists.newArrayList(product(3, budget)).size());
+        assertTrue(budget.isExhausted());
+        assertEquals(0, Lists.newArrayList(product(3, budget)).size());
+        assertEquals(2, budget.getRejected());
+    }
+
+    @Test
+    public void testLimitedBudget() {
+        ExtractionBudget budget = new ExtractionBudget(10);
+        ExtractionBudget limited = budget.limit(2);
+        assertEquals(2, Lists.newArrayList(product(3, limited)).size());
+        assertEquals(8, budget.getRemaining());
+        // the limit was reached, so the outer budget is exceeded as well
+        assertTrue(limited.isExceeded());
+        assertTrue(budget.isExceeded());
+        assertFalse(budget.isExhausted());
+
+        // a smaller outer budget applies, too
+        budget = new ExtractionBudget(1);
+        assertEquals(1, Lists.newArrayList(product(3, budget.limit(2))).size());
+        assertTrue(budget.isExceeded());
+    }
+
+    @Test
+    public void testSkippedPairs() {
+        ProductIterator<String, String> it = new ProductIterator<String, String>(
+            ARG1S, ARG2S, (arg1, arg2) -> arg1.equals("b") ? null : arg1 + arg2,
+            Integer.MAX_VALUE, new ExtractionBudget(Integer.MAX_VALUE));
+        assertEquals(ImmutableList.of("ax", "ay", "cx", "cy"), Lists.newArrayList(it));
+    }
+
+    @Test
+    public void testEmptyArguments() {
+        ProductIterator<String, String> it = new ProductIterator<String, String>(
+            ARG1S, ImmutableList.<String>of(), (arg1, arg2) -> arg1 + arg2,
+            Integer.MAX_VALUE, new ExtractionBudget(Integer.MAX_VALUE));
+        assertFalse(it.hasNext());
+    }
+
+}
@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 public class BIOLayeredSequenceTest {
 
@@ -137,4 +138,45 @@ public class BIOLayeredSequenceTest {
         assertEquals(1, sub.getSpans("layer", "Z").size());
     }
 
+    @Test
+    public void test9() throws SequenceException {
+        BIOLayeredSequence seq = new BIOLayeredSequence(7);
+        seq.addLayer("tok", split("a b c d e f g"));
+        seq.addSpanLayer("layer", split("B-X I-X O B-Y I-Y I-Y B-Z"));
+
+        BIOLayeredSequence sub = seq.getSubSequence(1, 5);
+        assertEquals(split("b c d e f"), sub.getLayer("tok"));
+        assertEquals(split("B-X O B-Y I-Y I-Y"), sub.getLayer("layer"));
+        assertEquals(2, sub.getNumLayers());
+
+        BIOLayeredSequence subSub = sub.getSubSequence(3, 2);
+        assertEquals(split("e f"), subSub.getLayer("tok"));
+        assertEquals(split("B-Y I-Y"), subSub.getLayer("layer"));
+        assertEquals(1, subSub.getSpans("layer").size());
+        assertEquals(new Range(0, 2), subSub.getSpans("layer").get(0));
+
+        BIOLayeredSequence copy = new BIOLayeredSequence(2);
+        copy.addLayer("tok", split("e f"));
+        copy.addSpanLayer("layer", split("B-Y I-Y"));
+        assertEquals(copy, subSub);
+        assertEquals(copy.hashCode(), subSub.hashCode());
+    }
+
+    @Test
+    public void test10() throws SequenceException {
+        SimpleLayeredSequence seq = new SimpleLayeredSequence(3);
+        seq.addLayer("tok", split("a b c"));
+        SimpleLayeredSequence sub = seq.getSubSequence(1, 2);
+        int hash = sub.hashCode();
+
+        // the view sees the layers added to the viewed sequence
+        seq.addLayer("pos", split("X Y Z"));
+        SimpleLayeredSequence copy = new SimpleLayeredSequence(2);
+        copy.addLayer("tok", split("b c"));
+        copy.addLayer("pos", split("Y Z"));
+        assertEquals(copy, sub);
+        assertEquals(copy.hashCode(), sub.hashCode());
+        assertNotEquals(hash, sub.hashCode());
+    }
+
 }
@@ -0,0 +1,49 @@
+package de.hpi.sequence;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LayeredTokenPatternCacheTest {
+
+    @Test
+    public void testGet() throws SequenceException {
+        LayeredTokenPattern pattern = LayeredTokenPatternCache.get("ART_pos NN_pos");
+        assertSame(pattern, LayeredTokenPatternCache.get("ART_pos NN_pos"));
+        assertTrue(LayeredTokenPatternCache.contains("ART_pos NN_pos"));
+    }
+
+    @Test
+    public void testWriteRead() throws Exception {
+        String patternString = "sah_w [Muscheln_w Meer_w]";
+        LayeredTokenPattern pattern = LayeredTokenPatternCache.get(patternString);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LayeredTokenPatternCache.write(out);
+        LayeredTokenPatternCache.clear();
+        assertFalse(LayeredTokenPatternCache.contains(patternString));
+
+        int n = LayeredTokenPatternCache.read(new ByteArrayInputStream(out.toByteArray()));
+        assertTrue(n > 0);
+        LayeredTokenPattern loaded = LayeredTokenPatternCache.get(patternString);
+        assertNotSame(pattern, loaded);
+
+        List<String> words = Arrays.asList("sie sah Muscheln am Meer".split(" "));
+        SimpleLayeredSequence seq = new SimpleLayeredSequence(words.size());
+        seq.addLayer("w", words);
+        LayeredTokenMatcher m = loaded.matcher(seq);
+        assertTrue(m.find());
+        assertEquals(1, m.start());
+        assertEquals(3, m.end());
+    }
+
+}
@@ -4,6 +4,7 @@ package de.hpi.sequence;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -44,4 +45,29 @@ public class RegexTaggerTest {
         assertEquals(expected, result);
     }
 
+    @Test
+    public void testTagPositions() throws SequenceException {
+        RegexTagger tagger = new RegexTagger(new LayeredTokenPattern(". sah_w ."), "R");
+        List<String> testList = listize("sie sah Muscheln am Meeresstrand");
+        SimpleLayeredSequence seq = new SimpleLayeredSequence(testList.size());
+        seq.addLayer("w", testList);
+
+        BitSet expected = new BitSet();
+        expected.set(0, 3);
+        assertEquals(expected, tagger.tagPositions(seq));
+    }
+
+    @Test
+    public void testMultiTag() throws SequenceException {
+        MultiRegexTagger tagger = new MultiRegexTagger(
+            new RegexTagger(new LayeredTokenPattern("sah_w Muscheln_w"), "V"),
+            new RegexTagger(new LayeredTokenPattern("[sie_w Muscheln_w]"), "N"));
+        List<String> testList = listize("sie sah Muscheln am Meeresstrand wo sie saß");
+        SimpleLayeredSequence seq = new SimpleLayeredSequence(testList.size());
+        seq.addLayer("w", testList);
+
+        int[] labels = tagger.tag(seq);
+        assertEquals(listize("N V V O O O N O"), tagger.toTags(labels));
+    }
+
 }
@@ -0,0 +1,53 @@
+package de.hpi.sequence;
+
+import edu.washington.cs.knowitall.commonlib.Range;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class SpanIndexTest {
+
+    private SpanIndex index(String tags) throws SequenceException {
+        return SpanIndex.build(Arrays.asList(tags.split(" ")));
+    }
+
+    @Test
+    public void testBuild() throws SequenceException {
+        SpanIndex index = index("O B-X I-X O B-Y I-X B-X B-X I-X I-Y");
+        assertEquals(4, index.size());
+        assertEquals(Arrays.asList(new Range(1, 2), new Range(4, 1), new Range(6, 1),
+                                   new Range(7, 2)), index.getRanges());
+        assertEquals("Y", index.getType(1));
+
+        SpanIndex x = index.forType("X");
+        assertEquals(3, x.size());
+        assertEquals(new Range(7, 2), x.getRange(2));
+        assertEquals(0, index.forType("Z").size());
+    }
+
+    @Test
+    public void testQueries() throws SequenceException {
+        SpanIndex index = index("B-NP I-NP O B-NP O O B-NP I-NP I-NP O");
+        assertEquals(0, index.countStartingBefore(0));
+        assertEquals(2, index.countStartingBefore(4));
+        assertEquals(3, index.countStartingBefore(10));
+        assertEquals(0, index.firstEndingAfter(1));
+        assertEquals(1, index.firstEndingAfter(2));
+        assertEquals(2, index.firstEndingAfter(5));
+        assertEquals(3, index.firstEndingAfter(9));
+
+        List<Range> overlapping = index.getOverlapping(1, 7);
+        assertEquals(Arrays.asList(new Range(0, 2), new Range(3, 1), new Range(6, 3)),
+                     overlapping);
+        assertEquals(0, index.getOverlapping(4, 6).size());
+    }
+
+    @Test(expected = SequenceException.class)
+    public void testInvalidTag() throws SequenceException {
+        index("O B-X-Y O");
+    }
+
+}
@@ -0,0 +1,112 @@
+package de.hpi.sequence;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TokenAutomatonTest {
+
+    private SimpleLayeredSequence seq;
+
+    @Before
+    public void setUp() throws Exception {
+        String[] words = "Es gibt fünf Arten von Eulen und Käuzen .".split(" ");
+        String[] pos = "PPER VVFIN CARD NN APPR NN KON NN $.".split(" ");
+        String[] np = "B-NP B-VP B-NP I-NP B-PP I-PP O B-NP O".split(" ");
+
+        seq = new SimpleLayeredSequence(words.length);
+        seq.addLayer("w", words);
+        seq.addLayer("p", pos);
+        seq.addLayer("n", np);
+    }
+
+    private List<int[]> matches(LayeredTokenMatcher m) {
+        List<int[]> result = new ArrayList<int[]>();
+        while (m.find()) {
+            int[] groups = new int[2 * (m.groupCount() + 1)];
+            for (int g = 0; g <= m.groupCount(); g++) {
+                groups[2 * g] = m.start(g);
+                groups[2 * g + 1] = m.end(g);
+            }
+            result.add(groups);
+        }
+        return result;
+    }
+
+    private void assertSameMatches(String patternStr) throws SequenceException {
+        assertSameMatches(patternStr, seq);
+    }
+
+    private void assertSameMatches(String patternStr, LayeredSequence seq)
+        throws SequenceException {
+        LayeredTokenPattern pattern = new LayeredTokenPattern(patternStr);
+        assertTrue(pattern.hasAutomaton());
+        List<int[]> expected = matches(pattern.matcher(seq));
+        List<int[]> actual = matches(pattern.automatonMatcher(seq));
+        assertEquals(patternStr, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            for (int j = 0; j < expected.get(i).length; j++) {
+                assertEquals(patternStr, expected.get(i)[j], actual.get(i)[j]);
+            }
+        }
+    }
+
+    @Test
+    public void testSameAsRegex() throws SequenceException {
+        assertSameMatches("Es_w gibt_w CARD_p [B-NP_n I-NP_n]+ (APPR_p [B-PP_n I-PP_n]+)*");
+        assertSameMatches("B-NP_n I-NP_n*");
+        assertSameMatches("B-PP_n I-PP_n* $._p?$");
+        assertSameMatches("...");
+        assertSameMatches("(NN_p) (APPR_p|KON_p) (NN_p)");
+        assertSameMatches("(B-NP_n I-NP_n*) (.*?) (NN_p)");
+        assertSameMatches("(B-NP_n I-NP_n*) (.*) (NN_p)");
+        assertSameMatches("^(PPER_p) (?:VVFIN_p (CARD_p)?)+");
+        assertSameMatches("((NN_p) (APPR_p|KON_p)?)+");
+        assertSameMatches("(ADV_p)? NN_p");
+    }
+
+    @Test
+    public void testSameAsRegexWithLineTerminators() throws SequenceException {
+        // 15 distinct tuples, so some are encoded as the line terminators '\n' and '\r'
+        String[] words = "a b c d e f g h i j k l m n o".split(" ");
+        String symbols = "a_w|b_w|c_w|d_w|e_w|f_w|g_w|h_w|i_w|j_w|k_w|l_w|m_w|n_w";
+        for (int shift = 0; shift < words.length; shift++) {
+            String[] rotated = new String[words.length];
+            for (int i = 0; i < words.length; i++) {
+                rotated[i] = words[(i + shift) % words.length];
+            }
+            SimpleLayeredSequence sequence = new SimpleLayeredSequence(rotated.length);
+            sequence.addLayer("w", rotated);
+
+            assertSameMatches("(" + symbols + ") (.) (.)", sequence);
+            assertSameMatches("(.*) (" + symbols + ")", sequence);
+            assertSameMatches("(.) $", sequence);
+            assertSameMatches("^(.+)$", sequence);
+        }
+    }
+
+    @Test
+    public void testMatches() throws SequenceException {
+        LayeredTokenPattern pattern = new LayeredTokenPattern("(PPER_p) .* ($._p)");
+        LayeredTokenMatcher m = pattern.automatonMatcher(seq);
+        assertTrue(m.matches());
+        assertEquals(0, m.start(1));
+        assertEquals(8, m.start(2));
+
+        pattern = new LayeredTokenPattern("PPER_p .* NN_p");
+        assertFalse(pattern.automatonMatcher(seq).matches());
+    }
+
+    @Test
+    public void testUnsupported() throws SequenceException {
+        LayeredTokenPattern pattern = new LayeredTokenPattern("NN_p (?=KON_p)");
+        assertFalse(pattern.hasAutomaton());
+    }
+
+}
@@ -0,0 +1,140 @@
+package de.hpi.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchExtractorTest {
+
+    private class CollectingSink implements ExtractionSink<String> {
+        final List<Long> ids = new ArrayList<Long>();
+        final List<String> sentences = new ArrayList<String>();
+        final List<String> results = new ArrayList<String>();
+        final List<Long> failed = new ArrayList<Long>();
+
+        public void accept(long sentenceId, String sentence, Iterable<String> extractions) {
+            delivered.incrementAndGet();
+            ids.add(sentenceId);
+            sentences.add(sentence);
+            for (String extraction : extractions) {
+                results.add(sentenceId + ":" + extraction);
+            }
+        }
+
+        @Override
+        public void failed(long sentenceId, String sentence, Exception error) {
+            delivered.incrementAndGet();
+            ids.add(sentenceId);
+            sentences.add(sentence);
+            failed.add(sentenceId);
+        }
+    }
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    // the sentences, which have been started but not yet delivered to the sink
+    private final AtomicInteger started = new AtomicInteger();
+    private final AtomicInteger delivered = new AtomicInteger();
+    private final AtomicInteger maxUndelivered = new AtomicInteger();
+
+    private Iterable<String> extract(String sentence) throws Exception {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        maxUndelivered.accumulateAndGet(started.incrementAndGet() - delivered.get(), Math::max);
+        try {
+            Thread.sleep(sentence.length() % 3);
+            if (sentence.equals("fail")) {
+                throw new Exception("cannot extract");
+            }
+            return Arrays.asList(sentence.split(" "));
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private List<String> input() {
+        List<String> sentences = new ArrayList<String>();
+        for (int i = 0; i < 100; i++) {
+            sentences.add(i == 42 ? "fail" : "a" + i + " b");
+        }
+        // duplicate sentences are delivered separately
+        sentences.add("a0 b");
+        return sentences;
+    }
+
+    @Test
+    public void testSequential() throws Exception {
+        CollectingSink sink = new CollectingSink();
+        long n = new BatchExtractor<String>(this::extract).run(input().iterator(), sink);
+        assertEquals(101, n);
+        check(sink);
+    }
+
+    @Test
+    public void testParallel() throws Exception {
+        CollectingSink sink = new CollectingSink();
+        long n = new BatchExtractor<String>(this::extract, 4, 8).run(input().iterator(), sink);
+        assertEquals(101, n);
+        check(sink);
+        assertTrue(maxInFlight.get() <= 4);
+        assertTrue(maxUndelivered.get() <= 8);
+    }
+
+    @Test
+    public void testFunctionPerThread() throws Exception {
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger sharedCalls = new AtomicInteger();
+        Supplier<BatchExtractor.SentenceFunction<String>> functions = () -> {
+            created.incrementAndGet();
+            final Thread owner = Thread.currentThread();
+            return sentence -> {
+                if (Thread.currentThread() != owner) {
+                    sharedCalls.incrementAndGet();
+                }
+                return extract(sentence);
+            };
+        };
+        CollectingSink sink = new CollectingSink();
+        long n = new BatchExtractor<String>(functions, 4, 8).run(input().iterator(), sink);
+        assertEquals(101, n);
+        check(sink);
+        assertEquals(0, sharedCalls.get());
+        assertTrue(created.get() >= 1 && created.get() <= 4);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void testSequentialError() {
+        new BatchExtractor<String>(this::extractOrFail).run(input().iterator(), new CollectingSink());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void testParallelError() {
+        new BatchExtractor<String>(this::extractOrFail, 4, 8)
+            .run(input().iterator(), new CollectingSink());
+    }
+
+    private Iterable<String> extractOrFail(String sentence) throws Exception {
+        if (sentence.equals("a50 b")) {
+            throw new AssertionError("fatal");
+        }
+        return extract(sentence);
+    }
+
+    private void check(CollectingSink sink) {
+        assertEquals(input(), sink.sentences);
+        for (int i = 0; i < 101; i++) {
+            assertEquals(Long.valueOf(i), sink.ids.get(i));
+        }
+        assertEquals(Arrays.asList(42L), sink.failed);
+        assertEquals(200, sink.results.size());
+        assertEquals("0:a0", sink.results.get(0));
+        assertEquals("100:a0", sink.results.get(198));
+    }
+
+}
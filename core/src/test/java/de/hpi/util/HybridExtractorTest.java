@@ -0,0 +1,80 @@
+package de.hpi.util;
+
+import com.google.common.collect.Lists;
+import de.hpi.extractor.metrics.PipelineMetrics;
+import de.hpi.extractor.metrics.StatsSink;
+import de.hpi.nlp.chunking.ChunkedSentence;
+import de.hpi.nlp.dependency_parse_tree.ParZuSentenceParser;
+import de.hpi.nlp.extraction.WorkBudget;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HybridExtractorTest {
+
+    // the recorded output of ParZu
+    private static final List<String> CONLL = Arrays.asList(
+        "1\tPeter\tPeter\tN\tNE\t_\t4\tsubj\t_\t_",
+        "2\tund\tund\tKON\tKON\t_\t1\tkon\t_\t_",
+        "3\tPaul\tPaul\tN\tNE\t_\t2\tcj\t_\t_",
+        "4\tkaufen\tkaufen\tV\tVVFIN\t_\t0\troot\t_\t_",
+        "5\tBrot\tBrot\tN\tNN\t_\t4\tobja\t_\t_",
+        "6\tund\tund\tKON\tKON\t_\t5\tkon\t_\t_",
+        "7\tMilch\tMilch\tN\tNN\t_\t6\tcj\t_\t_",
+        "8\t.\t.\t$.\t$.\t_\t0\troot\t_\t_",
+        "");
+
+    private static final ChunkedSentence SENTENCE = new ChunkedSentence(
+        "Peter und Paul kaufen Brot und Milch .".split(" "),
+        "NE KON NE VVFIN NN KON NN $.".split(" "),
+        "B-NP I-NP I-NP B-VP B-NP I-NP I-NP O".split(" "));
+
+    private HybridExtractor extractor;
+    private StatsSink stats;
+
+    @Before
+    public void setUp() {
+        DepConIE depConIE = new DepConIE(false, 0, true, true, false);
+        depConIE.setParser(new ParZuSentenceParser((input, tagged) -> CONLL));
+        // German ReVerb needs the TreeTagger, the sentences are routed to Dep ConIE
+        extractor = new HybridExtractor(false, null, depConIE,
+                                        RoutingPolicy.always(RoutingPolicy.Route.DEP_CONIE));
+        stats = new StatsSink();
+        PipelineMetrics.setSink(stats);
+    }
+
+    @After
+    public void tearDown() {
+        PipelineMetrics.setSink(null);
+    }
+
+    @Test
+    public void testWithinBudget() {
+        assertEquals(4, Lists.newArrayList(extractor.extractRelations(SENTENCE)).size());
+        assertNull(stats.getStats().get("HybridExtractor/degraded/CANDIDATES"));
+    }
+
+    @Test
+    public void testTokenLimit() throws Exception {
+        extractor.setWorkBudget(new WorkBudget(3, 10, 0));
+        assertTrue(Lists.newArrayList(
+            extractor.extractRelationsFromString("Peter und Paul kaufen Brot .")).isEmpty());
+        assertEquals(1, stats.getStats("HybridExtractor/degraded/TOKENS").getRecords());
+    }
+
+    @Test
+    public void testCandidateLimit() {
+        // the budget of the hybrid extractor is passed to Dep ConIE
+        extractor.setWorkBudget(new WorkBudget(100, 1, 0));
+        assertEquals(1, Lists.newArrayList(extractor.extractRelations(SENTENCE)).size());
+        assertEquals(1, stats.getStats("HybridExtractor/degraded/CANDIDATES").getRecords());
+    }
+
+}
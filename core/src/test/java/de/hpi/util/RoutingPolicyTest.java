@@ -0,0 +1,65 @@
+package de.hpi.util;
+
+import de.hpi.nlp.chunking.ChunkedSentence;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class RoutingPolicyTest {
+
+    private static ChunkedSentence sentence(String tokens, String pos, String chunks) {
+        return new ChunkedSentence(tokens.split(" "), pos.split(" "), chunks.split(" "));
+    }
+
+    @Test
+    public void testComplexity() {
+        ChunkedSentence sent = sentence(
+            "Er kam , sah und siegte .",
+            "PPER VVFIN $, VVFIN KON VVFIN $.",
+            "B-NP B-VP O B-VP O B-VP O");
+        SentenceComplexity complexity = SentenceComplexity.of(sent);
+        assertEquals(7, complexity.getTokens());
+        assertEquals(3, complexity.getVerbs());
+        assertEquals(1, complexity.getCommas());
+        assertEquals(1, complexity.getConjunctions());
+        assertEquals(2, complexity.getClauseMarkers());
+    }
+
+    @Test
+    public void testComplexityRouting() {
+        RoutingPolicy policy = new ComplexityRoutingPolicy();
+
+        ChunkedSentence simple = sentence(
+            "John Smith spazierte im März in Detroit .",
+            "NE NE VVFIN APPRART NN APPR NE $.",
+            "B-NP I-NP B-VP B-PP I-PP B-PP I-PP O");
+        assertEquals(RoutingPolicy.Route.GERMAN_REVERB,
+                     policy.route(SentenceComplexity.of(simple)));
+
+        ChunkedSentence clauses = sentence(
+            "Er kam , sah und siegte .",
+            "PPER VVFIN $, VVFIN KON VVFIN $.",
+            "B-NP B-VP O B-VP O B-VP O");
+        assertEquals(RoutingPolicy.Route.DEP_CONIE, policy.route(SentenceComplexity.of(clauses)));
+
+        String[] tokens = new String[ComplexityRoutingPolicy.DEFAULT_MAX_TOKENS + 1];
+        Arrays.fill(tokens, "NN");
+        assertEquals(RoutingPolicy.Route.DEP_CONIE,
+                     policy.route(SentenceComplexity.of(Arrays.asList(tokens))));
+    }
+
+    @Test
+    public void testConfiguredRouting() {
+        SentenceComplexity complexity = new SentenceComplexity(30, 3, 1, 1);
+        assertEquals(RoutingPolicy.Route.GERMAN_REVERB,
+                     new ComplexityRoutingPolicy(30, 3, 2).route(complexity));
+        assertEquals(RoutingPolicy.Route.DEP_CONIE,
+                     new ComplexityRoutingPolicy(30, 3, 1).route(complexity));
+        assertEquals(RoutingPolicy.Route.DEP_CONIE,
+                     RoutingPolicy.always(RoutingPolicy.Route.DEP_CONIE).route(
+                         new SentenceComplexity(1, 0, 0, 0)));
+    }
+
+}
@@ -0,0 +1,144 @@
+package de.hpi.util;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import de.hpi.extractor.metrics.PipelineMetrics;
+import de.hpi.extractor.metrics.StatsSink;
+import de.hpi.nlp.extraction.ExtractionBudget;
+import de.hpi.nlp.extraction.ProductIterator;
+import de.hpi.nlp.extraction.WorkBudget;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class WorkBudgetTest {
+
+    /**
+     * Extracts each word of a sentence as one candidate. The words of a parsed sentence are
+     * separated by newlines.
+     */
+    private static class WordExtractor extends Extractor<String, String> {
+
+        private final String prefix;
+
+        WordExtractor(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public Iterable<String> extractRelationsFromString(String sentStr) {
+            if (exceedsTokens(sentStr)) {
+                return degrade(sentStr, WorkBudget.Limit.TOKENS, new ArrayList<String>());
+            }
+            ExtractionBudget budget = getWorkBudget().start();
+            return checkBudget(sentStr, budget, extract(sentStr, budget));
+        }
+
+        public Iterable<String> extractRelationsFromParsedString(String sentStr) {
+            ExtractionBudget budget = getWorkBudget().start();
+            return checkBudget(null, budget, extract(sentStr.replace('\n', ' '), budget));
+        }
+
+        public List<String> extractRelations(List<String> sentences) {
+            List<String> extractions = new ArrayList<String>();
+            for (String sentence : sentences) {
+                Iterables.addAll(extractions, extractRelations(sentence));
+            }
+            return extractions;
+        }
+
+        public Iterable<String> extractRelations(String sentence) {
+            return extract(sentence, new ExtractionBudget(Integer.MAX_VALUE));
+        }
+
+        private List<String> extract(String sentence, ExtractionBudget budget) {
+            return Lists.newArrayList(candidates(prefix, sentence, budget));
+        }
+    }
+
+    /**
+     * @return the candidates of the words of the sentence within the budget
+     */
+    private static Iterator<String> candidates(String prefix, String sentence,
+                                               ExtractionBudget budget) {
+        return new ProductIterator<String, String>(
+            Collections.singletonList(prefix), Arrays.asList(sentence.trim().split("\\s+")),
+            (first, word) -> first + word, Integer.MAX_VALUE, budget);
+    }
+
+    @After
+    public void tearDown() {
+        PipelineMetrics.setSink(null);
+    }
+
+    @Test
+    public void testWithinBudget() {
+        ExtractionBudget budget = new WorkBudget(3, 3, 0).start();
+        assertEquals(Arrays.asList("a", "b", "c"),
+                     Lists.newArrayList(candidates("", "a b c", budget)));
+        assertNull(WorkBudget.getExceededLimit(budget));
+    }
+
+    @Test
+    public void testCandidateLimit() {
+        ExtractionBudget budget = new WorkBudget(10, 2, 0).start();
+        assertEquals(Arrays.asList("a", "b"),
+                     Lists.newArrayList(candidates("", "a b c", budget)));
+        assertEquals(WorkBudget.Limit.CANDIDATES, WorkBudget.getExceededLimit(budget));
+    }
+
+    @Test
+    public void testPartialResults() {
+        StatsSink stats = new StatsSink();
+        PipelineMetrics.setSink(stats);
+
+        WordExtractor extractor = new WordExtractor("");
+        extractor.setWorkBudget(new WorkBudget(10, 2, 0));
+        assertEquals(Arrays.asList("a", "b"), extractor.extractRelationsFromString("a b c"));
+
+        String name = "WorkBudgetTest$WordExtractor/degraded/CANDIDATES";
+        assertEquals(1, stats.getStats(name).getRecords());
+        assertEquals(2, stats.getStats(name).getItemsOut());
+
+        // a parsed sentence cannot be passed to the fallback
+        extractor.setFallback(new WordExtractor("fallback:"));
+        assertEquals(Arrays.asList("a", "b"),
+                     extractor.extractRelationsFromParsedString("a\nb\nc"));
+        assertEquals(2, stats.getStats(name).getRecords());
+    }
+
+    @Test
+    public void testFallback() {
+        StatsSink stats = new StatsSink();
+        PipelineMetrics.setSink(stats);
+
+        WordExtractor extractor = new WordExtractor("");
+        extractor.setWorkBudget(new WorkBudget(2, 10, 0));
+        extractor.setFallback(new WordExtractor("fallback:"));
+        assertEquals(Arrays.asList("fallback:a", "fallback:b", "fallback:c"),
+                     extractor.extractRelationsFromString(" a  b c "));
+        assertEquals(1, stats.getStats("WorkBudgetTest$WordExtractor/degraded/TOKENS").getRecords());
+    }
+
+    @Test
+    public void testTimeLimit() throws InterruptedException {
+        ExtractionBudget budget = new ExtractionBudget(10, 1000000);
+        assertTrue(budget.tryConsume());
+        assertNull(WorkBudget.getExceededLimit(budget));
+        Thread.sleep(5);
+        assertTrue(budget.isTimedOut());
+        assertFalse(budget.tryContinue());
+        assertEquals(WorkBudget.Limit.TIME, WorkBudget.getExceededLimit(budget));
+        assertEquals(9, budget.getRemaining());
+    }
+
+}